@@ -30,8 +30,37 @@ public final class ArangoDefaults {
 
     public static final String SYSTEM_DB = "_system";
     public static final int CHUNK_DEFAULT_CONTENT_SIZE = 30_000;
+    public static final int CHUNK_MIN_CONTENT_SIZE = 4 * 1_024;
+    public static final int CHUNK_MAX_CONTENT_SIZE = 256 * 1_024;
     public static final long DEFAULT_TIMEOUT = DEFAULT_POOL_ACQUIRE_TIMEOUT;
     public static final long DEFAULT_TTL = DEFAULT_POOL_MAX_IDLE_TIME;
+    public static final long DEFAULT_PING_IDLE_THRESHOLD = 30_000;
+    public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 1_024;
+    public static final int DEFAULT_FLUSH_THRESHOLD_BYTES = 64 * 1_024;
+    public static final int DEFAULT_FLUSH_THRESHOLD_CHUNKS = 128;
+    public static final int DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1_024;
+    public static final int DEFAULT_COMPRESSION_LEVEL = 6;
+    public static final int DEFAULT_COMPRESSION_OFFLOAD_THRESHOLD = 256 * 1_024;
+    public static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 256 * 1_024 * 1_024;
+    public static final long DEFAULT_LATENCY_DECAY = 10_000;
+    public static final int DEFAULT_CONNECTION_SCALE_UP_THRESHOLD = 32;
+    public static final long DEFAULT_CONNECTION_IDLE_TIMEOUT = 60_000;
+    public static final int DEFAULT_OUTLIER_CONSECUTIVE_ERRORS = 5;
+    public static final double DEFAULT_OUTLIER_TIMEOUT_RATE = 0.5;
+    public static final int DEFAULT_OUTLIER_MIN_REQUESTS = 20;
+    public static final long DEFAULT_OUTLIER_INTERVAL = 10_000;
+    public static final long DEFAULT_OUTLIER_BASE_EJECTION_TIME = 30_000;
+    public static final long DEFAULT_OUTLIER_MAX_EJECTION_TIME = 300_000;
+    public static final int DEFAULT_OUTLIER_MAX_EJECTION_PERCENT = 50;
+    public static final double DEFAULT_HEDGING_LATENCY_PERCENTILE = 0.95;
+    public static final long DEFAULT_HEDGING_MIN_DELAY = 10;
+    public static final int DEFAULT_HEDGING_BUDGET_PERCENT = 10;
+    public static final int DEFAULT_RETRY_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_RETRY_INITIAL_BACKOFF = 50;
+    public static final long DEFAULT_RETRY_MAX_BACKOFF = 1_000;
+    public static final double DEFAULT_RETRY_JITTER = 0.5;
+    public static final int DEFAULT_RETRY_BUDGET_PERCENT = 10;
     private static final int INTEGER_BYTES = Integer.SIZE / Byte.SIZE;
     private static final int LONG_BYTES = Long.SIZE / Byte.SIZE;
     public static final int HEADER_SIZE = INTEGER_BYTES + INTEGER_BYTES + LONG_BYTES + LONG_BYTES;
@@ -36,6 +36,7 @@ import com.arangodb.reactive.api.reactive.impl.ArangoClientImpl;
 import com.arangodb.reactive.api.util.ApiPath;
 import com.arangodb.reactive.connection.ArangoRequest;
 import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.RequestTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -52,11 +53,13 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
 
     private final ArangoDatabase database;
     private final String colName;
+    private final RequestTemplate collectionRequests;
 
     public ArangoCollectionImpl(final ArangoDatabase arangoDatabase, final String collectionName) {
         super((ArangoClientImpl) arangoDatabase);
         database = arangoDatabase;
         colName = collectionName;
+        collectionRequests = RequestTemplate.of(arangoDatabase.getName(), ApiPath.COLLECTION + "/" + collectionName);
     }
 
     @Override
@@ -83,10 +86,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     public Mono<Void> drop(final CollectionDropParams params) {
         return getCommunication()
                 .execute(
-                        ArangoRequest.builder()
-                                .database(database().getName())
-                                .requestType(ArangoRequest.RequestType.DELETE)
-                                .path(ApiPath.COLLECTION + "/" + colName)
+                        collectionRequests.builder(ArangoRequest.RequestType.DELETE)
                                 .putQueryParams(
                                         CollectionDropParams.IS_SYSTEM_PARAM,
                                         params.isSystem().map(String::valueOf)
@@ -99,11 +99,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<SimpleCollectionEntity> info() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName)
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET).build())
                 .map(ArangoResponse::getBody)
                 .map(bytes -> getSerde().deserialize(bytes, SimpleCollectionEntity.class));
     }
@@ -111,11 +107,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<DetailedCollectionEntity> properties() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/properties")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET, "/properties").build())
                 .map(ArangoResponse::getBody)
                 .map(bytes -> getSerde().deserialize(bytes, DetailedCollectionEntity.class));
     }
@@ -123,10 +115,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<DetailedCollectionEntity> changeProperties(final CollectionChangePropertiesOptions options) {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.PUT)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/properties")
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.PUT, "/properties")
                         .body(getSerde().serialize(options))
                         .build())
                 .map(ArangoResponse::getBody)
@@ -136,10 +125,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<SimpleCollectionEntity> rename(final CollectionRenameOptions options) {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.PUT)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/rename")
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.PUT, "/rename")
                         .body(getSerde().serialize(options))
                         .build())
                 .map(ArangoResponse::getBody)
@@ -150,11 +136,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<Long> count() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/count")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET, "/count").build())
                 .map(ArangoResponse::getBody)
                 .map(bytes -> getSerde().deserializeAtJsonPointer("/count", bytes, Long.class));
     }
@@ -167,10 +149,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<CollectionChecksumEntity> checksum(final CollectionChecksumParams params) {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/checksum")
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET, "/checksum")
                         .putQueryParams(
                                 CollectionChecksumParams.WITH_REVISIONS,
                                 params.getWithRevisions().map(String::valueOf)
@@ -187,11 +166,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<Map<String, Object>> statistics() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/figures")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET, "/figures").build())
                 .map(ArangoResponse::getBody)
                 .map(bytes -> getSerde().deserializeAtJsonPointer("/figures", bytes, STRING_OBJECT_MAP));
     }
@@ -199,43 +174,28 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<Void> loadIndexes() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.PUT)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/loadIndexesIntoMemory")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.PUT, "/loadIndexesIntoMemory").build())
                 .then();
     }
 
     @Override
     public Mono<Void> recalculateCount() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.PUT)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/recalculateCount")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.PUT, "/recalculateCount").build())
                 .then();
     }
 
     @Override
     public Mono<Void> truncate() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.PUT)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/truncate")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.PUT, "/truncate").build())
                 .then();
     }
 
     @Override
     public Mono<String> responsibleShard(final Object document) {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.PUT)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/responsibleShard")
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.PUT, "/responsibleShard")
                         .body(getSerde().serialize(document))
                         .build())
                 .map(ArangoResponse::getBody)
@@ -245,11 +205,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Mono<String> revision() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/revision")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET, "/revision").build())
                 .map(ArangoResponse::getBody)
                 .map(bytes -> getSerde().deserializeAtJsonPointer("/revision", bytes, String.class));
     }
@@ -257,11 +213,7 @@ public final class ArangoCollectionImpl extends ArangoClientImpl implements Aran
     @Override
     public Flux<String> shards() {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(database().getName())
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.COLLECTION + "/" + colName + "/shards")
-                        .build())
+                .execute(collectionRequests.builder(ArangoRequest.RequestType.GET, "/shards").build())
                 .map(ArangoResponse::getBody)
                 .map(bytes -> getSerde().<List<String>>deserializeAtJsonPointer("/shards", bytes, STRING_LIST))
                 .flatMapMany(Flux::fromIterable);
@@ -36,6 +36,7 @@ import com.arangodb.reactive.api.reactive.impl.ArangoClientImpl;
 import com.arangodb.reactive.api.util.ApiPath;
 import com.arangodb.reactive.connection.ArangoRequest;
 import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.RequestTemplate;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import reactor.core.publisher.Flux;
@@ -55,10 +56,14 @@ public final class ArangoDatabaseImpl extends ArangoClientImpl implements Arango
     private static final JavaType SIMPLE_COLLECTION_LIST = TypeFactory.defaultInstance().constructCollectionType(ArrayList.class, SimpleCollectionEntity.class);
 
     private final String name;
+    private final RequestTemplate databaseRequests;
+    private final RequestTemplate collectionRequests;
 
     public ArangoDatabaseImpl(final ArangoDB arangoDB, final String dbName) {
         super((ArangoClientImpl) arangoDB);
         name = dbName;
+        databaseRequests = RequestTemplate.of(dbName, ApiPath.DATABASE);
+        collectionRequests = RequestTemplate.of(dbName, ApiPath.COLLECTION);
     }
 
     @Override
@@ -74,10 +79,7 @@ public final class ArangoDatabaseImpl extends ArangoClientImpl implements Arango
     @Override
     public Mono<DatabaseEntity> info() {
         return getCommunication().execute(
-                ArangoRequest.builder()
-                        .database(name)
-                        .requestType(ArangoRequest.RequestType.GET)
-                        .path(ApiPath.DATABASE + "/current")
+                databaseRequests.builder(ArangoRequest.RequestType.GET, "/current")
                         .build()
         )
                 .map(ArangoResponse::getBody)
@@ -104,10 +106,7 @@ public final class ArangoDatabaseImpl extends ArangoClientImpl implements Arango
     public Flux<SimpleCollectionEntity> collections(final CollectionsReadParams params) {
         return getCommunication()
                 .execute(
-                        ArangoRequest.builder()
-                                .database(name)
-                                .requestType(ArangoRequest.RequestType.GET)
-                                .path(ApiPath.COLLECTION)
+                        collectionRequests.builder(ArangoRequest.RequestType.GET)
                                 .putQueryParams(
                                         CollectionsReadParams.EXCLUDE_SYSTEM_PARAM,
                                         params.getExcludeSystem().map(String::valueOf)
@@ -132,11 +131,8 @@ public final class ArangoDatabaseImpl extends ArangoClientImpl implements Arango
     ) {
         return getCommunication()
                 .execute(
-                        ArangoRequest.builder()
-                                .database(name)
-                                .requestType(ArangoRequest.RequestType.POST)
+                        collectionRequests.builder(ArangoRequest.RequestType.POST)
                                 .body(getSerde().serialize(options))
-                                .path(ApiPath.COLLECTION)
                                 .putQueryParams(
                                         "enforceReplicationFactor",
                                         params.getEnforceReplicationFactor().map(it -> it ? "1" : "0")
@@ -33,6 +33,7 @@ import com.arangodb.reactive.api.document.options.DocumentReadOptions;
 import com.arangodb.reactive.api.reactive.impl.ArangoClientImpl;
 import com.arangodb.reactive.api.util.ApiPath;
 import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.RequestTemplate;
 import reactor.core.publisher.Mono;
 
 
@@ -42,10 +43,13 @@ import reactor.core.publisher.Mono;
 public final class ArangoDocumentImpl extends ArangoClientImpl implements ArangoDocument {
 
     private final ArangoCollection collection;
+    private final RequestTemplate documentRequests;
 
     public ArangoDocumentImpl(final ArangoCollection arangoCollection) {
         super((ArangoClientImpl) arangoCollection);
         collection = arangoCollection;
+        documentRequests = RequestTemplate.of(
+                arangoCollection.database().getName(), ApiPath.DOCUMENT + "/" + arangoCollection.getName());
     }
 
     @Override
@@ -56,10 +60,7 @@ public final class ArangoDocumentImpl extends ArangoClientImpl implements Arango
     @Override
     public <T> Mono<DocumentCreateEntity<T>> createDocument(final T value, final DocumentCreateOptions options) {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(collection.database().getName())
-                        .requestType(ArangoRequest.RequestType.POST)
-                        .path(ApiPath.DOCUMENT + "/" + collection.getName())
+                .execute(documentRequests.builder(ArangoRequest.RequestType.POST)
                         .putQueryParams(DocumentCreateOptions.WAIT_FOR_SYNC, options.getWaitForSync().map(Object::toString))
                         .putQueryParams(DocumentCreateOptions.RETURN_NEW, options.getReturnNew().map(Object::toString))
                         .putQueryParams(DocumentCreateOptions.RETURN_OLD, options.getReturnOld().map(Object::toString))
@@ -89,10 +90,7 @@ public final class ArangoDocumentImpl extends ArangoClientImpl implements Arango
     @Override
     public Mono<DocumentEntity> getDocumentHeader(final String key, final DocumentReadOptions options) {
         return getCommunication()
-                .execute(ArangoRequest.builder()
-                        .database(collection.database().getName())
-                        .requestType(ArangoRequest.RequestType.HEAD)
-                        .path(ApiPath.DOCUMENT + "/" + collection.getName() + "/" + key)
+                .execute(documentRequests.builder(ArangoRequest.RequestType.HEAD, "/" + key)
                         .putHeaderParams(DocumentReadOptions.IF_MATCH, options.getIfMatch())
                         .putHeaderParams(DocumentReadOptions.IF_NONE_MATCH, options.getIfNoneMatch())
                         .build()
@@ -21,7 +21,6 @@
 package com.arangodb.reactive.communication;
 
 import com.arangodb.reactive.connection.ArangoRequest;
-import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
 import com.arangodb.reactive.connection.ConnectionFactory;
 import com.arangodb.reactive.connection.HostDescription;
@@ -31,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import javax.annotation.Nullable;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
@@ -60,23 +60,57 @@ final class ActiveFailoverConnectionPool extends ConnectionPoolImpl {
     }
 
     @Override
-    public Mono<ArangoResponse> execute(final ArangoRequest request) {
+    public <T> Mono<T> execute(final ArangoRequest request, final ConnectionOperation<T> operation) {
         LOGGER.debug("execute({})", request);
 
         if (getConfig().getDirtyReads() && isReadRequest(request)) {
             // executes on random host
-            return super.execute(
-                    ArangoRequest.builder()
-                            .from(request)
-                            .putHeaderParams("X-Arango-Allow-Dirty-Read", Optional.of("true"))
-                            .build()
-            );
+            return super.execute(allowDirtyRead(request), operation);
         } else {
-            return executeOnLeader(request);
+            return executeOnLeader(request, operation);
         }
 
     }
 
+    /**
+     * Hedges dirty reads to followers only, other requests are executed on the leader without hedging.
+     */
+    @Override
+    public <T> Mono<T> executeHedged(final ArangoRequest request, final ConnectionOperation<T> operation,
+                                     final HedgingPolicy hedging) {
+        LOGGER.debug("executeHedged({})", request);
+
+        if (getConfig().getDirtyReads() && isReadRequest(request)) {
+            return super.executeHedged(allowDirtyRead(request), operation, hedging);
+        } else {
+            return executeOnLeader(request, operation);
+        }
+    }
+
+    /**
+     * Retries dirty reads on any host, other requests on the current leader, which is searched again after every
+     * failure.
+     */
+    @Override
+    public <T> Mono<T> executeWithRetries(final ArangoRequest request, final ConnectionOperation<T> operation,
+                                          final RetryPolicy retry) {
+        LOGGER.debug("executeWithRetries({})", request);
+
+        if (getConfig().getDirtyReads() && isReadRequest(request)) {
+            return super.executeWithRetries(allowDirtyRead(request), operation, retry);
+        } else {
+            retry.onRequest();
+            return executeOnLeaderWithRetries(request, operation, retry, 1);
+        }
+    }
+
+    @Nullable
+    @Override
+    protected HostState selectHedgeHost(final HostState first) {
+        final HostDescription currentLeader = leader;
+        return selectHost(it -> it != first && !it.getHost().equals(currentLeader));
+    }
+
     @Override
     public Mono<Void> updateConnections(final Set<HostDescription> hostList) {
         return super.updateConnections(hostList).then(Mono.defer(this::findLeader));
@@ -87,16 +121,31 @@ final class ActiveFailoverConnectionPool extends ConnectionPoolImpl {
         return Conversation.of(leader, level);
     }
 
-    private Mono<ArangoResponse> executeOnLeader(final ArangoRequest request) {
-        return execute(request, leader)
+    private static ArangoRequest allowDirtyRead(final ArangoRequest request) {
+        return ArangoRequest.builder()
+                .from(request)
+                .putHeaderParams("X-Arango-Allow-Dirty-Read", Optional.of("true"))
+                .build();
+    }
+
+    private <T> Mono<T> executeOnLeader(final ArangoRequest request, final ConnectionOperation<T> operation) {
+        return execute(request, leader, operation)
                 .doOnNext(response -> {
-                    if (response.getResponseCode() == 503) {
+                    if (operation.getResponseCode(response) == 503) {
                         findLeader().subscribe();
                     }
                 })
                 .doOnError(e -> findLeader().subscribe());
     }
 
+    private <T> Mono<T> executeOnLeaderWithRetries(final ArangoRequest request,
+                                                   final ConnectionOperation<T> operation,
+                                                   final RetryPolicy retry, final int attempt) {
+        return Mono.defer(() -> executeOnLeader(request, operation))
+                .onErrorResume(e -> retry.shouldRetry(e, attempt), e -> Mono.delay(retry.getBackoff(attempt))
+                        .then(executeOnLeaderWithRetries(request, operation, retry, attempt + 1)));
+    }
+
     HostDescription getLeader() {
         return leader;
     }
@@ -112,7 +161,7 @@ final class ActiveFailoverConnectionPool extends ConnectionPoolImpl {
         }
 
         return Flux.fromIterable(getConnectionsByHost().entrySet())
-                .flatMap(e -> e.getValue().get(0).requestUser()
+                .flatMap(e -> e.getValue().get(0).requestAvailability()
                         .filter(response -> response.getResponseCode() == 200)
                         .checkpoint("[ActiveFailoverConnectionPool.findLeader()]: host is not leader: " + e.getKey())
                         .doOnNext(response -> {
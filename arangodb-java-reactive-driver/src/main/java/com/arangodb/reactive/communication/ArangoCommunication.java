@@ -26,8 +26,13 @@ import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.ConnectionConfig;
 import com.arangodb.reactive.connection.ConnectionFactoryImpl;
 import com.arangodb.reactive.connection.ConnectionSchedulerFactory;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * @author Michele Rastelli
  */
@@ -85,11 +90,45 @@ public interface ArangoCommunication {
      */
     Mono<ArangoResponse> execute(ArangoRequest request);
 
+    /**
+     * Performs a request like {@link #execute(ArangoRequest)}, returning the response as soon as its head is received,
+     * while the body is streamed as it arrives. Error responses are consumed and result in a failed {@code Mono}.
+     *
+     * @param request to send
+     * @return response from the server
+     * @see StreamingArangoResponse
+     */
+    Mono<StreamingArangoResponse> executeStreaming(ArangoRequest request);
+
+    /**
+     * Performs a request like {@link #execute(ArangoRequest)}, streaming its body from the provided publisher, eg. for
+     * large imports. The body of the request ({@link ArangoRequest#getBody()}) is ignored.
+     *
+     * @param request       to send
+     * @param body          body of the request, the buffers are released once written
+     * @param contentLength length of the body (bytes), or
+     *                      {@link com.arangodb.reactive.connection.ArangoConnection#UNKNOWN_CONTENT_LENGTH}
+     * @return response from the server
+     * @see com.arangodb.reactive.connection.ArangoConnection#executeBuffered(ArangoRequest, Flux, long)
+     */
+    Mono<ArangoResponse> execute(ArangoRequest request, Flux<ByteBuf> body, long contentLength);
+
     /**
      * @return a new conversation
      */
     Conversation createConversation(Conversation.Level level);
 
+    /**
+     * @return load balancing and outlier detection state of the hosts currently in use
+     */
+    List<HostState> getHostStates();
+
+    /**
+     * @return hot stream of the outlier detection events, eg. host ejections and readmissions
+     * @see CommunicationConfig#getOutlierDetection()
+     */
+    Flux<HostEvent> getHostEvents();
+
     /**
      * @return a mono completing once all the connections are closed
      */
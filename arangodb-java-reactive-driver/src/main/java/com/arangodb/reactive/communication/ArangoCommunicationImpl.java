@@ -26,11 +26,13 @@ import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
 import com.arangodb.reactive.connection.ConnectionFactory;
 import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
 import com.arangodb.reactive.entity.model.ClusterEndpoints;
 import com.arangodb.reactive.entity.model.ErrorEntity;
 import com.arangodb.reactive.entity.serde.ArangoSerde;
 import com.arangodb.reactive.exceptions.HostNotAvailableException;
 import com.arangodb.reactive.exceptions.server.ArangoServerException;
+import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
@@ -39,6 +41,7 @@ import reactor.core.publisher.Mono;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
@@ -57,6 +60,8 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
     private final ArangoSerde serde;
     private final ConnectionFactory connectionFactory;
     private final Semaphore updatingHostListSemaphore;
+    private final HedgingPolicy hedgingPolicy;
+    private final RetryPolicy retryPolicy;
 
     // connection pool used to acquireHostList
     private volatile ConnectionPool contactConnectionPool;
@@ -78,6 +83,8 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
         config = communicationConfig;
         connectionFactory = connFactory;
         updatingHostListSemaphore = new Semaphore(1);
+        hedgingPolicy = new HedgingPolicy(communicationConfig.getHedging());
+        retryPolicy = new RetryPolicy(communicationConfig.getRetry());
         serde = ArangoSerde.of(communicationConfig.getContentType());
     }
 
@@ -98,6 +105,7 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
                                         .from(config)
                                         .topology(ArangoTopology.SINGLE_SERVER)
                                         .connectionsPerHost(1)
+                                        .maxConnectionsPerHost(1)
                                         .build(),
                                 authentication,
                                 connectionFactory);
@@ -128,13 +136,32 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
                 .addArgument(() -> serde.toJsonString(request.getBody()))
                 .log("execute(): {}, {}");
 
-        return Mono.deferContextual(Mono::just)
-                .flatMap(ctx -> ctx
-                        .<Conversation>getOrEmpty(ArangoCommunication.CONVERSATION_CTX)
-                        .map(Optional::of)
-                        .orElseGet(ThreadConversation::getThreadLocalConversation)
-                        .map(conversation -> execute(request, conversation))
-                        .orElseGet(() -> execute(request, connectionPool)))
+        return execute(request, ConnectionOperation.EXECUTE)
+                .doOnNext(response -> LOGGER.atDebug()
+                        .addArgument(response)
+                        .addArgument(() -> serde.toJsonString(response.getBody()))
+                        .log("received response: {}, {}"))
+                .map(this::checkError);
+    }
+
+    @Override
+    public Mono<StreamingArangoResponse> executeStreaming(final ArangoRequest request) {
+        LOGGER.atDebug()
+                .addArgument(request)
+                .addArgument(() -> serde.toJsonString(request.getBody()))
+                .log("executeStreaming(): {}, {}");
+
+        return execute(request, ConnectionOperation.EXECUTE_STREAMING)
+                .doOnNext(response -> LOGGER.debug("received response: {}", response))
+                .flatMap(this::checkError)
+                .doOnDiscard(StreamingArangoResponse.class, StreamingArangoResponse::discard);
+    }
+
+    @Override
+    public Mono<ArangoResponse> execute(final ArangoRequest request, final Flux<ByteBuf> body,
+                                        final long contentLength) {
+        LOGGER.debug("execute(): {}, contentLength: {}", request, contentLength);
+        return execute(request, ConnectionOperation.executeStreamingBody(body, contentLength))
                 .doOnNext(response -> LOGGER.atDebug()
                         .addArgument(response)
                         .addArgument(() -> serde.toJsonString(response.getBody()))
@@ -147,6 +174,16 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
         return connectionPool.createConversation(level);
     }
 
+    @Override
+    public List<HostState> getHostStates() {
+        return connectionPool.getHostStates();
+    }
+
+    @Override
+    public Flux<HostEvent> getHostEvents() {
+        return Flux.defer(connectionPool::getHostEvents);
+    }
+
     @Override
     public Mono<Void> close() {
         LOGGER.debug("close()");
@@ -167,39 +204,77 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
         );
     }
 
+    private static boolean isError(final int responseCode) {
+        return responseCode < 200 || responseCode >= 300;
+    }
+
     private ArangoResponse checkError(final ArangoResponse response) {
-        if (response.getResponseCode() < 200 || response.getResponseCode() >= 300) {
+        if (isError(response.getResponseCode())) {
             throw buildError(response);
         } else {
             return response;
         }
     }
 
-    private Mono<ArangoResponse> execute(final ArangoRequest request, final ConnectionPool cp) {
+    private Mono<StreamingArangoResponse> checkError(final StreamingArangoResponse response) {
+        if (isError(response.getResponseCode())) {
+            return response.aggregate().flatMap(r -> Mono.error(buildError(r)));
+        } else {
+            return Mono.just(response);
+        }
+    }
+
+    private <T> Mono<T> execute(final ArangoRequest request, final ConnectionOperation<T> operation) {
+        return Mono.deferContextual(Mono::just)
+                .flatMap(ctx -> ctx
+                        .<Conversation>getOrEmpty(ArangoCommunication.CONVERSATION_CTX)
+                        .map(Optional::of)
+                        .orElseGet(ThreadConversation::getThreadLocalConversation)
+                        .map(conversation -> execute(request, conversation, operation))
+                        .orElseGet(() -> execute(request, connectionPool, operation)));
+    }
+
+    private <T> Mono<T> execute(final ArangoRequest request, final ConnectionPool cp,
+                                final ConnectionOperation<T> operation) {
         LOGGER.debug("execute({}, {})", request, cp);
-        return Mono.defer(() -> cp.execute(request))
+        // only aggregated responses are hedged, since the response of the cancelled request is discarded
+        final boolean hedged = operation == ConnectionOperation.EXECUTE && hedgingPolicy.isHedgeable(request);
+        // requests with streamed body are not retried, since the body publisher can be subscribed once only
+        final boolean retried = !hedged && retryPolicy.isRetryable(request)
+                && (operation == ConnectionOperation.EXECUTE || operation == ConnectionOperation.EXECUTE_STREAMING);
+        return Mono.defer(() -> {
+            if (hedged) {
+                return cp.executeHedged(request, operation, hedgingPolicy);
+            } else if (retried) {
+                return cp.executeWithRetries(request, operation, retryPolicy);
+            } else {
+                return cp.execute(request, operation);
+            }
+        })
                 .checkpoint("[ArangoCommunicationImpl.execute()]")
                 .timeout(config.getTimeout());
     }
 
-    private Mono<ArangoResponse> execute(final ArangoRequest request, final Conversation conversation) {
+    private <T> Mono<T> execute(final ArangoRequest request, final Conversation conversation,
+                                final ConnectionOperation<T> operation) {
         LOGGER.debug("execute({}, {})", request, conversation);
-        return execute(request, conversation.getHost())
+        return execute(request, conversation.getHost(), operation)
                 .onErrorResume(HostNotAvailableException.class, e -> {
                     if (Conversation.Level.REQUIRED.equals(conversation.getLevel())) {
                         throw e;
                     } else {
-                        return execute(request, connectionPool);
+                        return execute(request, connectionPool, operation);
                     }
                 });
     }
 
-    private Mono<ArangoResponse> execute(
+    private <T> Mono<T> execute(
             final ArangoRequest request,
-            final HostDescription host
+            final HostDescription host,
+            final ConnectionOperation<T> operation
     ) {
         LOGGER.debug("execute({}, {})", request, host);
-        return Mono.defer(() -> connectionPool.execute(request, host))
+        return Mono.defer(() -> connectionPool.execute(request, host, operation))
                 .checkpoint("[ArangoCommunicationImpl.execute()]")
                 .timeout(config.getTimeout());
     }
@@ -244,7 +319,7 @@ final class ArangoCommunicationImpl implements ArangoCommunication {
             return Mono.error(new IllegalStateException("Ongoing updateHostList!"));
         }
 
-        return execute(ENDPOINTS_REQUEST, contactConnectionPool)
+        return execute(ENDPOINTS_REQUEST, contactConnectionPool, ConnectionOperation.EXECUTE)
                 .map(this::parseAcquireHostListResponse)
                 .checkpoint("[ArangoCommunicationImpl.updateHostList()]")
                 .doOnError(e -> {
@@ -22,6 +22,7 @@ package com.arangodb.reactive.communication;
 
 
 import com.arangodb.jackson.dataformat.velocypack.VPackMapper;
+import com.arangodb.reactive.ArangoDefaults;
 import com.arangodb.reactive.connection.ArangoProtocol;
 import com.arangodb.reactive.connection.AuthenticationMethod;
 import com.arangodb.reactive.connection.ConnectionConfig;
@@ -138,13 +139,85 @@ public interface CommunicationConfig {
     }
 
     /**
-     * @return amount of connections that will be created for every host
+     * @return amount of connections that will be created for every host, and min amount of connections kept open
      */
     @Value.Default
     default int getConnectionsPerHost() {
         return 1;
     }
 
+    /**
+     * @return max amount of connections for every host. When greater than {@link #getConnectionsPerHost()}, further
+     * connections are opened as the load increases, see {@link #getConnectionScaleUpThreshold()}, and closed after
+     * {@link #getConnectionIdleTimeout()}. Defaults to {@link #getConnectionsPerHost()}, ie. fixed size pools.
+     */
+    @Value.Default
+    default int getMaxConnectionsPerHost() {
+        return getConnectionsPerHost();
+    }
+
+    /**
+     * @return average number of in-flight requests per connection above which a further connection to the host is
+     * opened, up to {@link #getMaxConnectionsPerHost()}
+     */
+    @Value.Default
+    default int getConnectionScaleUpThreshold() {
+        return ArangoDefaults.DEFAULT_CONNECTION_SCALE_UP_THRESHOLD;
+    }
+
+    /**
+     * @return time after which a connection exceeding {@link #getConnectionsPerHost()} is closed, if meanwhile the
+     * in-flight requests of the host could have been served by one connection less, with an average of at most half
+     * {@link #getConnectionScaleUpThreshold()} requests per connection. Connections are closed one at a time, every
+     * idle timeout.
+     */
+    @Value.Default
+    default Duration getConnectionIdleTimeout() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_CONNECTION_IDLE_TIMEOUT);
+    }
+
+    /**
+     * @return strategy selecting the host of every request
+     */
+    @Value.Default
+    default LoadBalancingStrategy getLoadBalancingStrategy() {
+        return LoadBalancingStrategy.leastOutstandingRequests();
+    }
+
+    /**
+     * @return passive outlier detection configuration, ejecting failing hosts from the load balancing
+     */
+    @Value.Default
+    default OutlierDetectionConfig getOutlierDetection() {
+        return OutlierDetectionConfig.builder().build();
+    }
+
+    /**
+     * @return hedging configuration for idempotent reads
+     */
+    @Value.Default
+    default HedgingConfig getHedging() {
+        return HedgingConfig.builder().build();
+    }
+
+    /**
+     * @return retry configuration for idempotent requests failing at connection level
+     */
+    @Value.Default
+    default RetryConfig getRetry() {
+        return RetryConfig.builder().build();
+    }
+
+    /**
+     * @return decay time of the exponentially weighted moving average of the response latency of every host, used by
+     * {@link LoadBalancingStrategy#powerOfTwoChoices()}. Older samples weight less, so that the average follows
+     * latency changes within this time.
+     */
+    @Value.Default
+    default Duration getLatencyDecay() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_LATENCY_DECAY);
+    }
+
     /**
      * @return max number of vst threads, used by VstConnection only
      */
@@ -179,6 +252,23 @@ public interface CommunicationConfig {
             throw new IllegalStateException("Invalid mapper for the specified content type!");
         }
 
+        if (getConnectionsPerHost() < 1 || getMaxConnectionsPerHost() < getConnectionsPerHost()) {
+            throw new IllegalStateException(
+                    "connectionsPerHost must be greater than 0 and not greater than maxConnectionsPerHost!");
+        }
+
+        if (getConnectionScaleUpThreshold() < 1) {
+            throw new IllegalStateException("connectionScaleUpThreshold must be greater than 0!");
+        }
+
+        if (getConnectionIdleTimeout().isNegative() || getConnectionIdleTimeout().isZero()) {
+            throw new IllegalStateException("connectionIdleTimeout must be positive!");
+        }
+
+        if (getLatencyDecay().isNegative() || getLatencyDecay().isZero()) {
+            throw new IllegalStateException("latencyDecay must be positive!");
+        }
+
     }
 
 }
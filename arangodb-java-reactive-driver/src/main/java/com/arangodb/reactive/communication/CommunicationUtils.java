@@ -21,8 +21,11 @@
 package com.arangodb.reactive.communication;
 
 
-import java.util.Collection;
-import java.util.Iterator;
+import com.arangodb.reactive.connection.ArangoConnection;
+import reactor.netty.channel.AbortedException;
+
+import java.io.IOException;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -35,18 +38,43 @@ final class CommunicationUtils {
     }
 
     /**
-     * @throws NoSuchElementException if the collection is empty
+     * @param connections connections to the same host
+     * @return the connection with the least active requests, eg. the least loaded HTTP/2 connection by active streams,
+     * ties are broken by scanning from a random position
+     * @throws NoSuchElementException if the list is empty
      */
-    static <T> T getRandomItem(final Collection<T> collection) {
-        if (collection.isEmpty()) {
+    static ArangoConnection getLeastLoadedConnection(final List<ArangoConnection> connections) {
+        final int size = connections.size();
+        if (size == 0) {
             throw new NoSuchElementException();
         }
-        int index = ThreadLocalRandom.current().nextInt(collection.size());
-        Iterator<T> iterator = collection.iterator();
-        for (int i = 0; i < index; i++) {
-            iterator.next();
+        final int start = ThreadLocalRandom.current().nextInt(size);
+        ArangoConnection leastLoaded = connections.get(start);
+        int min = leastLoaded.getActiveRequests();
+        for (int i = 1; i < size && min > 0; i++) {
+            final ArangoConnection connection = connections.get((start + i) % size);
+            final int active = connection.getActiveRequests();
+            if (active < min) {
+                leastLoaded = connection;
+                min = active;
+            }
+        }
+        return leastLoaded;
+    }
+
+    /**
+     * @param t error
+     * @return whether the error happened at connection level, eg. the connection has been closed, reset or refused,
+     * rather than being a local error like {@link
+     * com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException}, an error response or a timeout
+     */
+    static boolean isConnectionError(final Throwable t) {
+        for (Throwable e = t; e != null; e = e.getCause()) {
+            if (e instanceof IOException || e instanceof AbortedException) {
+                return true;
+            }
         }
-        return iterator.next();
+        return false;
     }
 
 }
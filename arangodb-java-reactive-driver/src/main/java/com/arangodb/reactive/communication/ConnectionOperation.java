@@ -0,0 +1,87 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Operation performed on a connection to execute a request, allowing the routing logic to be shared among the
+ * different kinds of responses.
+ *
+ * @param <T> response type
+ * @author Michele Rastelli
+ */
+final class ConnectionOperation<T> {
+
+    /**
+     * Executes the request, aggregating the response
+     */
+    static final ConnectionOperation<ArangoResponse> EXECUTE =
+            new ConnectionOperation<>(ArangoConnection::execute, ArangoResponse::getResponseCode);
+
+    /**
+     * Executes the request, streaming the response body
+     */
+    static final ConnectionOperation<StreamingArangoResponse> EXECUTE_STREAMING =
+            new ConnectionOperation<>(ArangoConnection::executeStreaming, StreamingArangoResponse::getResponseCode);
+
+    /**
+     * @param body          streamed body of the request
+     * @param contentLength length of the body (bytes), or {@link ArangoConnection#UNKNOWN_CONTENT_LENGTH}
+     * @return an operation executing the request with the provided streamed body, aggregating the response
+     * @see ArangoConnection#executeBuffered(ArangoRequest, Flux, long)
+     */
+    static ConnectionOperation<ArangoResponse> executeStreamingBody(final Flux<ByteBuf> body,
+                                                                    final long contentLength) {
+        return new ConnectionOperation<>(
+                (connection, request) -> connection.executeBuffered(request, body, contentLength)
+                        .map(BufferedArangoResponse::copyAndRelease),
+                ArangoResponse::getResponseCode);
+    }
+
+    private final BiFunction<ArangoConnection, ArangoRequest, Mono<T>> executor;
+    private final ToIntFunction<T> responseCodeExtractor;
+
+    private ConnectionOperation(final BiFunction<ArangoConnection, ArangoRequest, Mono<T>> executorFunction,
+                                final ToIntFunction<T> responseCodeFunction) {
+        executor = executorFunction;
+        responseCodeExtractor = responseCodeFunction;
+    }
+
+    Mono<T> execute(final ArangoConnection connection, final ArangoRequest request) {
+        return executor.apply(connection, request);
+    }
+
+    int getResponseCode(final T response) {
+        return responseCodeExtractor.applyAsInt(response);
+    }
+
+}
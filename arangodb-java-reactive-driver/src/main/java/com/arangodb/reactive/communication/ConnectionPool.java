@@ -26,8 +26,10 @@ import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
 import com.arangodb.reactive.connection.ConnectionFactory;
 import com.arangodb.reactive.connection.HostDescription;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -63,7 +65,9 @@ interface ConnectionPool {
      * @param request to be executed
      * @return db response
      */
-    Mono<ArangoResponse> execute(ArangoRequest request);
+    default Mono<ArangoResponse> execute(ArangoRequest request) {
+        return execute(request, ConnectionOperation.EXECUTE);
+    }
 
     /**
      * Executes the request on a specified host
@@ -72,7 +76,57 @@ interface ConnectionPool {
      * @return db response
      * @throws com.arangodb.reactive.exceptions.HostNotAvailableException if there are no connections to the specified host
      */
-    Mono<ArangoResponse> execute(ArangoRequest request, HostDescription host);
+    default Mono<ArangoResponse> execute(ArangoRequest request, HostDescription host) {
+        return execute(request, host, ConnectionOperation.EXECUTE);
+    }
+
+    /**
+     * Executes the request on a random host
+     *
+     * @param request   to be executed
+     * @param operation operation to perform on the connection
+     * @param <T>       response type
+     * @return db response
+     */
+    <T> Mono<T> execute(ArangoRequest request, ConnectionOperation<T> operation);
+
+    /**
+     * Executes the request on a specified host
+     *
+     * @param request   to be executed
+     * @param host      host to use
+     * @param operation operation to perform on the connection
+     * @param <T>       response type
+     * @return db response
+     * @throws com.arangodb.reactive.exceptions.HostNotAvailableException if there are no connections to the specified host
+     */
+    <T> Mono<T> execute(ArangoRequest request, HostDescription host, ConnectionOperation<T> operation);
+
+    /**
+     * Executes the request like {@link #execute(ArangoRequest, ConnectionOperation)}, sending it again to a different
+     * host if no response has been received within the hedging delay. The first response wins, the other request is
+     * cancelled.
+     *
+     * @param request   idempotent request to be executed
+     * @param operation operation to perform on the connection
+     * @param hedging   hedging policy
+     * @param <T>       response type
+     * @return db response
+     */
+    <T> Mono<T> executeHedged(ArangoRequest request, ConnectionOperation<T> operation, HedgingPolicy hedging);
+
+    /**
+     * Executes the request like {@link #execute(ArangoRequest, ConnectionOperation)}, sending it again after a
+     * connection level failure to a different host, or to a different connection if there are no other hosts, as long
+     * as the retry policy allows it.
+     *
+     * @param request   idempotent request to be executed
+     * @param operation operation to perform on the connection, which must allow subscribing it more than once
+     * @param retry     retry policy
+     * @param <T>       response type
+     * @return db response
+     */
+    <T> Mono<T> executeWithRetries(ArangoRequest request, ConnectionOperation<T> operation, RetryPolicy retry);
 
     /**
      * Updates the connectionsByHost map, making it consistent with the current hostList
@@ -89,4 +143,14 @@ interface ConnectionPool {
      */
     Conversation createConversation(Conversation.Level level);
 
+    /**
+     * @return load balancing and outlier detection state of the current hosts
+     */
+    List<HostState> getHostStates();
+
+    /**
+     * @return hot stream of the outlier detection events
+     */
+    Flux<HostEvent> getHostEvents();
+
 }
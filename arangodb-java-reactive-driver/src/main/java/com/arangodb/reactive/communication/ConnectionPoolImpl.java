@@ -23,7 +23,6 @@ package com.arangodb.reactive.communication;
 
 import com.arangodb.reactive.connection.ArangoConnection;
 import com.arangodb.reactive.connection.ArangoRequest;
-import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
 import com.arangodb.reactive.connection.ConnectionFactory;
 import com.arangodb.reactive.connection.HostDescription;
@@ -31,22 +30,31 @@ import com.arangodb.reactive.exceptions.HostNotAvailableException;
 import com.arangodb.reactive.exceptions.NoHostsAvailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-import static com.arangodb.reactive.communication.CommunicationUtils.getRandomItem;
+import static com.arangodb.reactive.communication.CommunicationUtils.getLeastLoadedConnection;
 
 /**
  * @author Michele Rastelli
@@ -54,12 +62,28 @@ import static com.arangodb.reactive.communication.CommunicationUtils.getRandomIt
 class ConnectionPoolImpl implements ConnectionPool {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPoolImpl.class);
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final Duration DRAIN_CHECK_INTERVAL = Duration.ofMillis(100);
+    // failure penalty, relative to the mean latency of the pool
+    private static final int FAILURE_LATENCY_FACTOR = 2;
 
     private final Map<HostDescription, List<ArangoConnection>> connectionsByHost;
     private final CommunicationConfig config;
     private final ConnectionFactory connectionFactory;
     private final AuthenticationMethod authentication;
     private final Semaphore updatingConnectionsSemaphore;
+    private final LoadBalancingStrategy loadBalancingStrategy;
+    // max latency recorded for failed requests, so that hosts failing fast are not preferred by the load balancing
+    private final long failureLatencyNanos;
+    // copy-on-write snapshot of connectionsByHost, rebuilt whenever a host or a connection is added or removed
+    private volatile HostState[] hosts = new HostState[0];
+    // hosts selectable by the load balancing, ie. not ejected by the outlier detection
+    private volatile HostState[] availableHosts = new HostState[0];
+    private final OutlierDetector outlierDetector;
+    @Nullable
+    private final Disposable idleConnectionsCheck;
+    // idle connections removed from the pool, waiting for their in-flight requests to complete before being closed
+    private final Set<ArangoConnection> drainingConnections = ConcurrentHashMap.newKeySet();
 
     ConnectionPoolImpl(
             final CommunicationConfig communicationConfig,
@@ -73,45 +97,400 @@ class ConnectionPoolImpl implements ConnectionPool {
         connectionFactory = connFactory;
         updatingConnectionsSemaphore = new Semaphore(1);
         connectionsByHost = new ConcurrentHashMap<>();
+        loadBalancingStrategy = communicationConfig.getLoadBalancingStrategy();
+        failureLatencyNanos = communicationConfig.getTimeout().toNanos();
+        outlierDetector = new OutlierDetector(communicationConfig.getOutlierDetection(), () -> hosts,
+                this::updateAvailableHosts);
+        if (communicationConfig.getMaxConnectionsPerHost() > communicationConfig.getConnectionsPerHost()) {
+            idleConnectionsCheck = Flux.interval(communicationConfig.getConnectionIdleTimeout().dividedBy(2))
+                    .subscribe(i -> closeIdleConnections());
+        } else {
+            idleConnectionsCheck = null;
+        }
     }
 
     @Override
     public Mono<Void> close() {
         LOGGER.debug("close()");
-        List<Mono<Void>> closedConnections = connectionsByHost.values().stream()
-                .flatMap(Collection::stream)
+        if (idleConnectionsCheck != null) {
+            idleConnectionsCheck.dispose();
+        }
+        outlierDetector.close();
+        List<Mono<Void>> closedConnections = Stream.concat(
+                connectionsByHost.values().stream().flatMap(Collection::stream),
+                drainingConnections.stream().filter(drainingConnections::remove))
                 .map(ArangoConnection::close)
                 .collect(Collectors.toList());
         return Flux.merge(closedConnections).doFinally(v -> connectionFactory.close()).then();
     }
 
     @Override
-    public Mono<ArangoResponse> execute(final ArangoRequest request) {
-        ArangoConnection connection;
+    public <T> Mono<T> execute(final ArangoRequest request, final ConnectionOperation<T> operation) {
+        final HostState host = selectHost();
+        if (host == null) {
+            return Mono.error(NoHostsAvailableException.create());
+        }
+        LOGGER.debug("execute: picked host {}", host);
+        return execute(request, host, operation, isProbe(host));
+    }
+
+    @Override
+    public <T> Mono<T> executeHedged(final ArangoRequest request, final ConnectionOperation<T> operation,
+                                     final HedgingPolicy hedging) {
+        final HostState host = selectHost();
+        if (host == null) {
+            return Mono.error(NoHostsAvailableException.create());
+        }
+        LOGGER.debug("executeHedged: picked host {}", host);
+        hedging.onRequest();
+        return Mono.firstWithSignal(
+                execute(request, host, operation, isProbe(host)),
+                Mono.delay(hedging.getDelay(host)).flatMap(i -> hedge(request, operation, host, hedging))
+        );
+    }
+
+    /**
+     * @return a mono executing the request on a host other than {@code first}, if any is available and the hedging
+     * budget allows it, never completing otherwise. Errors are ignored, leaving the first request to complete.
+     */
+    private <T> Mono<T> hedge(final ArangoRequest request, final ConnectionOperation<T> operation,
+                              final HostState first, final HedgingPolicy hedging) {
+        final HostState host = selectHedgeHost(first);
+        if (host == null || !hedging.tryAcquire()) {
+            return Mono.never();
+        }
+        LOGGER.debug("hedging request to host {}", host);
+        return execute(request, host, operation, false)
+                .onErrorResume(e -> {
+                    LOGGER.debug("hedged request failed: {}: {}", e.getClass().getName(), e.getMessage());
+                    return Mono.never();
+                });
+    }
+
+    @Override
+    public <T> Mono<T> executeWithRetries(final ArangoRequest request, final ConnectionOperation<T> operation,
+                                          final RetryPolicy retry) {
+        retry.onRequest();
+        return executeWithRetries(request, operation, retry, null, null, 1);
+    }
+
+    /**
+     * @param failedHost       host of the previous failed attempt, if any
+     * @param failedConnection connection of the previous failed attempt, if any
+     * @param attempt          number of the attempt, starting from 1
+     */
+    private <T> Mono<T> executeWithRetries(final ArangoRequest request, final ConnectionOperation<T> operation,
+                                           final RetryPolicy retry, @Nullable final HostState failedHost,
+                                           @Nullable final ArangoConnection failedConnection, final int attempt) {
+        final HostState host = failedHost == null ? selectHost() : selectRetryHost(failedHost);
+        if (host == null) {
+            return Mono.error(NoHostsAvailableException.create());
+        }
+        LOGGER.debug("executeWithRetries: attempt {}, picked host {}", attempt, host);
+        final List<ArangoConnection> connections = host.getConnections();
+        final ArangoConnection connection;
         try {
-            HostDescription host = getRandomItem(connectionsByHost.keySet());
-            LOGGER.debug("execute: picked host {}", host);
-            connection = getRandomItem(connectionsByHost.get(host));
+            connection = getLeastLoadedConnection(connections.size() > 1 && connections.contains(failedConnection)
+                    ? connections.stream().filter(it -> it != failedConnection).collect(Collectors.toList())
+                    : connections);
         } catch (NoSuchElementException e) {
-            return Mono.error(NoHostsAvailableException.create());
+            return Mono.error(new IOException("No open connections!"));
+        }
+        return execute(request, host, connection, operation, isProbe(host))
+                .onErrorResume(e -> retry.shouldRetry(e, attempt), e -> Mono.delay(retry.getBackoff(attempt))
+                        .then(Mono.defer(() ->
+                                executeWithRetries(request, operation, retry, host, connection, attempt + 1))));
+    }
+
+    /**
+     * @return the host selected by the load balancing among the available ones, or among all the hosts if all of
+     * them are ejected, {@code null} if the pool has no hosts
+     */
+    @Nullable
+    private HostState selectHost() {
+        outlierDetector.checkEjectionTimes();
+        HostState[] snapshot = availableHosts;
+        if (snapshot.length == 0) {
+            // all the hosts are ejected
+            snapshot = hosts;
+            if (snapshot.length == 0) {
+                return null;
+            }
         }
-        return connection.execute(request);
+        return loadBalancingStrategy.select(snapshot);
+    }
+
+    /**
+     * @param first host of the hedged request
+     * @return the host selected by the load balancing among the available hosts with closed circuit, other than
+     * {@code first}, or {@code null} if there are none
+     */
+    @Nullable
+    protected HostState selectHedgeHost(final HostState first) {
+        return selectHost(it -> it != first);
+    }
+
+    /**
+     * @param filter condition on the candidate hosts
+     * @return the host selected by the load balancing among the available hosts with closed circuit satisfying
+     * {@code filter}, or {@code null} if there are none
+     */
+    @Nullable
+    protected HostState selectHost(final Predicate<HostState> filter) {
+        final HostState[] candidates = Arrays.stream(availableHosts)
+                .filter(it -> it.getCircuitState() == HostState.CircuitState.CLOSED && filter.test(it))
+                .toArray(HostState[]::new);
+        return candidates.length == 0 ? null : loadBalancingStrategy.select(candidates);
+    }
+
+    /**
+     * @param failed host of the failed attempt
+     * @return the host selected by the load balancing among the available hosts with closed circuit other than
+     * {@code failed}, or among all the hosts if there are none
+     */
+    @Nullable
+    private HostState selectRetryHost(final HostState failed) {
+        final HostState host = selectHost(it -> it != failed);
+        return host != null ? host : selectHost();
+    }
+
+    private boolean isProbe(final HostState host) {
+        return host.getCircuitState() == HostState.CircuitState.HALF_OPEN && outlierDetector.tryStartProbe(host);
     }
 
     @Override
-    public Mono<ArangoResponse> execute(final ArangoRequest request, final HostDescription host) {
-        List<ArangoConnection> hostConnections = connectionsByHost.get(host);
-        if (hostConnections == null) {
+    public <T> Mono<T> execute(final ArangoRequest request, final HostDescription host,
+                               final ConnectionOperation<T> operation) {
+        final HostState hostState = getHostState(host);
+        if (hostState == null) {
             throw HostNotAvailableException.builder().host(host).build();
         }
         LOGGER.debug("execute: executing on host {}", host);
-        ArangoConnection connection;
+        return execute(request, hostState, operation, false);
+    }
+
+    private <T> Mono<T> execute(final ArangoRequest request, final HostState host,
+                                final ConnectionOperation<T> operation, final boolean probe) {
+        final ArangoConnection connection;
         try {
-            connection = getRandomItem(hostConnections);
+            connection = getLeastLoadedConnection(host.getConnections());
         } catch (NoSuchElementException e) {
             return Mono.error(new IOException("No open connections!"));
         }
-        return connection.execute(request);
+        return execute(request, host, connection, operation, probe);
+    }
+
+    private <T> Mono<T> execute(final ArangoRequest request, final HostState host, final ArangoConnection connection,
+                                final ConnectionOperation<T> operation, final boolean probe) {
+        return Mono.defer(() -> {
+            adjustConnections(host, host.onRequestStarted());
+            final long start = System.nanoTime();
+            return operation.execute(connection, request)
+                    .doOnSuccess(r -> {
+                        final long latency = System.nanoTime() - start;
+                        if (r != null && operation.getResponseCode(r) == SERVICE_UNAVAILABLE) {
+                            host.onFailure(getFailurePenalty(latency));
+                        } else {
+                            host.onResponse(latency);
+                        }
+                        outlierDetector.onSuccess(host);
+                    })
+                    .doOnError(e -> {
+                        host.onFailure(getFailurePenalty(System.nanoTime() - start));
+                        outlierDetector.onError(host, e);
+                    })
+                    .doFinally(s -> {
+                        host.onRequestCompleted();
+                        if (s == SignalType.CANCEL && probe) {
+                            outlierDetector.onProbeCancelled(host);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * @param latencyNanos latency of the failed request
+     * @return latency to record for the failed request: {@value #FAILURE_LATENCY_FACTOR} times the mean latency of
+     * the pool, if higher than the request latency, and not higher than the request timeout
+     */
+    private long getFailurePenalty(final long latencyNanos) {
+        return Math.min(Math.max(latencyNanos, FAILURE_LATENCY_FACTOR * getMeanLatencyNanos(hosts)),
+                failureLatencyNanos);
+    }
+
+    /**
+     * @param snapshot hosts
+     * @return mean of the latency moving averages of the hosts with latency samples, or {@code 0} if there are none
+     */
+    private static long getMeanLatencyNanos(final HostState[] snapshot) {
+        long sum = 0;
+        int count = 0;
+        for (final HostState host : snapshot) {
+            final long latency = host.getLatencyNanos();
+            if (latency > 0) {
+                sum += latency;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * @param host host
+     * @return the state of the host in the current snapshot, or {@code null} if the host is not in the pool
+     */
+    @Nullable
+    private HostState getHostState(final HostDescription host) {
+        for (final HostState hostState : hosts) {
+            if (hostState.getHost().equals(host)) {
+                return hostState;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rebuilds the hosts snapshot from {@link #connectionsByHost}, keeping the state of the hosts already in the pool.
+     * Invoked after every update of {@link #connectionsByHost}, the last invocation always observes all the updates.
+     */
+    private synchronized void updateHostsSnapshot() {
+        final HostState[] previous = hosts;
+        final long meanLatency = getMeanLatencyNanos(previous);
+        final HostState[] updated = connectionsByHost.entrySet().stream()
+                .map(e -> {
+                    final HostState state = Arrays.stream(previous)
+                            .filter(it -> it.getHost().equals(e.getKey()))
+                            .findAny()
+                            .orElseGet(() -> new HostState(e.getKey(), e.getValue(), config.getLatencyDecay(),
+                                    meanLatency));
+                    state.setConnections(e.getValue());
+                    return state;
+                })
+                .toArray(HostState[]::new);
+        hosts = updated;
+        updateAvailableHosts();
+    }
+
+    /**
+     * Rebuilds the snapshot of the hosts selectable by the load balancing, invoked whenever the hosts or their circuit
+     * states change.
+     */
+    private synchronized void updateAvailableHosts() {
+        final HostState[] snapshot = hosts;
+        availableHosts = outlierDetector.isEnabled()
+                ? Arrays.stream(snapshot).filter(HostState::isSelectable).toArray(HostState[]::new)
+                : snapshot;
+    }
+
+    /**
+     * Opens a further connection to the host if the average in-flight requests per connection exceed
+     * {@link CommunicationConfig#getConnectionScaleUpThreshold()}, and records whether the connections in excess of
+     * {@link CommunicationConfig#getConnectionsPerHost()} are still needed, ie. the in-flight requests could not be
+     * served by one connection less with at most half the threshold per connection.
+     *
+     * @param host     host
+     * @param inFlight in-flight requests of the host
+     */
+    private void adjustConnections(final HostState host, final int inFlight) {
+        final int size = host.getConnections().size();
+        if (inFlight > (long) config.getConnectionScaleUpThreshold() * size
+                && size < config.getMaxConnectionsPerHost() && host.tryOpenConnection()) {
+            addConnection(host);
+        }
+        if (size > config.getConnectionsPerHost() && needsAllConnections(size, inFlight)) {
+            host.markBusy();
+        }
+    }
+
+    /**
+     * @param size     number of connections
+     * @param inFlight in-flight requests
+     * @return whether the in-flight requests exceed half the scale up threshold per connection, with one connection
+     * less
+     */
+    private boolean needsAllConnections(final int size, final int inFlight) {
+        return 2L * inFlight > (long) config.getConnectionScaleUpThreshold() * (size - 1);
+    }
+
+    private void addConnection(final HostState host) {
+        LOGGER.debug("adding connection to host: {}", host);
+        Mono.defer(() -> connectionFactory.create(host.getHost(), authentication))
+                .doFinally(s -> host.onConnectionOpened())
+                .subscribe(connection -> {
+                    final List<ArangoConnection> updated = connectionsByHost.computeIfPresent(host.getHost(),
+                            (h, connections) -> {
+                                final List<ArangoConnection> added = new ArrayList<>(connections);
+                                added.add(connection);
+                                return added;
+                            });
+                    if (updated == null) {
+                        LOGGER.debug("host removed, closing added connection: {}", host);
+                        connection.close().subscribe();
+                    } else {
+                        updateHostsSnapshot();
+                        LOGGER.debug("added connection to host: {}", host);
+                    }
+                }, e -> LOGGER.warn("Error adding connection to host [{}]: {}: {}",
+                        host.getHost(), e.getClass().getName(), e.getMessage()));
+    }
+
+    /**
+     * Closes one idle connection of every host having connections in excess of
+     * {@link CommunicationConfig#getConnectionsPerHost()} which have not been needed for
+     * {@link CommunicationConfig#getConnectionIdleTimeout()}.
+     */
+    private void closeIdleConnections() {
+        final long idleTimeout = config.getConnectionIdleTimeout().toNanos();
+        final long now = System.nanoTime();
+        for (final HostState host : hosts) {
+            final int size = host.getConnections().size();
+            if (size <= config.getConnectionsPerHost()) {
+                continue;
+            }
+            if (needsAllConnections(size, host.getInFlightRequests())) {
+                host.markBusy();
+            } else if (now - host.getLastBusy() >= idleTimeout) {
+                host.getConnections().stream()
+                        .filter(it -> it.getActiveRequests() == 0)
+                        .findAny()
+                        .ifPresent(it -> removeConnection(host, it));
+            }
+        }
+    }
+
+    private void removeConnection(final HostState host, final ArangoConnection connection) {
+        LOGGER.debug("removing idle connection to host: {}", host);
+        final List<ArangoConnection> updated = connectionsByHost.computeIfPresent(host.getHost(),
+                (h, connections) -> {
+                    if (connections.size() <= config.getConnectionsPerHost()) {
+                        return connections;
+                    }
+                    final List<ArangoConnection> removed = new ArrayList<>(connections);
+                    removed.remove(connection);
+                    return removed;
+                });
+        // the host connections are closed by removeHost()
+        if (updated != null && !updated.contains(connection)) {
+            // the next connection is closed after a further idle timeout
+            host.markBusy();
+            updateHostsSnapshot();
+            closeWhenDrained(connection);
+        }
+    }
+
+    /**
+     * Closes a connection removed from the pool once its in-flight requests are completed, eg. requests which selected
+     * it before the snapshot has been updated. Requests still pending after {@link CommunicationConfig#getTimeout()}
+     * have timed out anyway.
+     */
+    private void closeWhenDrained(final ArangoConnection connection) {
+        drainingConnections.add(connection);
+        Flux.interval(DRAIN_CHECK_INTERVAL)
+                .filter(i -> connection.getActiveRequests() == 0)
+                .next()
+                .timeout(config.getTimeout(), Mono.just(0L))
+                .then(Mono.defer(() -> drainingConnections.remove(connection) ? connection.close() : Mono.empty()))
+                .subscribe();
     }
 
     @Override
@@ -137,6 +516,7 @@ class ConnectionPoolImpl implements ConnectionPool {
                                             return removeHost(host);
                                         } else {
                                             connectionsByHost.put(host, hostConnections);
+                                            updateHostsSnapshot();
                                             LOGGER.debug("added host: {}", host);
                                             return Mono.empty();
                                         }
@@ -165,12 +545,21 @@ class ConnectionPoolImpl implements ConnectionPool {
 
     @Override
     public Conversation createConversation(final Conversation.Level level) {
-        try {
-            HostDescription host = getRandomItem(connectionsByHost.keySet());
-            return Conversation.of(host, level);
-        } catch (NoSuchElementException e) {
+        final HostState[] snapshot = hosts;
+        if (snapshot.length == 0) {
             throw NoHostsAvailableException.create();
         }
+        return Conversation.of(snapshot[ThreadLocalRandom.current().nextInt(snapshot.length)].getHost(), level);
+    }
+
+    @Override
+    public List<HostState> getHostStates() {
+        return Collections.unmodifiableList(Arrays.asList(hosts));
+    }
+
+    @Override
+    public Flux<HostEvent> getHostEvents() {
+        return outlierDetector.getEvents();
     }
 
     protected Map<HostDescription, List<ArangoConnection>> getConnectionsByHost() {
@@ -201,9 +590,12 @@ class ConnectionPoolImpl implements ConnectionPool {
 
     private Mono<Void> removeHost(final HostDescription host) {
         LOGGER.debug("removing host: {}", host);
-        return Optional.ofNullable(connectionsByHost.remove(host))
-                .map(this::closeHostConnections)
-                .orElse(Mono.empty());
+        final List<ArangoConnection> removed = connectionsByHost.remove(host);
+        if (removed == null) {
+            return Mono.empty();
+        }
+        updateHostsSnapshot();
+        return closeHostConnections(removed);
     }
 
     private List<Mono<ArangoConnection>> createHostConnections(final HostDescription host) {
@@ -0,0 +1,96 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.ArangoDefaults;
+import com.arangodb.reactive.entity.GenerateBuilder;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * Hedging configuration for idempotent reads (GET and HEAD requests). When {@link #getEnabled()}, a read not completed
+ * within the delay is sent again to a different host, the first response wins and the other request is cancelled.
+ * The delay is the {@link #getLatencyPercentile()} of the response latency of the first host, or
+ * {@link #getMinDelay()} if greater or if the latency of the host is not known yet.
+ * <p>
+ * Requests within a {@link Conversation} are never hedged. With topology {@link ArangoTopology#ACTIVE_FAILOVER},
+ * reads are hedged only when {@link CommunicationConfig#getDirtyReads()} is enabled, and only to followers.
+ *
+ * @author Michele Rastelli
+ */
+@GenerateBuilder
+@SuppressWarnings("SameReturnValue")
+public interface HedgingConfig {
+
+    static HedgingConfigBuilder builder() {
+        return new HedgingConfigBuilder();
+    }
+
+    /**
+     * @return whether hedging is enabled
+     */
+    @Value.Default
+    default boolean getEnabled() {
+        return false;
+    }
+
+    /**
+     * @return percentile of the host response latency after which the request is hedged, between 0 and 1
+     */
+    @Value.Default
+    default double getLatencyPercentile() {
+        return ArangoDefaults.DEFAULT_HEDGING_LATENCY_PERCENTILE;
+    }
+
+    /**
+     * @return min delay after which the request is hedged
+     */
+    @Value.Default
+    default Duration getMinDelay() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_HEDGING_MIN_DELAY);
+    }
+
+    /**
+     * @return max number of hedged requests, as percentage of the hedgeable requests
+     */
+    @Value.Default
+    default int getBudgetPercent() {
+        return ArangoDefaults.DEFAULT_HEDGING_BUDGET_PERCENT;
+    }
+
+    @Value.Check
+    default void checkValid() {
+        if (getLatencyPercentile() <= 0 || getLatencyPercentile() > 1) {
+            throw new IllegalStateException("latencyPercentile must be greater than 0 and not greater than 1!");
+        }
+
+        if (getMinDelay().isNegative()) {
+            throw new IllegalStateException("minDelay must not be negative!");
+        }
+
+        if (getBudgetPercent() < 0 || getBudgetPercent() > 100) {
+            throw new IllegalStateException("budgetPercent must be between 0 and 100!");
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.connection.ArangoRequest;
+
+import java.time.Duration;
+
+/**
+ * @author Michele Rastelli
+ * @see HedgingConfig
+ */
+final class HedgingPolicy {
+
+    private final HedgingConfig config;
+    private final long minDelayNanos;
+    private final RequestBudget budget;
+
+    HedgingPolicy(final HedgingConfig hedgingConfig) {
+        config = hedgingConfig;
+        minDelayNanos = hedgingConfig.getMinDelay().toNanos();
+        budget = new RequestBudget(hedgingConfig.getBudgetPercent());
+    }
+
+    static boolean isIdempotentRead(final ArangoRequest request) {
+        return ArangoRequest.RequestType.GET.equals(request.getRequestType())
+                || ArangoRequest.RequestType.HEAD.equals(request.getRequestType());
+    }
+
+    /**
+     * @param request request
+     * @return whether the request can be hedged
+     */
+    boolean isHedgeable(final ArangoRequest request) {
+        return config.getEnabled() && isIdempotentRead(request);
+    }
+
+    /**
+     * Records a hedgeable request, increasing the hedging budget.
+     */
+    void onRequest() {
+        budget.onRequest();
+    }
+
+    /**
+     * @param host host of the first request
+     * @return the time after which the request should be hedged
+     */
+    Duration getDelay(final HostState host) {
+        return Duration.ofNanos(Math.max(minDelayNanos, host.getLatencyPercentile(config.getLatencyPercentile())));
+    }
+
+    /**
+     * @return {@code true} if the hedging budget allows sending a hedge
+     */
+    boolean tryAcquire() {
+        return budget.tryAcquire();
+    }
+
+}
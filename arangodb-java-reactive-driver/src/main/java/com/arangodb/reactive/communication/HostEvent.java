@@ -0,0 +1,83 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.entity.GeneratePackagePrivateBuilder;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Outlier detection event, signalling a change of the {@link HostState.CircuitState} of a host.
+ *
+ * @author Michele Rastelli
+ * @see OutlierDetectionConfig
+ */
+@GeneratePackagePrivateBuilder
+public interface HostEvent {
+
+    static HostEvent of(HostDescription host, Type type, int ejections, @Nullable Duration ejectionTime) {
+        return new HostEventBuilder()
+                .host(host)
+                .type(type)
+                .ejections(ejections)
+                .ejectionTime(Optional.ofNullable(ejectionTime))
+                .build();
+    }
+
+    HostDescription getHost();
+
+    Type getType();
+
+    /**
+     * @return number of consecutive ejections of the host
+     */
+    int getEjections();
+
+    /**
+     * @return for {@link Type#EJECTED} events, the time after which the host will be probed
+     */
+    Optional<Duration> getEjectionTime();
+
+    enum Type {
+
+        /**
+         * the host has been ejected from the load balancing, its circuit is {@link HostState.CircuitState#OPEN}
+         */
+        EJECTED,
+
+        /**
+         * the ejection time elapsed, the next request to the host is a probe, its circuit is
+         * {@link HostState.CircuitState#HALF_OPEN}
+         */
+        HALF_OPENED,
+
+        /**
+         * the probe succeeded, the host is available again, its circuit is {@link HostState.CircuitState#CLOSED}
+         */
+        READMITTED
+
+    }
+
+}
@@ -0,0 +1,339 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.HostDescription;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load balancing state of a host of a connection pool, shared by all the snapshots of the pool hosts until the host
+ * is removed from the pool.
+ *
+ * @author Michele Rastelli
+ * @see LoadBalancingStrategy
+ */
+public final class HostState {
+
+    // weight of a failure penalty in the latency moving average, independent of the time since the previous sample
+    private static final double FAILURE_WEIGHT = 0.5;
+
+    private final HostDescription host;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicBoolean openingConnection = new AtomicBoolean();
+    private final double latencyDecayNanos;
+    private final LatencyHistogram latencyHistogram;
+    private volatile List<ArangoConnection> connections;
+    // System.nanoTime() of the last time the connections in excess of the min amount were needed
+    private volatile long lastBusy;
+    // peak EWMA of the response latency (nanoseconds) and System.nanoTime() of its last update, written under lock
+    private volatile double latencyEwma;
+    private volatile long latencyTimestamp;
+    // outlier detection state, the circuit state and the ejection fields are written under the OutlierDetector lock
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+    private final AtomicInteger windowRequests = new AtomicInteger();
+    private final AtomicInteger windowTimeouts = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long windowStart;
+    private volatile CircuitState circuitState = CircuitState.CLOSED;
+    private volatile long ejectedUntil;
+    private volatile long readmittedAt;
+    private volatile int ejections;
+
+    HostState(final HostDescription hostDescription, final List<ArangoConnection> hostConnections,
+              final Duration latencyDecay) {
+        this(hostDescription, hostConnections, latencyDecay, 0);
+    }
+
+    /**
+     * @param initialLatencyNanos initial value of the latency moving average, eg. the mean latency of the other hosts
+     *                            of the pool, so that a new host does not draw all the traffic until its first response
+     */
+    HostState(final HostDescription hostDescription, final List<ArangoConnection> hostConnections,
+              final Duration latencyDecay, final long initialLatencyNanos) {
+        host = hostDescription;
+        connections = hostConnections;
+        latencyDecayNanos = latencyDecay.toNanos();
+        latencyHistogram = new LatencyHistogram(latencyDecay.toNanos());
+        latencyEwma = initialLatencyNanos;
+        latencyTimestamp = System.nanoTime();
+        lastBusy = latencyTimestamp;
+        windowStart = latencyTimestamp;
+        readmittedAt = latencyTimestamp;
+    }
+
+    public HostDescription getHost() {
+        return host;
+    }
+
+    /**
+     * @return number of requests sent to this host and still waiting for a response
+     */
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /**
+     * @return exponentially weighted moving average of the response latency (nanoseconds), decayed by the time elapsed
+     * since the last response, so that hosts not receiving traffic are eventually probed again. Hosts added to a pool
+     * start from the mean latency of the other hosts, {@code 0} if none of them has received a response yet.
+     * @see CommunicationConfig#getLatencyDecay()
+     */
+    public long getLatencyNanos() {
+        return (long) decay(latencyEwma, System.nanoTime() - latencyTimestamp);
+    }
+
+    /**
+     * @param quantile between 0 and 1, eg. {@code 0.95} for the 95th percentile
+     * @return estimate of the response latency percentile (nanoseconds), over the responses received within the last
+     * one to two {@link CommunicationConfig#getLatencyDecay()}, or {@code -1} if too few responses have been received
+     */
+    public long getLatencyPercentile(final double quantile) {
+        return latencyHistogram.getPercentile(quantile);
+    }
+
+    /**
+     * @return circuit breaker state of the host, always {@link CircuitState#CLOSED} if outlier detection is disabled
+     * @see OutlierDetectionConfig
+     */
+    public CircuitState getCircuitState() {
+        return circuitState;
+    }
+
+    /**
+     * @return number of consecutive ejections of the host, reset once it has been available for
+     * {@link OutlierDetectionConfig#getMaxEjectionTime()}
+     */
+    public int getEjections() {
+        return ejections;
+    }
+
+    /**
+     * @return the current connections to this host, the list is never modified but replaced when connections are
+     * added or removed
+     */
+    List<ArangoConnection> getConnections() {
+        return connections;
+    }
+
+    void setConnections(final List<ArangoConnection> hostConnections) {
+        connections = hostConnections;
+    }
+
+    /**
+     * @return the number of in-flight requests, including the started one
+     */
+    int onRequestStarted() {
+        return inFlightRequests.incrementAndGet();
+    }
+
+    void onRequestCompleted() {
+        inFlightRequests.decrementAndGet();
+    }
+
+    /**
+     * Records the latency of a successful request. In the moving average, latencies higher than the current value
+     * replace it, so that slowdowns are detected immediately, while lower latencies are weighted by the time since the
+     * previous sample.
+     *
+     * @param latencyNanos time between sending the request and receiving the response
+     */
+    void onResponse(final long latencyNanos) {
+        latencyHistogram.record(latencyNanos);
+        updateLatencyEwma(latencyNanos);
+    }
+
+    /**
+     * Records a failed request, eg. a connection error or a 503 response, in the moving average only. Hosts failing
+     * fast would otherwise look faster than the healthy ones to the load balancing, and would lower the latency
+     * percentiles used for hedging. Unlike {@link #onResponse(long)}, the penalty never replaces the current value,
+     * but moves it halfway towards the penalty, so that a single failure does not keep the host out of the load
+     * balancing, which is the job of the outlier detection.
+     *
+     * @param penaltyLatencyNanos latency to record
+     */
+    synchronized void onFailure(final long penaltyLatencyNanos) {
+        final long now = System.nanoTime();
+        final double current = decay(latencyEwma, now - latencyTimestamp);
+        latencyEwma = current + (penaltyLatencyNanos - current) * FAILURE_WEIGHT;
+        latencyTimestamp = now;
+    }
+
+    private synchronized void updateLatencyEwma(final long latencyNanos) {
+        final long now = System.nanoTime();
+        final long elapsed = Math.max(now - latencyTimestamp, 0);
+        final double current = latencyEwma;
+        if (latencyNanos > current) {
+            latencyEwma = latencyNanos;
+        } else {
+            final double weight = Math.exp(-elapsed / latencyDecayNanos);
+            latencyEwma = current * weight + latencyNanos * (1 - weight);
+        }
+        latencyTimestamp = now;
+    }
+
+    long getLastBusy() {
+        return lastBusy;
+    }
+
+    void markBusy() {
+        lastBusy = System.nanoTime();
+    }
+
+    /**
+     * @return {@code true} if the caller should open a new connection, {@code false} if another one is being opened
+     * @see #onConnectionOpened()
+     */
+    boolean tryOpenConnection() {
+        return openingConnection.compareAndSet(false, true);
+    }
+
+    void onConnectionOpened() {
+        markBusy();
+        openingConnection.set(false);
+    }
+
+    /**
+     * @return whether the host can be selected by the load balancing, ie. its circuit is closed or half-open without
+     * ongoing probe request
+     */
+    boolean isSelectable() {
+        final CircuitState state = circuitState;
+        return state == CircuitState.CLOSED || state == CircuitState.HALF_OPEN && !probing.get();
+    }
+
+    /**
+     * @return the number of consecutive failed requests, including the current one
+     */
+    int onError() {
+        return consecutiveErrors.incrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveErrors.set(0);
+    }
+
+    /**
+     * Records the outcome of a request in the current timeout rate window, starting a new window every
+     * {@code intervalNanos}.
+     *
+     * @param timedOut      whether the request timed out
+     * @param now           current {@link System#nanoTime()}
+     * @param intervalNanos window length
+     */
+    void recordOutcome(final boolean timedOut, final long now, final long intervalNanos) {
+        if (now - windowStart >= intervalNanos) {
+            windowStart = now;
+            windowRequests.set(0);
+            windowTimeouts.set(0);
+        }
+        windowRequests.incrementAndGet();
+        if (timedOut) {
+            windowTimeouts.incrementAndGet();
+        }
+    }
+
+    int getWindowRequests() {
+        return windowRequests.get();
+    }
+
+    int getWindowTimeouts() {
+        return windowTimeouts.get();
+    }
+
+    boolean tryStartProbe() {
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * @return whether a probe was ongoing
+     */
+    boolean endProbe() {
+        return probing.getAndSet(false);
+    }
+
+    void eject(final long until, final int count) {
+        ejectedUntil = until;
+        ejections = count;
+        probing.set(false);
+        circuitState = CircuitState.OPEN;
+    }
+
+    void halfOpen() {
+        circuitState = CircuitState.HALF_OPEN;
+    }
+
+    void readmit(final long now) {
+        readmittedAt = now;
+        consecutiveErrors.set(0);
+        windowStart = now;
+        windowRequests.set(0);
+        windowTimeouts.set(0);
+        probing.set(false);
+        circuitState = CircuitState.CLOSED;
+    }
+
+    long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    long getReadmittedAt() {
+        return readmittedAt;
+    }
+
+    private double decay(final double value, final long elapsedNanos) {
+        return elapsedNanos <= 0 ? value : value * Math.exp(-elapsedNanos / latencyDecayNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "HostState{host=" + host + ", inFlightRequests=" + getInFlightRequests()
+                + ", latencyNanos=" + getLatencyNanos() + ", circuitState=" + circuitState + '}';
+    }
+
+    /**
+     * Circuit breaker state of a host.
+     */
+    public enum CircuitState {
+
+        /**
+         * the host is available
+         */
+        CLOSED,
+
+        /**
+         * the host has been ejected from the load balancing
+         */
+        OPEN,
+
+        /**
+         * the ejection time elapsed, a single probe request is sent to the host to decide whether to readmit it
+         */
+        HALF_OPEN
+
+    }
+
+}
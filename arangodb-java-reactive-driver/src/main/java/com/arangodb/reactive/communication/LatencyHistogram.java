@@ -0,0 +1,127 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies, estimating percentiles over the last one to two windows. Buckets are log-linear,
+ * each power of two being divided into 4 sub-buckets, so that estimates are accurate within 25%.
+ *
+ * @author Michele Rastelli
+ */
+final class LatencyHistogram {
+
+    /**
+     * min number of samples to estimate a percentile
+     */
+    static final int MIN_SAMPLES = 20;
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // latencies below 2^MIN_EXPONENT ns (~1 us) share the first bucket, above 2^MAX_EXPONENT ns (~18 min) the last one
+    private static final int MIN_EXPONENT = 10;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS + 1;
+
+    private final long windowNanos;
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private volatile long windowStart;
+
+    /**
+     * @param window length of the window after which samples start being discarded
+     */
+    LatencyHistogram(final long window) {
+        windowNanos = window;
+        windowStart = System.nanoTime();
+    }
+
+    static int bucket(final long nanos) {
+        if (nanos < 1L << MIN_EXPONENT) {
+            return 0;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket + 1;
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return the upper bound (exclusive) of the bucket values
+     */
+    static long upperBound(final int bucket) {
+        if (bucket == 0) {
+            return 1L << MIN_EXPONENT;
+        }
+        final int exponent = (bucket - 1) / SUB_BUCKETS + MIN_EXPONENT;
+        final int subBucket = (bucket - 1) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    void record(final long nanos) {
+        final long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            rotate(now);
+        }
+        current.incrementAndGet(bucket(nanos));
+    }
+
+    /**
+     * @param quantile between 0 and 1, eg. {@code 0.95} for the 95th percentile
+     * @return upper bound of the estimated percentile (nanoseconds), or {@code -1} if fewer than
+     * {@link #MIN_SAMPLES} have been recorded
+     */
+    long getPercentile(final double quantile) {
+        final AtomicLongArray cur = current;
+        final AtomicLongArray prev = previous;
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += cur.get(i) + prev.get(i);
+        }
+        if (total < MIN_SAMPLES) {
+            return -1;
+        }
+        final double rank = quantile * total;
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += cur.get(i) + prev.get(i);
+            if (count >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private synchronized void rotate(final long now) {
+        if (now - windowStart < windowNanos) {
+            return;
+        }
+        previous = now - windowStart >= 2 * windowNanos ? new AtomicLongArray(BUCKETS) : current;
+        current = new AtomicLongArray(BUCKETS);
+        windowStart = now;
+    }
+
+}
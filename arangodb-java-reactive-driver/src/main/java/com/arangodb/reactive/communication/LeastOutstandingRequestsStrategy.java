@@ -0,0 +1,61 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selects the host with the least in-flight requests, so that slow hosts, accumulating pending requests, receive less
+ * traffic. The hosts are scanned from a random position, so that ties are broken randomly.
+ *
+ * @author Michele Rastelli
+ */
+final class LeastOutstandingRequestsStrategy implements LoadBalancingStrategy {
+
+    static final LeastOutstandingRequestsStrategy INSTANCE = new LeastOutstandingRequestsStrategy();
+
+    private LeastOutstandingRequestsStrategy() {
+    }
+
+    @Override
+    public HostState select(final HostState[] hosts) {
+        final int size = hosts.length;
+        final int start = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+        HostState leastLoaded = hosts[start];
+        int min = leastLoaded.getInFlightRequests();
+        for (int i = 1; i < size && min > 0; i++) {
+            final HostState host = hosts[(start + i) % size];
+            final int inFlight = host.getInFlightRequests();
+            if (inFlight < min) {
+                leastLoaded = host;
+                min = inFlight;
+            }
+        }
+        return leastLoaded;
+    }
+
+    @Override
+    public String toString() {
+        return "LeastOutstandingRequestsStrategy";
+    }
+
+}
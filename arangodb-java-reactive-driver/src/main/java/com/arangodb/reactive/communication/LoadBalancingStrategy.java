@@ -0,0 +1,65 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+/**
+ * Strategy selecting the host to which a request is sent, among the hosts of the connection pool. Within the selected
+ * host, the connection with the least active requests is used.
+ * <p>
+ * Implementations must be thread safe and should not allocate, since they are invoked for every request.
+ *
+ * @author Michele Rastelli
+ * @see CommunicationConfig#getLoadBalancingStrategy()
+ */
+@FunctionalInterface
+public interface LoadBalancingStrategy {
+
+    /**
+     * @return strategy selecting a random host
+     */
+    static LoadBalancingStrategy random() {
+        return RandomStrategy.INSTANCE;
+    }
+
+    /**
+     * @return strategy selecting the host with the least in-flight requests, ties are broken randomly
+     */
+    static LoadBalancingStrategy leastOutstandingRequests() {
+        return LeastOutstandingRequestsStrategy.INSTANCE;
+    }
+
+    /**
+     * @return strategy sampling two random hosts and selecting the one with the lower product of latency moving
+     * average and in-flight requests
+     * @see CommunicationConfig#getLatencyDecay()
+     */
+    static LoadBalancingStrategy powerOfTwoChoices() {
+        return PowerOfTwoChoicesStrategy.INSTANCE;
+    }
+
+    /**
+     * @param hosts snapshot of the pool hosts, never empty, it must not be modified
+     * @return the selected host
+     */
+    HostState select(HostState[] hosts);
+
+}
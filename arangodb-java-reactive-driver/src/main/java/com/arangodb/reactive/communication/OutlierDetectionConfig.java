@@ -0,0 +1,139 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.ArangoDefaults;
+import com.arangodb.reactive.entity.GenerateBuilder;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * Passive outlier detection configuration. When {@link #getEnabled()}, hosts failing
+ * {@link #getConsecutiveErrors()} requests in a row, or timing out more than {@link #getTimeoutRate()} of the requests
+ * within {@link #getInterval()}, are ejected from the load balancing for {@link #getBaseEjectionTime()}, doubled at
+ * every further ejection up to {@link #getMaxEjectionTime()}. Afterwards a single probe request is sent to the host,
+ * readmitting it on success and ejecting it again on failure.
+ * <p>
+ * Only connection errors and timeouts are taken into account, error responses from the server are not.
+ *
+ * @author Michele Rastelli
+ * @see HostState#getCircuitState()
+ * @see ArangoCommunication#getHostEvents()
+ */
+@GenerateBuilder
+@SuppressWarnings("SameReturnValue")
+public interface OutlierDetectionConfig {
+
+    static OutlierDetectionConfigBuilder builder() {
+        return new OutlierDetectionConfigBuilder();
+    }
+
+    /**
+     * @return whether outlier detection is enabled
+     */
+    @Value.Default
+    default boolean getEnabled() {
+        return false;
+    }
+
+    /**
+     * @return number of consecutive failed requests after which a host is ejected
+     */
+    @Value.Default
+    default int getConsecutiveErrors() {
+        return ArangoDefaults.DEFAULT_OUTLIER_CONSECUTIVE_ERRORS;
+    }
+
+    /**
+     * @return ratio of timed out requests within {@link #getInterval()} above which a host is ejected, between 0 and 1
+     */
+    @Value.Default
+    default double getTimeoutRate() {
+        return ArangoDefaults.DEFAULT_OUTLIER_TIMEOUT_RATE;
+    }
+
+    /**
+     * @return min number of requests within {@link #getInterval()} to evaluate the {@link #getTimeoutRate()}
+     */
+    @Value.Default
+    default int getMinRequests() {
+        return ArangoDefaults.DEFAULT_OUTLIER_MIN_REQUESTS;
+    }
+
+    /**
+     * @return length of the time windows over which the timeout rate is computed
+     */
+    @Value.Default
+    default Duration getInterval() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_OUTLIER_INTERVAL);
+    }
+
+    /**
+     * @return ejection time of the first ejection
+     */
+    @Value.Default
+    default Duration getBaseEjectionTime() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_OUTLIER_BASE_EJECTION_TIME);
+    }
+
+    /**
+     * @return max ejection time, the ejection count of a host is reset once it has been available for this time
+     */
+    @Value.Default
+    default Duration getMaxEjectionTime() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_OUTLIER_MAX_EJECTION_TIME);
+    }
+
+    /**
+     * @return max percentage of the hosts which can be ejected at the same time, a single host is never ejected with
+     * the default value
+     */
+    @Value.Default
+    default int getMaxEjectionPercent() {
+        return ArangoDefaults.DEFAULT_OUTLIER_MAX_EJECTION_PERCENT;
+    }
+
+    @Value.Check
+    default void checkValid() {
+        if (getConsecutiveErrors() < 1) {
+            throw new IllegalStateException("consecutiveErrors must be greater than 0!");
+        }
+
+        if (getTimeoutRate() <= 0 || getTimeoutRate() > 1) {
+            throw new IllegalStateException("timeoutRate must be greater than 0 and not greater than 1!");
+        }
+
+        if (getInterval().isNegative() || getInterval().isZero()) {
+            throw new IllegalStateException("interval must be positive!");
+        }
+
+        if (getBaseEjectionTime().isNegative() || getBaseEjectionTime().compareTo(getMaxEjectionTime()) > 0) {
+            throw new IllegalStateException("baseEjectionTime must not be negative nor greater than maxEjectionTime!");
+        }
+
+        if (getMaxEjectionPercent() < 0 || getMaxEjectionPercent() > 100) {
+            throw new IllegalStateException("maxEjectionPercent must be between 0 and 100!");
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Passive outlier detection of the hosts of a connection pool, driving the {@link HostState.CircuitState} of every
+ * host from the outcome of the requests. State transitions are serialized by the lock of this object.
+ *
+ * @author Michele Rastelli
+ * @see OutlierDetectionConfig
+ */
+final class OutlierDetector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutlierDetector.class);
+    private static final int PERCENT = 100;
+
+    private final OutlierDetectionConfig config;
+    private final Supplier<HostState[]> hosts;
+    private final Runnable onStateChange;
+    private final long intervalNanos;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final Sinks.Many<HostEvent> events = Sinks.many().multicast().directBestEffort();
+    // whether there are ejected hosts and System.nanoTime() of the earliest end of their ejection
+    private volatile boolean ejectedHosts;
+    private volatile long nextHalfOpen;
+
+    /**
+     * @param outlierDetectionConfig configuration
+     * @param hostsSupplier          supplier of the current hosts of the pool
+     * @param stateChangeListener    invoked whenever hosts become selectable or not selectable
+     */
+    OutlierDetector(final OutlierDetectionConfig outlierDetectionConfig, final Supplier<HostState[]> hostsSupplier,
+                    final Runnable stateChangeListener) {
+        config = outlierDetectionConfig;
+        hosts = hostsSupplier;
+        onStateChange = stateChangeListener;
+        intervalNanos = outlierDetectionConfig.getInterval().toNanos();
+        baseEjectionNanos = outlierDetectionConfig.getBaseEjectionTime().toNanos();
+        maxEjectionNanos = outlierDetectionConfig.getMaxEjectionTime().toNanos();
+    }
+
+    private static boolean isTimeout(final Throwable t) {
+        return t instanceof TimeoutException
+                || t instanceof io.netty.handler.timeout.TimeoutException
+                || t.getCause() instanceof TimeoutException;
+    }
+
+    boolean isEnabled() {
+        return config.getEnabled();
+    }
+
+    Flux<HostEvent> getEvents() {
+        return events.asFlux();
+    }
+
+    synchronized void close() {
+        events.tryEmitComplete();
+    }
+
+    /**
+     * Half-opens the circuits of the hosts whose ejection time elapsed. Invoked before every host selection.
+     */
+    void checkEjectionTimes() {
+        if (ejectedHosts && System.nanoTime() - nextHalfOpen >= 0) {
+            halfOpenExpired();
+        }
+    }
+
+    void onSuccess(final HostState host) {
+        if (!isEnabled()) {
+            return;
+        }
+        host.onSuccess();
+        host.recordOutcome(false, System.nanoTime(), intervalNanos);
+        if (host.getCircuitState() == HostState.CircuitState.HALF_OPEN) {
+            readmit(host);
+        }
+    }
+
+    /**
+     * Records a failed request. Only connection errors and timeouts count as failures of the host, other errors, eg.
+     * requests rejected by an overloaded connection, are local to the client.
+     */
+    void onError(final HostState host, final Throwable t) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!isTimeout(t) && !CommunicationUtils.isConnectionError(t)) {
+            // the outcome of a probe failing locally is unknown
+            onProbeCancelled(host);
+            return;
+        }
+        final int errors = host.onError();
+        host.recordOutcome(isTimeout(t), System.nanoTime(), intervalNanos);
+        final HostState.CircuitState state = host.getCircuitState();
+        if (state == HostState.CircuitState.HALF_OPEN
+                || state == HostState.CircuitState.CLOSED
+                && (errors >= config.getConsecutiveErrors() || isTimeoutRateExceeded(host))) {
+            eject(host);
+        }
+    }
+
+    /**
+     * @param host host whose circuit is half-open
+     * @return {@code true} if the caller request is the probe, {@code false} if another probe is ongoing
+     */
+    boolean tryStartProbe(final HostState host) {
+        if (host.tryStartProbe()) {
+            LOGGER.debug("probing host: {}", host);
+            onStateChange.run();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Allows another probe request, after the ongoing one has been cancelled.
+     *
+     * @param host probed host
+     */
+    void onProbeCancelled(final HostState host) {
+        if (host.endProbe()) {
+            onStateChange.run();
+        }
+    }
+
+    private boolean isTimeoutRateExceeded(final HostState host) {
+        final int requests = host.getWindowRequests();
+        return requests >= config.getMinRequests() && host.getWindowTimeouts() >= config.getTimeoutRate() * requests;
+    }
+
+    private synchronized void eject(final HostState host) {
+        final long now = System.nanoTime();
+        final HostState.CircuitState state = host.getCircuitState();
+        int ejections = host.getEjections();
+        if (state == HostState.CircuitState.OPEN) {
+            return;
+        } else if (state == HostState.CircuitState.CLOSED) {
+            if (!canEject()) {
+                LOGGER.debug("not ejecting host {}, max ejection percent reached", host);
+                return;
+            }
+            if (now - host.getReadmittedAt() >= maxEjectionNanos) {
+                ejections = 0;
+            }
+        }
+        ejections++;
+        final long ejectionNanos = (long) Math.min(baseEjectionNanos * Math.pow(2, ejections - 1), maxEjectionNanos);
+        host.eject(now + ejectionNanos, ejections);
+        LOGGER.warn("Ejected host [{}] for {} ms", host.getHost(), ejectionNanos / 1_000_000);
+        events.tryEmitNext(HostEvent.of(host.getHost(), HostEvent.Type.EJECTED, ejections,
+                Duration.ofNanos(ejectionNanos)));
+        updateNextHalfOpen();
+        onStateChange.run();
+    }
+
+    private boolean canEject() {
+        final HostState[] snapshot = hosts.get();
+        int ejected = 0;
+        for (final HostState it : snapshot) {
+            if (it.getCircuitState() != HostState.CircuitState.CLOSED) {
+                ejected++;
+            }
+        }
+        return (ejected + 1) * PERCENT <= snapshot.length * config.getMaxEjectionPercent();
+    }
+
+    private synchronized void halfOpenExpired() {
+        final long now = System.nanoTime();
+        for (final HostState host : hosts.get()) {
+            if (host.getCircuitState() == HostState.CircuitState.OPEN && now - host.getEjectedUntil() >= 0) {
+                host.halfOpen();
+                LOGGER.debug("half-opened host: {}", host);
+                events.tryEmitNext(HostEvent.of(host.getHost(), HostEvent.Type.HALF_OPENED, host.getEjections(),
+                        null));
+            }
+        }
+        updateNextHalfOpen();
+        onStateChange.run();
+    }
+
+    private synchronized void readmit(final HostState host) {
+        if (host.getCircuitState() != HostState.CircuitState.HALF_OPEN) {
+            return;
+        }
+        host.readmit(System.nanoTime());
+        LOGGER.info("Readmitted host [{}]", host.getHost());
+        events.tryEmitNext(HostEvent.of(host.getHost(), HostEvent.Type.READMITTED, host.getEjections(), null));
+        onStateChange.run();
+    }
+
+    private void updateNextHalfOpen() {
+        boolean ejected = false;
+        long next = 0;
+        for (final HostState host : hosts.get()) {
+            if (host.getCircuitState() == HostState.CircuitState.OPEN
+                    && (!ejected || host.getEjectedUntil() - next < 0)) {
+                next = host.getEjectedUntil();
+                ejected = true;
+            }
+        }
+        nextHalfOpen = next;
+        ejectedHosts = ejected;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices: samples two distinct random hosts and selects the one with the lower cost, computed as the
+ * latency moving average ({@link HostState#getLatencyNanos()}) multiplied by the number of requests in flight plus
+ * one. Persistently slow hosts receive less traffic, without herding all the requests on the single best host.
+ *
+ * @author Michele Rastelli
+ */
+final class PowerOfTwoChoicesStrategy implements LoadBalancingStrategy {
+
+    static final PowerOfTwoChoicesStrategy INSTANCE = new PowerOfTwoChoicesStrategy();
+
+    private PowerOfTwoChoicesStrategy() {
+    }
+
+    private static double cost(final HostState host) {
+        // +1 so that hosts without latency samples are still ranked by in-flight requests
+        return (host.getLatencyNanos() + 1.0) * (host.getInFlightRequests() + 1);
+    }
+
+    @Override
+    public HostState select(final HostState[] hosts) {
+        final int size = hosts.length;
+        if (size == 1) {
+            return hosts[0];
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        final HostState a = hosts[first];
+        final HostState b = hosts[second];
+        return cost(a) <= cost(b) ? a : b;
+    }
+
+    @Override
+    public String toString() {
+        return "PowerOfTwoChoicesStrategy";
+    }
+
+}
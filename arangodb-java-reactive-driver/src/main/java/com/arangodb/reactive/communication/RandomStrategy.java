@@ -18,28 +18,29 @@
  * Copyright holder is ArangoDB GmbH, Cologne, Germany
  */
 
-package com.arangodb.reactive.connection;
+package com.arangodb.reactive.communication;
 
 
-import com.arangodb.velocypack.VPackSlice;
-import io.netty.buffer.ByteBuf;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @author Michele Rastelli
  */
-final class VPackUtils {
+final class RandomStrategy implements LoadBalancingStrategy {
 
-    private VPackUtils() {
+    static final RandomStrategy INSTANCE = new RandomStrategy();
+
+    private RandomStrategy() {
+    }
+
+    @Override
+    public HostState select(final HostState[] hosts) {
+        return hosts[ThreadLocalRandom.current().nextInt(hosts.length)];
     }
 
-    /**
-     * @param slice input
-     * @return a ByteBuf from VPackSlice buffer, truncating final null bytes
-     */
-    public static ByteBuf extractBuffer(final VPackSlice slice) {
-        int size = slice.getByteSize();
-        ByteBuf buffer = IOUtils.createBuffer(size, size);
-        buffer.writeBytes(slice.getBuffer(), 0, size);
-        return buffer;
+    @Override
+    public String toString() {
+        return "RandomStrategy";
     }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget of additional requests, eg. hedges or retries, capping them at a percentage of the requests. Every request
+ * deposits credits, every additional request withdraws them. Unused credits are accumulated up to
+ * {@link #MAX_BURST} additional requests.
+ *
+ * @author Michele Rastelli
+ */
+final class RequestBudget {
+
+    /**
+     * max number of additional requests which can be performed in a burst
+     */
+    static final int MAX_BURST = 10;
+
+    private static final long REQUEST_COST = 100;
+
+    private final long deposit;
+    private final long maxCredits;
+    private final AtomicLong credits = new AtomicLong();
+
+    /**
+     * @param percent max number of additional requests, as percentage of the requests
+     */
+    RequestBudget(final int percent) {
+        deposit = percent;
+        maxCredits = MAX_BURST * REQUEST_COST;
+    }
+
+    void onRequest() {
+        if (credits.get() < maxCredits) {
+            credits.accumulateAndGet(deposit, (current, d) -> Math.min(current + d, maxCredits));
+        }
+    }
+
+    /**
+     * @return {@code true} if an additional request can be performed
+     */
+    boolean tryAcquire() {
+        long current = credits.get();
+        while (current >= REQUEST_COST) {
+            if (credits.compareAndSet(current, current - REQUEST_COST)) {
+                return true;
+            }
+            current = credits.get();
+        }
+        return false;
+    }
+
+}
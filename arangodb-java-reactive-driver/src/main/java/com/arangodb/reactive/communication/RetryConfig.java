@@ -0,0 +1,121 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.ArangoDefaults;
+import com.arangodb.reactive.entity.GenerateBuilder;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * Retry configuration for idempotent requests. When {@link #getEnabled()}, requests failing at connection level, eg.
+ * because the connection has been closed or refused, are sent again to a different host, or to a different
+ * connection if there are no other hosts, up to {@link #getMaxAttempts()} times. Server errors and timeouts are never
+ * retried. Retries are performed within {@link CommunicationConfig#getTimeout()}.
+ * <p>
+ * The delay before every retry grows exponentially from {@link #getInitialBackoff()} up to {@link #getMaxBackoff()},
+ * reduced by a random factor up to {@link #getJitter()}, so that clients failing together do not retry together.
+ * The number of retries is capped by {@link #getBudgetPercent()}, so that retries cannot amplify an outage.
+ * <p>
+ * GET and HEAD requests are always retried, PUT and DELETE requests only if {@link
+ * com.arangodb.reactive.connection.ArangoRequest#getIdempotent()}. Requests within a {@link Conversation}, requests
+ * with streamed body and hedged requests are never retried.
+ *
+ * @author Michele Rastelli
+ */
+@GenerateBuilder
+@SuppressWarnings("SameReturnValue")
+public interface RetryConfig {
+
+    static RetryConfigBuilder builder() {
+        return new RetryConfigBuilder();
+    }
+
+    /**
+     * @return whether retries are enabled
+     */
+    @Value.Default
+    default boolean getEnabled() {
+        return false;
+    }
+
+    /**
+     * @return max number of attempts for every request, including the first one
+     */
+    @Value.Default
+    default int getMaxAttempts() {
+        return ArangoDefaults.DEFAULT_RETRY_MAX_ATTEMPTS;
+    }
+
+    /**
+     * @return delay before the first retry, doubled at every further retry
+     */
+    @Value.Default
+    default Duration getInitialBackoff() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_RETRY_INITIAL_BACKOFF);
+    }
+
+    /**
+     * @return max delay before a retry
+     */
+    @Value.Default
+    default Duration getMaxBackoff() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_RETRY_MAX_BACKOFF);
+    }
+
+    /**
+     * @return max fraction of the delay randomly subtracted from it, between 0 and 1
+     */
+    @Value.Default
+    default double getJitter() {
+        return ArangoDefaults.DEFAULT_RETRY_JITTER;
+    }
+
+    /**
+     * @return max number of retries, as percentage of the retryable requests
+     */
+    @Value.Default
+    default int getBudgetPercent() {
+        return ArangoDefaults.DEFAULT_RETRY_BUDGET_PERCENT;
+    }
+
+    @Value.Check
+    default void checkValid() {
+        if (getMaxAttempts() < 1) {
+            throw new IllegalStateException("maxAttempts must be greater than 0!");
+        }
+
+        if (getInitialBackoff().isNegative() || getInitialBackoff().compareTo(getMaxBackoff()) > 0) {
+            throw new IllegalStateException("initialBackoff must not be negative and not greater than maxBackoff!");
+        }
+
+        if (getJitter() < 0 || getJitter() > 1) {
+            throw new IllegalStateException("jitter must be between 0 and 1!");
+        }
+
+        if (getBudgetPercent() < 0 || getBudgetPercent() > 100) {
+            throw new IllegalStateException("budgetPercent must be between 0 and 100!");
+        }
+    }
+
+}
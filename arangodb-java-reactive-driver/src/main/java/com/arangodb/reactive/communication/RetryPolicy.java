@@ -0,0 +1,119 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Michele Rastelli
+ * @see RetryConfig
+ */
+final class RetryPolicy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final RetryConfig config;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final RequestBudget budget;
+
+    RetryPolicy(final RetryConfig retryConfig) {
+        config = retryConfig;
+        initialBackoffNanos = retryConfig.getInitialBackoff().toNanos();
+        maxBackoffNanos = retryConfig.getMaxBackoff().toNanos();
+        budget = new RequestBudget(retryConfig.getBudgetPercent());
+    }
+
+    private static boolean isIdempotent(final ArangoRequest request) {
+        switch (request.getRequestType()) {
+            case GET:
+            case HEAD:
+                return true;
+            case PUT:
+            case DELETE:
+                return request.getIdempotent();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param e error
+     * @return whether the request failed at connection level, or was rejected by an overloaded connection before
+     * being sent
+     */
+    private static boolean isRetryableError(final Throwable e) {
+        return e instanceof ArangoConnectionOverloadedException || CommunicationUtils.isConnectionError(e);
+    }
+
+    /**
+     * @param request request
+     * @return whether the request can be retried
+     */
+    boolean isRetryable(final ArangoRequest request) {
+        return config.getEnabled() && config.getMaxAttempts() > 1 && isIdempotent(request);
+    }
+
+    /**
+     * Records a retryable request, increasing the retry budget.
+     */
+    void onRequest() {
+        budget.onRequest();
+    }
+
+    /**
+     * @param e       error of the failed attempt
+     * @param attempt number of the failed attempt, starting from 1
+     * @return {@code true} if the request should be retried, withdrawing from the retry budget
+     */
+    boolean shouldRetry(final Throwable e, final int attempt) {
+        if (attempt >= config.getMaxAttempts() || !isRetryableError(e)) {
+            return false;
+        }
+        if (!budget.tryAcquire()) {
+            LOGGER.debug("retry budget exhausted");
+            return false;
+        }
+        LOGGER.debug("retrying after attempt {} failed: {}: {}", attempt, e.getClass().getName(), e.getMessage());
+        return true;
+    }
+
+    /**
+     * @param attempt number of the failed attempt, starting from 1
+     * @return the delay before the next attempt
+     */
+    Duration getBackoff(final int attempt) {
+        final int shift = Math.min(attempt - 1, Long.SIZE - 2);
+        final long backoff = initialBackoffNanos > maxBackoffNanos >> shift
+                ? maxBackoffNanos
+                : initialBackoffNanos << shift;
+        final double jitter = config.getJitter() * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofNanos((long) (backoff * (1 - jitter)));
+    }
+
+}
@@ -21,9 +21,14 @@
 package com.arangodb.reactive.connection;
 
 import com.arangodb.reactive.ArangoDefaults;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.ReferenceCounted;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.Optional;
 
 
@@ -32,9 +37,33 @@ import java.util.Optional;
  */
 public abstract class ArangoConnection {
 
+    /**
+     * Content length of streamed request bodies whose size is not known in advance
+     *
+     * @see #executeBuffered(ArangoRequest, Flux, long)
+     */
+    public static final long UNKNOWN_CONTENT_LENGTH = -1;
+
+    private static final ArangoRequest PING_REQUEST = ArangoRequest.builder()
+            .database(ArangoDefaults.SYSTEM_DB)
+            .path("/_api/version")
+            .requestType(ArangoRequest.RequestType.GET)
+            .build();
+
+    private static final ArangoRequest AVAILABILITY_REQUEST = ArangoRequest.builder()
+            .database(ArangoDefaults.SYSTEM_DB)
+            .path("/_admin/server/availability")
+            .requestType(ArangoRequest.RequestType.GET)
+            .build();
+
     @Nullable
     private final AuthenticationMethod authentication;
     private final ArangoRequest userRequest;
+    // System.nanoTime() of the last request sent and of the last data received
+    private volatile long lastWrite;
+    private volatile long lastRead;
+    // System.nanoTime() of the first request sent after the last data received
+    private volatile long oldestUnansweredWrite;
 
     protected ArangoConnection(@Nullable final AuthenticationMethod authenticationMethod) {
         authentication = authenticationMethod;
@@ -43,6 +72,9 @@ public abstract class ArangoConnection {
                 .path("/_api/user/" + getAuthentication().map(AuthenticationMethod::getUser).orElse("root"))
                 .requestType(ArangoRequest.RequestType.GET)
                 .build();
+        lastRead = System.nanoTime();
+        lastWrite = lastRead;
+        oldestUnansweredWrite = lastRead;
     }
 
     protected final Optional<AuthenticationMethod> getAuthentication() {
@@ -64,6 +96,58 @@ public abstract class ArangoConnection {
      */
     public abstract Mono<ArangoResponse> execute(ArangoRequest request);
 
+    /**
+     * Performs a request, returning a response backed by a reference counted buffer, which must be released by the
+     * caller. Implementations able to avoid copying the received data should override this method, the default
+     * implementation wraps the body of the response returned by {@link #execute(ArangoRequest)}.
+     *
+     * @param request to send
+     * @return response from the server
+     * @see BufferedArangoResponse#release()
+     */
+    public Mono<BufferedArangoResponse> executeBuffered(final ArangoRequest request) {
+        return execute(request).map(BufferedArangoResponse::of);
+    }
+
+    /**
+     * Performs a request whose body is streamed from the provided publisher, so that it does not need to be
+     * materialized in memory before sending it. The body of the request ({@link ArangoRequest#getBody()}) is ignored.
+     * The publisher is subscribed once, thus the request cannot be transparently resent. The default implementation
+     * aggregates the streamed body and performs the request with {@link #executeBuffered(ArangoRequest)}.
+     *
+     * @param request       request to send
+     * @param body          body of the request, the buffers are released once written
+     * @param contentLength length of the body (bytes), or {@link #UNKNOWN_CONTENT_LENGTH}
+     * @return response from the server, backed by a reference counted buffer which must be released by the caller
+     */
+    public Mono<BufferedArangoResponse> executeBuffered(final ArangoRequest request, final Flux<ByteBuf> body,
+                                                        final long contentLength) {
+        return body
+                .collect(IOUtils::createCompositeBuffer,
+                        (CompositeByteBuf composite, ByteBuf buf) -> composite.addComponent(true, buf))
+                .map(composite -> {
+                    try {
+                        return IOUtils.getByteArray(composite);
+                    } finally {
+                        composite.release();
+                    }
+                })
+                .doOnDiscard(ByteBuf.class, ReferenceCounted::release)
+                .flatMap(bytes -> executeBuffered(ArangoRequest.builder().from(request).body(bytes).build()));
+    }
+
+    /**
+     * Performs a request, returning the response as soon as its head is received, while the body is streamed as it
+     * arrives. The default implementation wraps the response returned by {@link #executeBuffered(ArangoRequest)}.
+     *
+     * @param request to send
+     * @return response from the server
+     * @see StreamingArangoResponse
+     */
+    public Mono<StreamingArangoResponse> executeStreaming(final ArangoRequest request) {
+        return executeBuffered(request).map(StreamingArangoResponse::of);
+    }
+
     /**
      * @return whether the connection is open or closed
      */
@@ -74,6 +158,24 @@ public abstract class ArangoConnection {
      */
     public abstract Mono<Void> close();
 
+    /**
+     * Implementations able to track their in-flight requests should override this method, the default implementation
+     * returns {@code 0}, so that the connection is always considered idle.
+     *
+     * @return number of requests currently waiting for a response, eg. the active streams of an HTTP/2 connection
+     */
+    public int getActiveRequests() {
+        return 0;
+    }
+
+    /**
+     * @return compression counters of this connection, if it supports compression
+     * @see ConnectionConfig#getCompression()
+     */
+    public Optional<CompressionMetrics> getCompressionMetrics() {
+        return Optional.empty();
+    }
+
     /**
      * Executes a request to /_api/user/{username}
      *
@@ -83,4 +185,59 @@ public abstract class ArangoConnection {
         return execute(userRequest);
     }
 
+    /**
+     * Executes a request to /_api/version, used to check whether an idle connection is still alive
+     *
+     * @return server response
+     */
+    public final Mono<ArangoResponse> ping() {
+        return execute(PING_REQUEST);
+    }
+
+    /**
+     * Executes a request to /_admin/server/availability, which responds with code 200 if the server is usable for
+     * arbitrary operations, eg. it is the leader in an active failover deployment, and 503 otherwise
+     *
+     * @return server response
+     */
+    public Mono<ArangoResponse> requestAvailability() {
+        return execute(AVAILABILITY_REQUEST);
+    }
+
+    /**
+     * Records that a request has been sent.
+     */
+    protected final void onWrite() {
+        final long now = System.nanoTime();
+        if (lastWrite - lastRead <= 0) {
+            oldestUnansweredWrite = now;
+        }
+        lastWrite = now;
+    }
+
+    /**
+     * Records that data has been received.
+     */
+    protected final void onRead() {
+        lastRead = System.nanoTime();
+    }
+
+    /**
+     * Passive liveness check, based on the timestamps recorded by {@link #onWrite()} and {@link #onRead()}.
+     *
+     * @param idleThreshold  max time since the last received data
+     * @param requestTimeout max time a request can wait for data to be received
+     * @return {@code true} if data has been received within {@code idleThreshold} and no request has been waiting
+     * for data longer than {@code requestTimeout}, {@code false} if the connection should be actively checked. A
+     * connection which keeps sending requests without receiving any data is checked once the first of them has been
+     * waiting longer than {@code requestTimeout}.
+     */
+    protected final boolean isRecentlyActive(final Duration idleThreshold, final Duration requestTimeout) {
+        final long now = System.nanoTime();
+        final long read = lastRead;
+        final long write = lastWrite;
+        final boolean stalled = write - read > 0 && now - oldestUnansweredWrite >= requestTimeout.toNanos();
+        return !stalled && now - read < idleThreshold.toNanos();
+    }
+
 }
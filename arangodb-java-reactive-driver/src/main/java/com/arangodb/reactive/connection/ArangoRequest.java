@@ -63,6 +63,32 @@ public interface ArangoRequest {
         return new byte[0];
     }
 
+    /**
+     * @return whether the request can be safely sent more than once, eg. retried after a connection failure. It is
+     * considered for PUT and DELETE requests only, GET and HEAD requests are always idempotent.
+     * @see com.arangodb.reactive.communication.RetryConfig
+     */
+    @Value.Default
+    default boolean getIdempotent() {
+        return false;
+    }
+
+    /**
+     * @return the template this request has been created from, if any
+     * @see RequestTemplate#builder(RequestType)
+     */
+    @Value.Auxiliary
+    Optional<RequestTemplate> getTemplate();
+
+    /**
+     * @return the template this request has been created from, if its database and path are still matching it
+     */
+    @Value.Derived
+    @Value.Auxiliary
+    default Optional<RequestTemplate> getMatchingTemplate() {
+        return getTemplate().filter(it -> it.matches(this));
+    }
+
 
     enum RequestType {
         DELETE(0),
@@ -21,8 +21,6 @@
 package com.arangodb.reactive.connection;
 
 import com.arangodb.reactive.entity.GeneratePackagePrivateBuilder;
-import com.arangodb.velocypack.VPackBuilder;
-import com.arangodb.velocypack.ValueType;
 import io.netty.buffer.ByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -51,6 +49,9 @@ public interface AuthenticationMethod {
 
     String getHttpAuthorizationHeader();
 
+    /**
+     * @return a new buffer containing the VelocyStream authentication message, which must be released by the caller
+     */
     ByteBuf getVstAuthenticationMessage();
 
     /**
@@ -68,14 +69,7 @@ public interface AuthenticationMethod {
 
         @Override
         public ByteBuf getVstAuthenticationMessage() {
-            final VPackBuilder builder = new VPackBuilder();
-            builder.add(ValueType.ARRAY);
-            builder.add(1);
-            builder.add(1000);
-            builder.add("jwt");
-            builder.add(getJwt());
-            builder.close();
-            return VPackUtils.extractBuffer(builder.slice());
+            return VstAuthenticationMessageWriter.write("jwt", getJwt());
         }
 
     }
@@ -94,15 +88,7 @@ public interface AuthenticationMethod {
 
         @Override
         public ByteBuf getVstAuthenticationMessage() {
-            final VPackBuilder builder = new VPackBuilder();
-            builder.add(ValueType.ARRAY);
-            builder.add(1);
-            builder.add(1000);
-            builder.add("plain");
-            builder.add(getUser());
-            builder.add(getPassword());
-            builder.close();
-            return VPackUtils.extractBuffer(builder.slice());
+            return VstAuthenticationMessageWriter.write("plain", getUser(), getPassword());
         }
 
     }
@@ -0,0 +1,204 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link ArangoResponse} whose body is backed by a reference counted {@link ByteBuf}, eg. a retained slice of the
+ * buffer received from the network. The body is not copied until {@link #getBody()} is invoked.
+ * <p>
+ * Instances must be released once consumed, see {@link #release()} and {@link #copyAndRelease()}.
+ *
+ * @author Michele Rastelli
+ */
+public final class BufferedArangoResponse extends DefaultByteBufHolder implements ArangoResponse {
+
+    private final int version;
+    private final int type;
+    private final int responseCode;
+    private final Map<String, String> meta;
+
+    /**
+     * @param responseVersion response version
+     * @param responseType    response type
+     * @param code            response code
+     * @param responseMeta    response meta, it will be used without copying it
+     * @param body            response body, the ownership of it is transferred to the created object
+     */
+    public BufferedArangoResponse(final int responseVersion,
+                                  final int responseType,
+                                  final int code,
+                                  final Map<String, String> responseMeta,
+                                  final ByteBuf body) {
+        super(body);
+        version = responseVersion;
+        type = responseType;
+        responseCode = code;
+        meta = Collections.unmodifiableMap(responseMeta);
+    }
+
+    /**
+     * @param response heap response
+     * @return a {@link BufferedArangoResponse} wrapping the body of the provided response
+     */
+    public static BufferedArangoResponse of(final ArangoResponse response) {
+        return new BufferedArangoResponse(
+                response.getVersion(),
+                response.getType(),
+                response.getResponseCode(),
+                new HashMap<>(response.getMeta()),
+                Unpooled.wrappedBuffer(response.getBody())
+        );
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getType() {
+        return type;
+    }
+
+    @Override
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    @Override
+    public Map<String, String> getMeta() {
+        return meta;
+    }
+
+    /**
+     * @return a copy of the readable bytes of the body, without modifying its reader index
+     */
+    @Override
+    public byte[] getBody() {
+        return ByteBufUtil.getBytes(content());
+    }
+
+    /**
+     * Copies this response to an heap {@link ArangoResponse} and releases the body buffer.
+     *
+     * @return the heap copy of this response
+     */
+    public ArangoResponse copyAndRelease() {
+        try {
+            return ArangoResponse.builder()
+                    .version(version)
+                    .type(type)
+                    .responseCode(responseCode)
+                    .putAllMeta(meta)
+                    .body(getBody())
+                    .build();
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public BufferedArangoResponse copy() {
+        return replace(content().copy());
+    }
+
+    @Override
+    public BufferedArangoResponse duplicate() {
+        return replace(content().duplicate());
+    }
+
+    @Override
+    public BufferedArangoResponse retainedDuplicate() {
+        return replace(content().retainedDuplicate());
+    }
+
+    @Override
+    public BufferedArangoResponse replace(final ByteBuf content) {
+        return new BufferedArangoResponse(version, type, responseCode, meta, content);
+    }
+
+    @Override
+    public BufferedArangoResponse retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public BufferedArangoResponse retain(final int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public BufferedArangoResponse touch() {
+        super.touch();
+        return this;
+    }
+
+    @Override
+    public BufferedArangoResponse touch(final Object hint) {
+        super.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BufferedArangoResponse)) {
+            return false;
+        }
+        BufferedArangoResponse that = (BufferedArangoResponse) o;
+        return version == that.version
+                && type == that.type
+                && responseCode == that.responseCode
+                && meta.equals(that.meta)
+                && super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), version, type, responseCode, meta);
+    }
+
+    @Override
+    public String toString() {
+        return "BufferedArangoResponse{"
+                + "version=" + version
+                + ", type=" + type
+                + ", responseCode=" + responseCode
+                + ", meta=" + meta
+                + ", body=" + content()
+                + "}";
+    }
+
+}
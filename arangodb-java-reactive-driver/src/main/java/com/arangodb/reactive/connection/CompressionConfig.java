@@ -0,0 +1,114 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+
+import com.arangodb.reactive.ArangoDefaults;
+import com.arangodb.reactive.entity.GenerateBuilder;
+import org.immutables.value.Value;
+
+/**
+ * Compression configuration, used by HttpConnection only. When a {@link #getType()} other than
+ * {@link CompressionType#NONE} is set, request bodies of at least {@link #getThreshold()} bytes are compressed and the
+ * server is allowed to compress the responses, which are transparently decompressed.
+ *
+ * @author Michele Rastelli
+ */
+@GenerateBuilder
+@SuppressWarnings("SameReturnValue")
+public interface CompressionConfig {
+
+    /**
+     * Min compression level, no compression
+     */
+    int MIN_LEVEL = 0;
+
+    /**
+     * Max compression level, best compression
+     */
+    int MAX_LEVEL = 9;
+
+    static CompressionConfigBuilder builder() {
+        return new CompressionConfigBuilder();
+    }
+
+    /**
+     * @return content-coding of the compressed request bodies
+     */
+    @Value.Default
+    default CompressionType getType() {
+        return CompressionType.NONE;
+    }
+
+    /**
+     * @return min size (bytes) of the request bodies to compress, smaller bodies are sent uncompressed
+     */
+    @Value.Default
+    default int getThreshold() {
+        return ArangoDefaults.DEFAULT_COMPRESSION_THRESHOLD;
+    }
+
+    /**
+     * @return compression level, between {@link #MIN_LEVEL} and {@link #MAX_LEVEL}
+     */
+    @Value.Default
+    default int getLevel() {
+        return ArangoDefaults.DEFAULT_COMPRESSION_LEVEL;
+    }
+
+    /**
+     * @return min size (bytes) of the request bodies which are compressed on a worker thread, instead of the thread
+     * subscribing to the request
+     */
+    @Value.Default
+    default int getOffloadThreshold() {
+        return ArangoDefaults.DEFAULT_COMPRESSION_OFFLOAD_THRESHOLD;
+    }
+
+    /**
+     * @return max size (bytes) of a decompressed response body, larger responses fail with an {@link
+     * java.io.IOException}
+     */
+    @Value.Default
+    default int getMaxDecompressedSize() {
+        return ArangoDefaults.DEFAULT_MAX_DECOMPRESSED_SIZE;
+    }
+
+    @Value.Check
+    default void checkValid() {
+        if (getThreshold() < 0) {
+            throw new IllegalStateException("threshold must not be negative!");
+        }
+
+        if (getLevel() < MIN_LEVEL || getLevel() > MAX_LEVEL) {
+            throw new IllegalStateException("level must be between " + MIN_LEVEL + " and " + MAX_LEVEL + "!");
+        }
+
+        if (getOffloadThreshold() < 0) {
+            throw new IllegalStateException("offloadThreshold must not be negative!");
+        }
+
+        if (getMaxDecompressedSize() < 1) {
+            throw new IllegalStateException("maxDecompressedSize must be greater than 0!");
+        }
+    }
+
+}
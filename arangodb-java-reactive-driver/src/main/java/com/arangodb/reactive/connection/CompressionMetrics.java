@@ -0,0 +1,137 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the compressed request and response bodies of a connection. The ratios are computed as uncompressed
+ * size divided by compressed size, eg. {@code 4.0} means that the compressed bodies were 4 times smaller, and are
+ * {@code 1.0} as long as nothing has been compressed.
+ *
+ * @author Michele Rastelli
+ * @see CompressionConfig
+ */
+public final class CompressionMetrics {
+
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder compressedRequestBytes = new LongAdder();
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder compressedResponseBytes = new LongAdder();
+
+    private static double ratio(final long uncompressed, final long compressed) {
+        return compressed == 0 ? 1.0 : (double) uncompressed / compressed;
+    }
+
+    /**
+     * Records a compressed request body.
+     *
+     * @param uncompressedSize size before the compression (bytes)
+     * @param compressedSize   size sent on the wire (bytes)
+     */
+    public void recordRequest(final long uncompressedSize, final long compressedSize) {
+        compressedRequests.increment();
+        requestBytes.add(uncompressedSize);
+        compressedRequestBytes.add(compressedSize);
+    }
+
+    /**
+     * Records a compressed response body.
+     *
+     * @param uncompressedSize size after the decompression (bytes)
+     * @param compressedSize   size received from the wire (bytes)
+     */
+    public void recordResponse(final long uncompressedSize, final long compressedSize) {
+        compressedResponses.increment();
+        responseBytes.add(uncompressedSize);
+        compressedResponseBytes.add(compressedSize);
+    }
+
+    /**
+     * @return number of compressed request bodies sent
+     */
+    public long getCompressedRequests() {
+        return compressedRequests.sum();
+    }
+
+    /**
+     * @return uncompressed size of the compressed request bodies (bytes)
+     */
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    /**
+     * @return compressed size of the compressed request bodies (bytes)
+     */
+    public long getCompressedRequestBytes() {
+        return compressedRequestBytes.sum();
+    }
+
+    /**
+     * @return compression ratio of the request bodies
+     */
+    public double getRequestRatio() {
+        return ratio(getRequestBytes(), getCompressedRequestBytes());
+    }
+
+    /**
+     * @return number of compressed response bodies received
+     */
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    /**
+     * @return uncompressed size of the compressed response bodies (bytes)
+     */
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    /**
+     * @return compressed size of the compressed response bodies (bytes)
+     */
+    public long getCompressedResponseBytes() {
+        return compressedResponseBytes.sum();
+    }
+
+    /**
+     * @return compression ratio of the response bodies
+     */
+    public double getResponseRatio() {
+        return ratio(getResponseBytes(), getCompressedResponseBytes());
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionMetrics{"
+                + "compressedRequests=" + getCompressedRequests()
+                + ", requestRatio=" + getRequestRatio()
+                + ", compressedResponses=" + getCompressedResponses()
+                + ", responseRatio=" + getResponseRatio()
+                + '}';
+    }
+
+}
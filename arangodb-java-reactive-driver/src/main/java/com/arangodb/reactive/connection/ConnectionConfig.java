@@ -41,7 +41,8 @@ public interface ConnectionConfig {
     }
 
     /**
-     * @return max number of connections, used by HttpConnection only
+     * @return max number of connections, used by Http11Connection only. HTTP/2 connections multiplex the requests on a
+     * single TCP connection, see {@link #getHttp2()}.
      */
     @Value.Default
     default int getMaxConnections() {
@@ -74,6 +75,16 @@ public interface ConnectionConfig {
         return Duration.ofMillis(ArangoDefaults.DEFAULT_TIMEOUT);
     }
 
+    /**
+     * @return time since the last received data after which {@link ArangoConnection#isConnected()} actively checks
+     * the connection with a lightweight request, connections active more recently are considered connected as long as
+     * the underlying channel is open and no request is waiting for a response longer than {@link #getTimeout()}
+     */
+    @Value.Default
+    default Duration getPingIdleThreshold() {
+        return Duration.ofMillis(ArangoDefaults.DEFAULT_PING_IDLE_THRESHOLD);
+    }
+
     /**
      * @return the {@link Duration} after which the channel will be closed
      */
@@ -90,6 +101,70 @@ public interface ConnectionConfig {
         return ArangoDefaults.CHUNK_DEFAULT_CONTENT_SIZE;
     }
 
+    /**
+     * @return whether the VelocyStream chunk content-size should be tuned according to the observed message sizes and
+     * write latency, within {@link #getMinChunkSize()} and {@link #getMaxChunkSize()}, starting from
+     * {@link #getChunkSize()}. Used by VstConnection only.
+     */
+    @Value.Default
+    default boolean getAdaptiveChunkSize() {
+        return false;
+    }
+
+    /**
+     * @return min VelocyStream chunk content-size (bytes) when {@link #getAdaptiveChunkSize()} is enabled
+     */
+    @Value.Default
+    default int getMinChunkSize() {
+        return ArangoDefaults.CHUNK_MIN_CONTENT_SIZE;
+    }
+
+    /**
+     * @return max VelocyStream chunk content-size (bytes) when {@link #getAdaptiveChunkSize()} is enabled
+     */
+    @Value.Default
+    default int getMaxChunkSize() {
+        return ArangoDefaults.CHUNK_MAX_CONTENT_SIZE;
+    }
+
+    /**
+     * @return max number of bytes written into the channel before flushing, used by VstConnection only. Messages are
+     * written in batches and flushed at least once per event loop task.
+     */
+    @Value.Default
+    default int getFlushThresholdBytes() {
+        return ArangoDefaults.DEFAULT_FLUSH_THRESHOLD_BYTES;
+    }
+
+    /**
+     * @return max number of VelocyStream chunks written into the channel before flushing, a message consists of one
+     * or more chunks, used by VstConnection only. Setting it to {@code 1} flushes every chunk individually.
+     */
+    @Value.Default
+    default int getFlushThresholdChunks() {
+        return ArangoDefaults.DEFAULT_FLUSH_THRESHOLD_CHUNKS;
+    }
+
+    /**
+     * @return max number of requests in flight per connection, further requests are rejected with
+     * {@link com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException}, used by VstConnection
+     * only
+     */
+    @Value.Default
+    default int getMaxInFlightRequests() {
+        return ArangoDefaults.DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+    }
+
+    /**
+     * @return whether requests should be dispatched concurrently from the caller threads, without switching to the
+     * connection scheduler. In this case the responses are delivered in the channel event loop, thus downstream
+     * operators must not block. Used by VstConnection only.
+     */
+    @Value.Default
+    default boolean getConcurrentDispatch() {
+        return false;
+    }
+
     /**
      * @return whether the connection should resend the received cookies and honour the related maxAge, used by
      * HttpConnection only
@@ -99,4 +174,39 @@ public interface ConnectionConfig {
         return true;
     }
 
+    /**
+     * @return transport configuration, eg. native transport and socket options
+     */
+    @Value.Default
+    default TransportConfig getTransport() {
+        return TransportConfig.builder().build();
+    }
+
+    /**
+     * @return HTTP/2 configuration, used by Http2Connection only
+     */
+    @Value.Default
+    default Http2Config getHttp2() {
+        return Http2Config.builder().build();
+    }
+
+    /**
+     * @return request and response body compression configuration, used by HttpConnection only
+     */
+    @Value.Default
+    default CompressionConfig getCompression() {
+        return CompressionConfig.builder().build();
+    }
+
+    @Value.Check
+    default void checkValid() {
+        if (getChunkSize() < 1) {
+            throw new IllegalStateException("chunkSize must be greater than 0!");
+        }
+
+        if (getAdaptiveChunkSize() && (getMinChunkSize() < 1 || getMinChunkSize() > getMaxChunkSize())) {
+            throw new IllegalStateException("minChunkSize must be greater than 0 and not greater than maxChunkSize!");
+        }
+    }
+
 }
@@ -21,6 +21,9 @@
 package com.arangodb.reactive.connection;
 
 import com.arangodb.reactive.ArangoDefaults;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import reactor.netty.transport.Transport;
 
 /**
  * @author Michele Rastelli
@@ -36,4 +39,29 @@ public final class ConnectionUtils {
     private ConnectionUtils() {
     }
 
+    /**
+     * Applies the transport configuration to a client, keeping its default loop resources.
+     *
+     * @param client          client to configure
+     * @param transportConfig transport configuration
+     * @param <T>             client type
+     * @return the configured client
+     */
+    public static <T extends Transport<T, ?>> T applyTransportConfig(final T client,
+                                                                    final TransportConfig transportConfig) {
+        T configured = client
+                .runOn(client.configuration().loopResources(), transportConfig.getNativeTransport())
+                .option(ChannelOption.TCP_NODELAY, transportConfig.getTcpNoDelay())
+                .option(ChannelOption.SO_KEEPALIVE, transportConfig.getKeepAlive())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                        transportConfig.getWriteBufferLowWaterMark(), transportConfig.getWriteBufferHighWaterMark()));
+        if (transportConfig.getSendBufferSize().isPresent()) {
+            configured = configured.option(ChannelOption.SO_SNDBUF, transportConfig.getSendBufferSize().getAsInt());
+        }
+        if (transportConfig.getReceiveBufferSize().isPresent()) {
+            configured = configured.option(ChannelOption.SO_RCVBUF, transportConfig.getReceiveBufferSize().getAsInt());
+        }
+        return configured;
+    }
+
 }
@@ -0,0 +1,113 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+
+import com.arangodb.reactive.ArangoDefaults;
+import com.arangodb.reactive.entity.GenerateBuilder;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * HTTP/2 specific configuration, used by Http2Connection only. Every HTTP/2 connection uses a single TCP connection,
+ * multiplexing the concurrent requests as streams.
+ *
+ * @author Michele Rastelli
+ */
+@GenerateBuilder
+@SuppressWarnings("SameReturnValue")
+public interface Http2Config {
+
+    /**
+     * Min value of {@code SETTINGS_MAX_FRAME_SIZE}, defined by RFC 7540
+     */
+    int MIN_FRAME_SIZE = 16_384;
+
+    /**
+     * Max value of {@code SETTINGS_MAX_FRAME_SIZE}, defined by RFC 7540
+     */
+    int MAX_FRAME_SIZE = 16_777_215;
+
+    static Http2ConfigBuilder builder() {
+        return new Http2ConfigBuilder();
+    }
+
+    /**
+     * @return max number of concurrent streams (requests waiting for a response) per connection, further requests are
+     * rejected with {@link com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException}. The
+     * concurrent streams are also limited by the {@code SETTINGS_MAX_CONCURRENT_STREAMS} received from the server.
+     */
+    @Value.Default
+    default int getMaxConcurrentStreams() {
+        return ArangoDefaults.DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS;
+    }
+
+    /**
+     * @return initial flow-control window size of every stream (bytes), sent as {@code SETTINGS_INITIAL_WINDOW_SIZE},
+     * if not set the protocol default (65535) is used
+     */
+    OptionalInt getInitialWindowSize();
+
+    /**
+     * @return flow-control window size of the whole connection (bytes), announced with a {@code WINDOW_UPDATE} frame
+     * once the connection is established, if not set the protocol default (65535) is used
+     */
+    OptionalInt getConnectionWindowSize();
+
+    /**
+     * @return max size of the received frames payload (bytes), sent as {@code SETTINGS_MAX_FRAME_SIZE}, if not set the
+     * protocol default (16384) is used
+     */
+    OptionalInt getMaxFrameSize();
+
+    /**
+     * @return time without received data after which a {@code PING} frame is sent, the connection is closed if nothing
+     * is received within the same amount of time after the {@code PING}. If not set, no {@code PING} frames are sent.
+     */
+    Optional<Duration> getPingInterval();
+
+    @Value.Check
+    default void checkValid() {
+        if (getMaxConcurrentStreams() < 1) {
+            throw new IllegalStateException("maxConcurrentStreams must be greater than 0!");
+        }
+
+        if (getInitialWindowSize().isPresent() && getInitialWindowSize().getAsInt() < 0
+                || getConnectionWindowSize().isPresent() && getConnectionWindowSize().getAsInt() < 0) {
+            throw new IllegalStateException("initialWindowSize and connectionWindowSize must not be negative!");
+        }
+
+        if (getMaxFrameSize().isPresent()
+                && (getMaxFrameSize().getAsInt() < MIN_FRAME_SIZE || getMaxFrameSize().getAsInt() > MAX_FRAME_SIZE)) {
+            throw new IllegalStateException("maxFrameSize must be between " + MIN_FRAME_SIZE + " and "
+                    + MAX_FRAME_SIZE + "!");
+        }
+
+        if (getPingInterval().isPresent()
+                && (getPingInterval().get().isNegative() || getPingInterval().get().isZero())) {
+            throw new IllegalStateException("pingInterval must be positive!");
+        }
+    }
+
+}
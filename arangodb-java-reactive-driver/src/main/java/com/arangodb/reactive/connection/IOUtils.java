@@ -22,6 +22,7 @@ package com.arangodb.reactive.connection;
 
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 
 /**
@@ -52,6 +53,14 @@ public final class IOUtils {
         return buffer;
     }
 
+    public static CompositeByteBuf createCompositeBuffer() {
+        return createCompositeBuffer(DEFAULT_MAX_CAPACITY);
+    }
+
+    public static CompositeByteBuf createCompositeBuffer(final int maxNumComponents) {
+        return PooledByteBufAllocator.DEFAULT.compositeDirectBuffer(maxNumComponents);
+    }
+
     public static ByteBuf copyOf(final ByteBuf orig) {
         ByteBuf created = IOUtils.createBuffer(orig.readableBytes());
         orig.readBytes(created);
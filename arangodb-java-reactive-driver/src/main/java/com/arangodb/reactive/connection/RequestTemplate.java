@@ -0,0 +1,138 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Template for requests to the same database and path prefix, eg. the documents of a collection. The invariant parts
+ * of the requests are encoded once, when the template is created, so that every request created from the template
+ * only needs to encode its variable parts, like the document key and the options.
+ * <p>
+ * Requests created from a template are regular {@link ArangoRequest}s, if their database or path are changed
+ * afterwards the template is ignored.
+ *
+ * <pre>{@code
+ * RequestTemplate template = RequestTemplate.of("db", "/_api/document/collection");
+ * ArangoRequest request = template.builder(ArangoRequest.RequestType.GET, "/" + key)
+ *         .putHeaderParams("if-match", Optional.of(rev))
+ *         .build();
+ * }</pre>
+ *
+ * @author Michele Rastelli
+ */
+public final class RequestTemplate {
+
+    private final String database;
+    private final String pathPrefix;
+    private final String urlPrefix;
+    private final ByteBuf encodedDatabase;
+    private final ByteBuf encodedPathPrefix;
+
+    private RequestTemplate(final String db, final String path) {
+        database = db;
+        pathPrefix = path;
+        urlPrefix = UrlEncoder.appendPath(UrlEncoder.appendPath(new StringBuilder("/_db/"), db), path).toString();
+        encodedDatabase = encode(db);
+        encodedPathPrefix = encode(path);
+    }
+
+    /**
+     * @param database   database name
+     * @param pathPrefix common prefix of the request paths
+     * @return a new template
+     */
+    public static RequestTemplate of(final String database, final String pathPrefix) {
+        return new RequestTemplate(database, pathPrefix);
+    }
+
+    private static ByteBuf encode(final String value) {
+        return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.UTF_8)))
+                .asReadOnly();
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+    /**
+     * @return percent-encoded HTTP url prefix of the requests: {@code /_db/{database}{pathPrefix}}
+     */
+    public String getUrlPrefix() {
+        return urlPrefix;
+    }
+
+    /**
+     * @return read-only UTF-8 encoded database name, its reader index must not be modified
+     */
+    public ByteBuf getEncodedDatabase() {
+        return encodedDatabase;
+    }
+
+    /**
+     * @return read-only UTF-8 encoded path prefix, its reader index must not be modified
+     */
+    public ByteBuf getEncodedPathPrefix() {
+        return encodedPathPrefix;
+    }
+
+    /**
+     * @param requestType request type
+     * @return a request builder for the path prefix
+     */
+    public ArangoRequestBuilder builder(final ArangoRequest.RequestType requestType) {
+        return ArangoRequest.builder()
+                .database(database)
+                .requestType(requestType)
+                .path(pathPrefix)
+                .template(this);
+    }
+
+    /**
+     * @param requestType request type
+     * @param pathSuffix  path suffix, appended to the path prefix
+     * @return a request builder for the path prefix followed by the path suffix
+     */
+    public ArangoRequestBuilder builder(final ArangoRequest.RequestType requestType, final String pathSuffix) {
+        return builder(requestType).path(pathPrefix + pathSuffix);
+    }
+
+    /**
+     * @param request request
+     * @return whether the database and the path of the request are still the ones of this template
+     */
+    public boolean matches(final ArangoRequest request) {
+        return database.equals(request.getDatabase()) && request.getPath().startsWith(pathPrefix);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTemplate{database=" + database + ", pathPrefix=" + pathPrefix + "}";
+    }
+
+}
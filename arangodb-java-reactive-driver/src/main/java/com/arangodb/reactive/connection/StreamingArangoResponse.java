@@ -0,0 +1,155 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Response whose head (version, type, response code and meta) is available as soon as it is received, while the body
+ * is streamed as a {@link Flux} of body fragments, eg. VST chunks or HTTP content, as they arrive.
+ * <p>
+ * The body can be subscribed only once. Every received fragment must be released by the subscriber, fragments not yet
+ * consumed are released when the subscription is cancelled. If the body is not going to be consumed,
+ * {@link #discard()} must be invoked.
+ *
+ * @author Michele Rastelli
+ */
+public final class StreamingArangoResponse {
+
+    private final int version;
+    private final int type;
+    private final int responseCode;
+    private final Map<String, String> meta;
+    private final Flux<ByteBuf> body;
+
+    /**
+     * @param responseVersion response version
+     * @param responseType    response type
+     * @param code            response code
+     * @param responseMeta    response meta, it will be used without copying it
+     * @param bodyFragments   body fragments, each one owned by the subscriber receiving it
+     */
+    public StreamingArangoResponse(final int responseVersion,
+                                   final int responseType,
+                                   final int code,
+                                   final Map<String, String> responseMeta,
+                                   final Flux<ByteBuf> bodyFragments) {
+        version = responseVersion;
+        type = responseType;
+        responseCode = code;
+        meta = Collections.unmodifiableMap(responseMeta);
+        body = bodyFragments.doOnDiscard(ByteBuf.class, ReferenceCountUtil::release);
+    }
+
+    /**
+     * @param response buffered response, the ownership of it is transferred to the returned object
+     * @return a {@link StreamingArangoResponse} having the body of the provided response as single fragment
+     */
+    public static StreamingArangoResponse of(final BufferedArangoResponse response) {
+        final Sinks.Many<ByteBuf> fragments = Sinks.many().unicast().onBackpressureBuffer();
+        fragments.tryEmitNext(response.content());
+        fragments.tryEmitComplete();
+        return new StreamingArangoResponse(
+                response.getVersion(),
+                response.getType(),
+                response.getResponseCode(),
+                response.getMeta(),
+                fragments.asFlux()
+        );
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    public Map<String, String> getMeta() {
+        return meta;
+    }
+
+    /**
+     * @return the body fragments, each one must be released by the subscriber
+     */
+    public Flux<ByteBuf> getBody() {
+        return body;
+    }
+
+    /**
+     * Releases the body without consuming it.
+     */
+    public void discard() {
+        body.subscribe(ReferenceCountUtil::release, e -> {
+        }).dispose();
+    }
+
+    /**
+     * Consumes the whole body, copying it to an heap {@link ArangoResponse}.
+     *
+     * @return the aggregated response
+     */
+    public Mono<ArangoResponse> aggregate() {
+        return body
+                .collect(ByteArrayOutputStream::new, (out, fragment) -> {
+                    try {
+                        fragment.readBytes(out, fragment.readableBytes());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        fragment.release();
+                    }
+                })
+                .map(out -> ArangoResponse.builder()
+                        .version(version)
+                        .type(type)
+                        .responseCode(responseCode)
+                        .putAllMeta(meta)
+                        .body(out.toByteArray())
+                        .build());
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingArangoResponse{"
+                + "version=" + version
+                + ", type=" + type
+                + ", responseCode=" + responseCode
+                + ", meta=" + meta
+                + '}';
+    }
+
+}
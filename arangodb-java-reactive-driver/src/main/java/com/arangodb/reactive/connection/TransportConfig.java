@@ -0,0 +1,109 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+
+import com.arangodb.reactive.entity.GenerateBuilder;
+import io.netty.channel.WriteBufferWaterMark;
+import org.immutables.value.Value;
+
+import java.util.OptionalInt;
+
+/**
+ * Transport level configuration, applied uniformly to VelocyStream, HTTP/1.1 and HTTP/2 connections.
+ *
+ * @author Michele Rastelli
+ */
+@GenerateBuilder
+@SuppressWarnings("SameReturnValue")
+public interface TransportConfig {
+
+    static TransportConfigBuilder builder() {
+        return new TransportConfigBuilder();
+    }
+
+    /**
+     * @return whether to use the native transport (epoll on Linux, kqueue on macOS) when available, falling back to
+     * NIO otherwise
+     */
+    @Value.Default
+    default boolean getNativeTransport() {
+        return true;
+    }
+
+    /**
+     * @return value of the {@code TCP_NODELAY} socket option, disabling Nagle's algorithm
+     */
+    @Value.Default
+    default boolean getTcpNoDelay() {
+        return true;
+    }
+
+    /**
+     * @return value of the {@code SO_KEEPALIVE} socket option
+     */
+    @Value.Default
+    default boolean getKeepAlive() {
+        return false;
+    }
+
+    /**
+     * @return value of the {@code SO_SNDBUF} socket option (bytes), if not set the OS default is used
+     */
+    OptionalInt getSendBufferSize();
+
+    /**
+     * @return value of the {@code SO_RCVBUF} socket option (bytes), if not set the OS default is used
+     */
+    OptionalInt getReceiveBufferSize();
+
+    /**
+     * @return number of bytes queued in the channel outbound buffer below which the channel becomes writable again
+     * @see io.netty.channel.WriteBufferWaterMark
+     */
+    @Value.Default
+    default int getWriteBufferLowWaterMark() {
+        return WriteBufferWaterMark.DEFAULT.low();
+    }
+
+    /**
+     * @return number of bytes queued in the channel outbound buffer above which the channel becomes not writable
+     * @see io.netty.channel.WriteBufferWaterMark
+     */
+    @Value.Default
+    default int getWriteBufferHighWaterMark() {
+        return WriteBufferWaterMark.DEFAULT.high();
+    }
+
+    @Value.Check
+    default void checkValid() {
+        if (getSendBufferSize().isPresent() && getSendBufferSize().getAsInt() < 1
+                || getReceiveBufferSize().isPresent() && getReceiveBufferSize().getAsInt() < 1) {
+            throw new IllegalStateException("sendBufferSize and receiveBufferSize must be greater than 0!");
+        }
+
+        if (getWriteBufferLowWaterMark() < 0 || getWriteBufferLowWaterMark() > getWriteBufferHighWaterMark()) {
+            throw new IllegalStateException(
+                    "writeBufferLowWaterMark must not be negative and not greater than writeBufferHighWaterMark!");
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+/**
+ * Percent-encoding of URL components (RFC 3986), appending to a provided {@link StringBuilder}. Values made only of
+ * characters allowed in the component, which is the common case for database names, collection names, document keys
+ * and option values, are appended with a single bulk copy. Other characters are UTF-8 encoded and percent-escaped.
+ *
+ * @author Michele Rastelli
+ */
+public final class UrlEncoder {
+
+    private static final int ASCII = 128;
+    private static final int HALF_BYTE_BITS = 4;
+    private static final int HALF_BYTE_MASK = 0x0f;
+    private static final int CONTINUATION_BITS = 6;
+    private static final int CONTINUATION_MASK = 0x3f;
+    private static final int CONTINUATION = 0x80;
+    private static final int TWO_BYTES = 0xc0;
+    private static final int THREE_BYTES = 0xe0;
+    private static final int FOUR_BYTES = 0xf0;
+    private static final int MAX_TWO_BYTES = 0x7ff;
+    private static final int MAX_THREE_BYTES = 0xffff;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static final String UNRESERVED = "-._~";
+    private static final String PATH_ALLOWED = UNRESERVED + "!$&'()*+,;=:@/";
+
+    private static final boolean[] PATH_SAFE = safeChars(PATH_ALLOWED);
+    private static final boolean[] QUERY_SAFE = safeChars(UNRESERVED);
+
+    private UrlEncoder() {
+    }
+
+    private static boolean[] safeChars(final String allowed) {
+        final boolean[] safe = new boolean[ASCII];
+        for (char c = '0'; c <= '9'; c++) {
+            safe[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            safe[c] = true;
+            safe[Character.toUpperCase(c)] = true;
+        }
+        for (int i = 0; i < allowed.length(); i++) {
+            safe[allowed.charAt(i)] = true;
+        }
+        return safe;
+    }
+
+    /**
+     * Appends the encoded path, keeping the {@code /} separators.
+     *
+     * @param out  target
+     * @param path path
+     * @return target
+     */
+    public static StringBuilder appendPath(final StringBuilder out, final String path) {
+        return append(out, path, 0, path.length(), PATH_SAFE);
+    }
+
+    /**
+     * Appends the encoded path region {@code [start, end)}, keeping the {@code /} separators.
+     *
+     * @param out   target
+     * @param path  path
+     * @param start start index, inclusive
+     * @param end   end index, exclusive
+     * @return target
+     */
+    public static StringBuilder appendPath(final StringBuilder out, final String path, final int start,
+                                           final int end) {
+        return append(out, path, start, end, PATH_SAFE);
+    }
+
+    /**
+     * Appends the encoded query parameter name or value, where only unreserved characters are kept as they are.
+     *
+     * @param out   target
+     * @param value query parameter name or value
+     * @return target
+     */
+    public static StringBuilder appendQueryComponent(final StringBuilder out, final String value) {
+        return append(out, value, 0, value.length(), QUERY_SAFE);
+    }
+
+    private static StringBuilder append(final StringBuilder out, final String value, final int start,
+                                        final int end, final boolean[] safe) {
+        int safeEnd = start;
+        while (safeEnd < end && isSafe(value.charAt(safeEnd), safe)) {
+            safeEnd++;
+        }
+        if (safeEnd == end && start == 0 && end == value.length()) {
+            return out.append(value);
+        }
+        out.append(value, start, safeEnd);
+        for (int i = safeEnd; i < end; i++) {
+            final char c = value.charAt(i);
+            if (isSafe(c, safe)) {
+                out.append(c);
+            } else if (c < ASCII) {
+                appendEscaped(out, c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                appendUtf8(out, Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced like String#getBytes(UTF_8) does
+                appendEscaped(out, '?');
+            } else {
+                appendUtf8(out, c);
+            }
+        }
+        return out;
+    }
+
+    private static boolean isSafe(final char c, final boolean[] safe) {
+        return c < ASCII && safe[c];
+    }
+
+    private static void appendUtf8(final StringBuilder out, final int codePoint) {
+        if (codePoint <= MAX_TWO_BYTES) {
+            appendEscaped(out, TWO_BYTES | codePoint >> CONTINUATION_BITS);
+        } else if (codePoint <= MAX_THREE_BYTES) {
+            appendEscaped(out, THREE_BYTES | codePoint >> 2 * CONTINUATION_BITS);
+            appendEscaped(out, CONTINUATION | codePoint >> CONTINUATION_BITS & CONTINUATION_MASK);
+        } else {
+            appendEscaped(out, FOUR_BYTES | codePoint >> 3 * CONTINUATION_BITS);
+            appendEscaped(out, CONTINUATION | codePoint >> 2 * CONTINUATION_BITS & CONTINUATION_MASK);
+            appendEscaped(out, CONTINUATION | codePoint >> CONTINUATION_BITS & CONTINUATION_MASK);
+        }
+        appendEscaped(out, CONTINUATION | codePoint & CONTINUATION_MASK);
+    }
+
+    private static void appendEscaped(final StringBuilder out, final int b) {
+        out.append('%')
+                .append(HEX_DIGITS[b >> HALF_BYTE_BITS & HALF_BYTE_MASK])
+                .append(HEX_DIGITS[b & HALF_BYTE_MASK]);
+    }
+
+}
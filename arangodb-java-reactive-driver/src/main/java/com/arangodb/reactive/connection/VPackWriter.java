@@ -0,0 +1,196 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Minimal VelocyPack writer, encoding values directly into a {@link ByteBuf}. Arrays and objects are written in the
+ * compact format, which does not require an index table, thus their byte size can be computed upfront and the buffer
+ * can be allocated with its exact size.
+ *
+ * @author Michele Rastelli
+ * @see <a href="https://github.com/arangodb/velocypack/blob/master/VelocyPack.md">VelocyPack</a>
+ */
+public final class VPackWriter {
+
+    private static final int EMPTY_OBJECT = 0x0a;
+    private static final int COMPACT_ARRAY = 0x13;
+    private static final int COMPACT_OBJECT = 0x14;
+    private static final int UINT_1 = 0x28;
+    private static final int SMALL_INT_0 = 0x30;
+    private static final int MAX_SMALL_INT = 9;
+    private static final int SHORT_STRING_0 = 0x40;
+    private static final int MAX_SHORT_STRING = 126;
+    private static final int LONG_STRING = 0xbf;
+    private static final int LONG_STRING_HEADER_SIZE = 9;
+    private static final int VAR_INT_BITS = 7;
+    private static final int VAR_INT_LIMIT = 0x80;
+    private static final int VAR_INT_MASK = 0x7f;
+
+    private VPackWriter() {
+    }
+
+    /**
+     * @param value non-negative integer
+     * @return encoded size of the value
+     */
+    public static int intSize(final int value) {
+        if (value <= MAX_SMALL_INT) {
+            return 1;
+        }
+        return 1 + (Integer.SIZE - Integer.numberOfLeadingZeros(value) + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Writes a non-negative integer, as small int or as unsigned int.
+     *
+     * @param out   target buffer
+     * @param value non-negative integer
+     */
+    public static void writeInt(final ByteBuf out, final int value) {
+        if (value <= MAX_SMALL_INT) {
+            out.writeByte(SMALL_INT_0 + value);
+            return;
+        }
+        final int bytes = intSize(value) - 1;
+        out.writeByte(UINT_1 + bytes - 1);
+        for (int i = 0; i < bytes; i++) {
+            out.writeByte(value >>> (i * Byte.SIZE));
+        }
+    }
+
+    /**
+     * @param utf8Length UTF-8 encoded length of the string
+     * @return encoded size of the string
+     */
+    public static int stringSize(final int utf8Length) {
+        return utf8Length <= MAX_SHORT_STRING ? 1 + utf8Length : LONG_STRING_HEADER_SIZE + utf8Length;
+    }
+
+    /**
+     * Writes the header of a string, which must be followed by its UTF-8 encoded bytes.
+     *
+     * @param out        target buffer
+     * @param utf8Length UTF-8 encoded length of the string
+     */
+    public static void writeStringHeader(final ByteBuf out, final int utf8Length) {
+        if (utf8Length <= MAX_SHORT_STRING) {
+            out.writeByte(SHORT_STRING_0 + utf8Length);
+        } else {
+            out.writeByte(LONG_STRING);
+            out.writeLongLE(utf8Length);
+        }
+    }
+
+    /**
+     * @param out        target buffer
+     * @param value      string to write
+     * @param utf8Length UTF-8 encoded length of the string, see {@link ByteBufUtil#utf8Bytes(CharSequence)}
+     */
+    public static void writeString(final ByteBuf out, final String value, final int utf8Length) {
+        writeStringHeader(out, utf8Length);
+        ByteBufUtil.reserveAndWriteUtf8(out, value, utf8Length);
+    }
+
+    /**
+     * @param itemsSize encoded size of the items (for objects: keys and values)
+     * @param items     number of items (for objects: number of key-value pairs)
+     * @return encoded size of a compact array or object
+     */
+    public static int compactSize(final int itemsSize, final int items) {
+        if (items == 0) {
+            return 1;
+        }
+        final int size = 1 + itemsSize + varIntSize(items);
+        int lengthSize = 1;
+        while (varIntSize(size + lengthSize) > lengthSize) {
+            lengthSize++;
+        }
+        return size + lengthSize;
+    }
+
+    /**
+     * Writes the header of a compact array, which must be followed by its items and by {@link #writeEnd(ByteBuf, int)}.
+     *
+     * @param out       target buffer
+     * @param byteSize  encoded size of the array, see {@link #compactSize(int, int)}
+     */
+    public static void writeArrayHeader(final ByteBuf out, final int byteSize) {
+        out.writeByte(COMPACT_ARRAY);
+        writeVarInt(out, byteSize);
+    }
+
+    /**
+     * Writes the header of a compact object, which must be followed by its keys and values and by
+     * {@link #writeEnd(ByteBuf, int)}. Empty objects are written entirely by this method.
+     *
+     * @param out       target buffer
+     * @param byteSize  encoded size of the object, see {@link #compactSize(int, int)}
+     */
+    public static void writeObjectHeader(final ByteBuf out, final int byteSize) {
+        if (byteSize == 1) {
+            out.writeByte(EMPTY_OBJECT);
+        } else {
+            out.writeByte(COMPACT_OBJECT);
+            writeVarInt(out, byteSize);
+        }
+    }
+
+    /**
+     * Terminates a compact array or a non-empty compact object, writing its number of items.
+     *
+     * @param out   target buffer
+     * @param items number of items (for objects: number of key-value pairs)
+     */
+    public static void writeEnd(final ByteBuf out, final int items) {
+        // variable length integer, to be read backwards from its last byte
+        final int size = varIntSize(items);
+        int index = out.writerIndex() + size - 1;
+        out.writerIndex(out.writerIndex() + size);
+        int v = items;
+        while (v >= VAR_INT_LIMIT) {
+            out.setByte(index--, v & VAR_INT_MASK | VAR_INT_LIMIT);
+            v >>>= VAR_INT_BITS;
+        }
+        out.setByte(index, v);
+    }
+
+    private static int varIntSize(final int value) {
+        int size = 1;
+        for (int v = value; v >= VAR_INT_LIMIT; v >>>= VAR_INT_BITS) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeVarInt(final ByteBuf out, final int value) {
+        int v = value;
+        while (v >= VAR_INT_LIMIT) {
+            out.writeByte(v & VAR_INT_MASK | VAR_INT_LIMIT);
+            v >>>= VAR_INT_BITS;
+        }
+        out.writeByte(v);
+    }
+
+}
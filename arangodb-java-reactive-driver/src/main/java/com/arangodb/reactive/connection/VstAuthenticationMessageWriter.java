@@ -0,0 +1,71 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * @author Michele Rastelli
+ * @see <a href="https://github.com/arangodb/velocystream#authentication">API</a>
+ */
+final class VstAuthenticationMessageWriter {
+
+    private static final int VST_VERSION = 1;
+    private static final int VST_AUTHENTICATION_TYPE = 1000;
+    // version, type and encryption
+    private static final int FIXED_ITEMS = 3;
+
+    private VstAuthenticationMessageWriter() {
+    }
+
+    /**
+     * Writes the VelocyStream authentication message: {@code [1, 1000, encryption, credentials...]}.
+     *
+     * @param encryption  encryption type
+     * @param credentials credentials
+     * @return a new pooled buffer containing the message
+     */
+    static ByteBuf write(final String encryption, final String... credentials) {
+        final int[] lengths = new int[credentials.length];
+        int itemsSize = VPackWriter.intSize(VST_VERSION)
+                + VPackWriter.intSize(VST_AUTHENTICATION_TYPE)
+                + VPackWriter.stringSize(ByteBufUtil.utf8Bytes(encryption));
+        for (int i = 0; i < credentials.length; i++) {
+            lengths[i] = ByteBufUtil.utf8Bytes(credentials[i]);
+            itemsSize += VPackWriter.stringSize(lengths[i]);
+        }
+        final int items = FIXED_ITEMS + credentials.length;
+        final int byteSize = VPackWriter.compactSize(itemsSize, items);
+        final ByteBuf out = IOUtils.createBuffer(byteSize, byteSize);
+        VPackWriter.writeArrayHeader(out, byteSize);
+        VPackWriter.writeInt(out, VST_VERSION);
+        VPackWriter.writeInt(out, VST_AUTHENTICATION_TYPE);
+        VPackWriter.writeString(out, encryption, ByteBufUtil.utf8Bytes(encryption));
+        for (int i = 0; i < credentials.length; i++) {
+            VPackWriter.writeString(out, credentials[i], lengths[i]);
+        }
+        VPackWriter.writeEnd(out, items);
+        return out;
+    }
+
+}
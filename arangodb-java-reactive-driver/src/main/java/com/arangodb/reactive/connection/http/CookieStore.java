@@ -21,52 +21,81 @@
 package com.arangodb.reactive.connection.http;
 
 
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.cookie.ClientCookieEncoder;
 import io.netty.handler.codec.http.cookie.Cookie;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
 import java.util.Collection;
-import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Cookie jar of a single {@link HttpConnection}. The value of the {@code Cookie} request header is computed once and
+ * cached, until the stored cookies change or one of them expires.
+ *
  * @author Michele Rastelli
  */
 final class CookieStore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CookieStore.class);
+    private static final String NO_COOKIES = "";
 
+    // cookie equality is based on name, domain and path, values are the expiration times (or Long.MAX_VALUE)
     private final Map<Cookie, Long> cookies = new ConcurrentHashMap<>();
 
-    HttpClient addCookies(final HttpClient httpClient) {
-        removeExpiredCookies();
-        HttpClient c = httpClient;
-        for (Cookie cookie : cookies.keySet()) {
-            LOGGER.debug("sending cookie: {}", cookie);
-            c = c.cookie(cookie);
+    private volatile String header = NO_COOKIES;
+    private volatile long nextExpiration = Long.MAX_VALUE;
+
+    /**
+     * @return the value of the {@code Cookie} request header, or an empty string if there are no cookies to send
+     */
+    String getCookieHeader() {
+        if (nextExpiration != Long.MAX_VALUE && System.currentTimeMillis() >= nextExpiration) {
+            removeExpiredCookies();
         }
-        return c;
+        return header;
     }
 
     void saveCookies(final HttpClientResponse resp) {
-        resp.cookies().values().stream().flatMap(Collection::stream)
-                .forEach(cookie -> {
-                    LOGGER.debug("saving cookie: {}", cookie);
-                    cookies.put(cookie, new Date().getTime());
-                });
+        if (!resp.responseHeaders().contains(HttpHeaderNames.SET_COOKIE)) {
+            return;
+        }
+        saveCookies(resp.cookies().values());
     }
 
-    void clear() {
+    synchronized void clear() {
         cookies.clear();
+        header = NO_COOKIES;
+        nextExpiration = Long.MAX_VALUE;
+    }
+
+    private synchronized void saveCookies(final Collection<? extends Collection<Cookie>> received) {
+        final long now = System.currentTimeMillis();
+        received.stream().flatMap(Collection::stream).forEach(cookie -> {
+            LOGGER.debug("saving cookie: {}", cookie);
+            // remove first, since put() would retain the previous key instance with its old value
+            cookies.remove(cookie);
+            if (cookie.maxAge() != 0) {
+                cookies.put(cookie, cookie.maxAge() > 0 ? now + TimeUnit.SECONDS.toMillis(cookie.maxAge()) : Long.MAX_VALUE);
+            }
+        });
+        update();
+    }
+
+    private synchronized void removeExpiredCookies() {
+        final long now = System.currentTimeMillis();
+        cookies.entrySet().removeIf(entry -> entry.getValue() <= now);
+        update();
     }
 
-    private void removeExpiredCookies() {
-        long now = new Date().getTime();
-        cookies.entrySet().removeIf(entry ->
-                entry.getKey().maxAge() >= 0 && entry.getValue() + entry.getKey().maxAge() * 1000 < now);
+    private void update() {
+        nextExpiration = cookies.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+        header = cookies.isEmpty() ? NO_COOKIES : ClientCookieEncoder.STRICT.encode(cookies.keySet());
+        LOGGER.debug("sending cookies: {}", header);
     }
 
 }
@@ -24,7 +24,9 @@ package com.arangodb.reactive.connection.http;
 import com.arangodb.reactive.connection.AuthenticationMethod;
 import com.arangodb.reactive.connection.ConnectionConfig;
 import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.connection.Http2Config;
 import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
 
 import javax.annotation.Nullable;
 
@@ -39,6 +41,36 @@ public final class Http2Connection extends HttpConnection {
         super(hostDescription, authenticationMethod, connectionConfig);
     }
 
+    /**
+     * @return 1, the requests are multiplexed as streams of a single TCP connection
+     */
+    @Override
+    protected int getMaxConnections() {
+        return 1;
+    }
+
+    /**
+     * @return {@link Http2Config#getMaxConcurrentStreams()}
+     */
+    @Override
+    protected int getMaxActiveRequests() {
+        return getConfig().getHttp2().getMaxConcurrentStreams();
+    }
+
+    @Override
+    protected HttpClient configure(final HttpClient httpClient) {
+        final Http2Config http2 = getConfig().getHttp2();
+        final HttpClient client = httpClient.http2Settings(settings -> {
+            http2.getInitialWindowSize().ifPresent(settings::initialWindowSize);
+            http2.getMaxFrameSize().ifPresent(settings::maxFrameSize);
+        });
+        if (!http2.getConnectionWindowSize().isPresent() && !http2.getPingInterval().isPresent()) {
+            return client;
+        }
+        return client.doOnChannelInit((observer, channel, remoteAddress) ->
+                channel.pipeline().addFirst(Http2ParentHandler.NAME, new Http2ParentHandler(http2)));
+    }
+
     @Override
     protected HttpProtocol getProtocol() {
         if (getConfig().getUseSsl()) {
@@ -0,0 +1,107 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.Http2Config;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler installed at the head of the pipeline of the TCP connection of a {@link Http2Connection}, which:
+ * <ul>
+ *     <li>announces the connection flow-control window configured in {@link Http2Config#getConnectionWindowSize()},
+ *     once the HTTP/2 codec has sent the connection preface</li>
+ *     <li>sends a {@code PING} frame when no data has been received for {@link Http2Config#getPingInterval()} and
+ *     closes the connection if still nothing is received after the same amount of time</li>
+ * </ul>
+ * All the methods are invoked from the channel event loop.
+ *
+ * @author Michele Rastelli
+ */
+final class Http2ParentHandler extends IdleStateHandler {
+
+    static final String NAME = "arangodb.http2ParentHandler";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Http2ParentHandler.class);
+
+    private final int connectionWindowSize;
+    private boolean windowUpdated;
+    private boolean pingSent;
+
+    Http2ParentHandler(final Http2Config config) {
+        // 0 disables the idle detection
+        super(config.getPingInterval().map(Duration::toNanos).orElse(0L), 0, 0, TimeUnit.NANOSECONDS);
+        connectionWindowSize = config.getConnectionWindowSize().orElse(0);
+        windowUpdated = !config.getConnectionWindowSize().isPresent();
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        pingSent = false;
+        if (!windowUpdated) {
+            updateConnectionWindow(ctx);
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    protected void channelIdle(final ChannelHandlerContext ctx, final IdleStateEvent evt) {
+        if (pingSent) {
+            LOGGER.debug("PING not acknowledged, closing {}", ctx.channel());
+            ctx.close();
+        } else {
+            pingSent = true;
+            ctx.channel().writeAndFlush(new DefaultHttp2PingFrame(System.nanoTime()));
+        }
+    }
+
+    private void updateConnectionWindow(final ChannelHandlerContext ctx) {
+        // absent until the TLS handshake and the protocol negotiation are completed
+        final Http2FrameCodec codec = ctx.pipeline().get(Http2FrameCodec.class);
+        if (codec == null) {
+            return;
+        }
+        windowUpdated = true;
+        final Http2LocalFlowController flowController = codec.connection().local().flowController();
+        final Http2Stream connectionStream = codec.connection().connectionStream();
+        final int delta = connectionWindowSize - flowController.windowSize(connectionStream);
+        if (delta > 0) {
+            try {
+                flowController.incrementWindowSize(connectionStream, delta);
+                ctx.channel().flush();
+            } catch (Http2Exception e) {
+                ctx.fireExceptionCaught(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.CompressionType;
+import com.arangodb.reactive.connection.IOUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaderValues;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Gzip and deflate (zlib) codec of the HTTP bodies, see RFC 1950 and RFC 1952.
+ *
+ * @author Michele Rastelli
+ */
+final class HttpCompression {
+
+    private static final int BUFFER_SIZE = 8 * 1_024;
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, // magic number
+            Deflater.DEFLATED, // compression method
+            0, // flags
+            0, 0, 0, 0, // modification time
+            0, // extra flags
+            (byte) 0xff // operating system: unknown
+    };
+
+    private HttpCompression() {
+    }
+
+    /**
+     * @param type compression type
+     * @return the related {@code Content-Encoding} header value
+     */
+    static CharSequence getContentEncoding(final CompressionType type) {
+        switch (type) {
+            case GZIP:
+                return HttpHeaderValues.GZIP;
+            case DEFLATE:
+                return HttpHeaderValues.DEFLATE;
+            default:
+                throw new IllegalArgumentException(String.valueOf(type));
+        }
+    }
+
+    /**
+     * @param contentEncoding {@code Content-Encoding} header value
+     * @return whether {@link #decompress(String, ByteBuf, int)} can decode it
+     */
+    static boolean isSupported(final String contentEncoding) {
+        return isGzip(contentEncoding) || HttpHeaderValues.DEFLATE.contentEqualsIgnoreCase(contentEncoding);
+    }
+
+    private static boolean isGzip(final String contentEncoding) {
+        return HttpHeaderValues.GZIP.contentEqualsIgnoreCase(contentEncoding)
+                || HttpHeaderValues.X_GZIP.contentEqualsIgnoreCase(contentEncoding);
+    }
+
+    /**
+     * @param type  compression type, either {@link CompressionType#GZIP} or {@link CompressionType#DEFLATE}
+     * @param level compression level
+     * @param body  data to compress
+     * @return the compressed data
+     */
+    static byte[] compress(final CompressionType type, final int level, final byte[] body) {
+        final boolean gzip = type == CompressionType.GZIP;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + GZIP_HEADER.length);
+        if (gzip) {
+            out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        }
+
+        // gzip wraps the raw deflate stream with its own header and trailer
+        final Deflater deflater = new Deflater(level, gzip);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        if (gzip) {
+            final CRC32 crc = new CRC32();
+            crc.update(body, 0, body.length);
+            writeIntLe(out, (int) crc.getValue());
+            writeIntLe(out, body.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeIntLe(final ByteArrayOutputStream out, final int value) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            out.write(value >>> (i * Byte.SIZE));
+        }
+    }
+
+    /**
+     * @param contentEncoding {@code Content-Encoding} header value, see {@link #isSupported(String)}
+     * @param compressed      data to decompress, the reader index is advanced but the buffer is not released
+     * @param maxSize         max size (bytes) of the decompressed data
+     * @return a new buffer containing the decompressed data, which must be released by the caller
+     * @throws IOException if the data is corrupted or its decompressed size exceeds {@code maxSize}
+     */
+    static ByteBuf decompress(final String contentEncoding, final ByteBuf compressed, final int maxSize)
+            throws IOException {
+        final ByteBuf out = IOUtils.createBuffer(Math.min(BUFFER_SIZE, maxSize));
+        final InputStream in = new ByteBufInputStream(compressed);
+        try (InputStream decoder = isGzip(contentEncoding) ? new GZIPInputStream(in) : new InflaterInputStream(in)) {
+            int read;
+            do {
+                final int remaining = maxSize - out.readableBytes();
+                if (remaining > 0) {
+                    read = out.writeBytes(decoder, Math.min(BUFFER_SIZE, remaining));
+                } else if (decoder.read() >= 0) {
+                    throw new IOException("Decompressed content exceeds the max size of " + maxSize + " bytes!");
+                } else {
+                    read = -1;
+                }
+            } while (read >= 0);
+            return out;
+        } catch (IOException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+}
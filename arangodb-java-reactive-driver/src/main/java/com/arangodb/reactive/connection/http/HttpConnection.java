@@ -24,29 +24,51 @@ import com.arangodb.reactive.connection.ArangoConnection;
 import com.arangodb.reactive.connection.ArangoRequest;
 import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.CompressionConfig;
+import com.arangodb.reactive.connection.CompressionMetrics;
+import com.arangodb.reactive.connection.CompressionType;
 import com.arangodb.reactive.connection.ConnectionConfig;
 import com.arangodb.reactive.connection.HostDescription;
 import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
 import com.arangodb.reactive.connection.exceptions.ArangoConnectionAuthenticationException;
+import com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCounted;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.netty.ByteBufMono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.NettyOutbound;
 import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
 import reactor.netty.http.client.HttpClientResponse;
 import reactor.netty.resources.ConnectionProvider;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.util.Locale;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import static com.arangodb.reactive.connection.ConnectionUtils.applyTransportConfig;
 
 /**
  * @author Mark Vollmary
@@ -65,6 +87,11 @@ abstract class HttpConnection extends ArangoConnection {
     private final HttpClient client;
     private final ConnectionConfig config;
     private final CookieStore cookieStore;
+    private final UrlBuilder urlBuilder;
+    private final String contentType;
+    private final CompressionConfig compression;
+    private final CompressionMetrics compressionMetrics = new CompressionMetrics();
+    private final AtomicInteger activeRequests = new AtomicInteger();
     private volatile boolean initialized = false;
     private volatile boolean connected = false;
 
@@ -75,29 +102,15 @@ abstract class HttpConnection extends ArangoConnection {
         LOGGER.debug("HttpConnection({})", connectionConfig);
         host = hostDescription;
         config = connectionConfig;
+        contentType = getContentType();
+        compression = connectionConfig.getCompression();
         connectionProvider = createConnectionProvider();
         client = getClient();
         cookieStore = new CookieStore();
+        urlBuilder = new UrlBuilder();
     }
 
-    private static String buildUrl(final ArangoRequest request) {
-        final StringBuilder sb = new StringBuilder();
-        sb.append("/_db/").append(request.getDatabase());
-        sb.append(request.getPath());
-
-        final String paramString = request.getQueryParams().entrySet().stream()
-                .filter(it -> it.getValue().isPresent())
-                .map(it -> it.getKey() + "=" + it.getValue().get())
-                .collect(Collectors.joining("&"));
-
-        if (!paramString.isEmpty()) {
-            sb.append("?");
-            sb.append(paramString);
-        }
-        return sb.toString();
-    }
-
-    private static void addHeaders(final ArangoRequest request, final HttpHeaders headers) {
+    private static void addRequestHeaders(final ArangoRequest request, final HttpHeaders headers) {
         for (final Entry<String, Optional<String>> header : request.getHeaderParams().entrySet()) {
             header.getValue().ifPresent(value -> headers.add(header.getKey().toLowerCase(Locale.ROOT), value));
         }
@@ -105,6 +118,31 @@ abstract class HttpConnection extends ArangoConnection {
 
     protected abstract HttpProtocol getProtocol();
 
+    /**
+     * @return max number of TCP connections
+     */
+    protected int getMaxConnections() {
+        return config.getMaxConnections();
+    }
+
+    /**
+     * @return max number of requests waiting for a response, further requests are rejected with
+     * {@link ArangoConnectionOverloadedException}
+     */
+    protected int getMaxActiveRequests() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Applies protocol specific configuration to the client, invoked once from the constructor.
+     *
+     * @param httpClient client
+     * @return the configured client
+     */
+    protected HttpClient configure(final HttpClient httpClient) {
+        return httpClient;
+    }
+
     protected ConnectionConfig getConfig() {
         return config;
     }
@@ -132,29 +170,103 @@ abstract class HttpConnection extends ArangoConnection {
 
     @Override
     public Mono<ArangoResponse> execute(final ArangoRequest request) {
-        LOGGER.debug("execute({})", request);
-        final String url = buildUrl(request);
-        return createHttpClient(request, request.getBody().length)
+        return executeBuffered(request).map(BufferedArangoResponse::copyAndRelease);
+    }
+
+    @Override
+    public Mono<BufferedArangoResponse> executeBuffered(final ArangoRequest request) {
+        LOGGER.debug("executeBuffered({})", request);
+        return encodeBody(request)
+                .flatMap(body -> executeBuffered(request, (req, out) -> send(request, body, req, out, true)));
+    }
+
+    @Override
+    public Mono<BufferedArangoResponse> executeBuffered(final ArangoRequest request, final Flux<ByteBuf> body,
+                                                        final long contentLength) {
+        LOGGER.debug("executeBuffered({}, {})", request, contentLength);
+        // the client resends the request if the connection gets closed before it has been written, in such case the
+        // body cannot be subscribed again
+        final AtomicBoolean subscribed = new AtomicBoolean();
+        final Flux<ByteBuf> singleSubscriptionBody = Flux.defer(() -> subscribed.compareAndSet(false, true)
+                ? body
+                : Flux.error(new IllegalStateException("The streamed request body cannot be sent twice!")));
+        return executeBuffered(request, (req, out) -> send(request, req, out, singleSubscriptionBody, contentLength));
+    }
+
+    private Mono<BufferedArangoResponse> executeBuffered(
+            final ArangoRequest request,
+            final BiFunction<? super HttpClientRequest, ? super NettyOutbound, ? extends Publisher<Void>> sender) {
+        final String url = urlBuilder.build(request);
+        return trackActiveRequest(() -> client
                 .request(requestTypeToHttpMethod(request.getRequestType())).uri(url)
-                .send(Mono.just(IOUtils.createBuffer(request.getBody())))
-                .responseSingle(this::buildResponse)
+                .send(sender)
+                .response(this::buildResponse)
+                .single()
+                .timeout(config.getTimeout())
+                .doOnSubscribe(s -> onWrite())
+                .doOnNext(response -> {
+                    onRead();
+                    connected = true;
+                })
+                .doOnError(throwable -> close().subscribe()))
+                .doOnDiscard(BufferedArangoResponse.class, ReferenceCounted::release);
+    }
+
+    @Override
+    public Mono<StreamingArangoResponse> executeStreaming(final ArangoRequest request) {
+        LOGGER.debug("executeStreaming({})", request);
+        return encodeBody(request).flatMap(body -> executeStreaming(request, body));
+    }
+
+    private Mono<StreamingArangoResponse> executeStreaming(final ArangoRequest request, final EncodedBody body) {
+        final String url = urlBuilder.build(request);
+        return trackActiveRequest(() -> Mono.<StreamingArangoResponse>create(sink -> sink.onCancel(
+                client
+                        .request(requestTypeToHttpMethod(request.getRequestType())).uri(url)
+                        .send((req, out) -> send(request, body, req, out, false))
+                        .response((resp, content) -> {
+                            // the connection is kept until the body has been consumed or cancelled
+                            final Sinks.Empty<Void> bodyTerminated = Sinks.empty();
+                            sink.success(buildStreamingResponse(resp,
+                                    content.retain().doFinally(s -> bodyTerminated.tryEmitEmpty())));
+                            return bodyTerminated.asMono();
+                        })
+                        .subscribe(null, sink::error)
+        ))
                 .timeout(config.getTimeout())
-                .doOnNext(response -> connected = true)
-                .doOnError(throwable -> close().subscribe());
+                .doOnSubscribe(s -> onWrite())
+                .doOnNext(response -> {
+                    onRead();
+                    connected = true;
+                })
+                .doOnError(throwable -> close().subscribe()))
+                .doOnDiscard(StreamingArangoResponse.class, StreamingArangoResponse::discard);
     }
 
     @Override
     public Mono<Boolean> isConnected() {
-        if (connected) {
+        if (!connected) {
+            return Mono.just(false);
+        } else if (isRecentlyActive(config.getPingIdleThreshold(), config.getTimeout())) {
+            return Mono.just(true);
+        } else {
             // double check if it is still connected
-            return requestUser()
+            return ping()
                     .map(it -> true)
                     .onErrorReturn(false);
-        } else {
-            return Mono.just(false);
         }
     }
 
+    @Override
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    @Override
+    public Optional<CompressionMetrics> getCompressionMetrics() {
+        return Optional.of(compressionMetrics);
+    }
+
     @Override
     public Mono<Void> close() {
         LOGGER.debug("close()");
@@ -167,24 +279,35 @@ abstract class HttpConnection extends ArangoConnection {
 
     private ConnectionProvider createConnectionProvider() {
         return ConnectionProvider.builder("http")
-                .maxConnections(config.getMaxConnections())
+                .maxConnections(getMaxConnections())
                 .pendingAcquireTimeout(config.getTimeout())
                 .maxIdleTime(config.getTtl())
                 .build();
     }
 
     private HttpClient getClient() {
-        return applySslContext(
-                HttpClient
-                        .create(connectionProvider)
+        return configure(applySslContext(
+                applyTransportConfig(HttpClient.create(connectionProvider), config.getTransport())
                         .responseTimeout(config.getTimeout())
                         .protocol(getProtocol())
                         .keepAlive(true)
                         .baseUrl((config.getUseSsl() ? "https://" : "http://") + host.getHost() + ":" + host.getPort())
-                        .headers(headers -> getAuthentication().ifPresent(
-                                method -> headers.set(HttpHeaderNames.AUTHORIZATION, method.getHttpAuthorizationHeader())
-                        ))
-        );
+                        .headers(headers -> {
+                            headers.set(HttpHeaderNames.ACCEPT, contentType);
+                            getAuthentication().ifPresent(method ->
+                                    headers.set(HttpHeaderNames.AUTHORIZATION, method.getHttpAuthorizationHeader()));
+                        })
+        ));
+    }
+
+    private <T> Mono<T> trackActiveRequest(final Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            if (activeRequests.incrementAndGet() > getMaxActiveRequests()) {
+                activeRequests.decrementAndGet();
+                return Mono.error(ArangoConnectionOverloadedException.of(getMaxActiveRequests()));
+            }
+            return request.get().doFinally(s -> activeRequests.decrementAndGet());
+        });
     }
 
     private HttpClient applySslContext(final HttpClient httpClient) {
@@ -225,38 +348,160 @@ abstract class HttpConnection extends ArangoConnection {
         }
     }
 
-    private HttpClient createHttpClient(final ArangoRequest request, final int bodyLength) {
-        return cookieStore.addCookies(client)
-                .headers(headers -> {
-                    headers.set(HttpHeaderNames.CONTENT_LENGTH, bodyLength);
-                    headers.set(HttpHeaderNames.ACCEPT, getContentType());
-                    addHeaders(request, headers);
-                    if (bodyLength > 0) {
-                        headers.set(HttpHeaderNames.CONTENT_TYPE, getContentType());
-                    }
-                });
+    /**
+     * Encodes the request body according to the compression configuration. Called once per request, so that the body
+     * is neither copied nor compressed again when the request is resent. Bodies of at least
+     * {@link CompressionConfig#getOffloadThreshold()} bytes are compressed on a worker thread, smaller ones on the
+     * subscribing thread.
+     */
+    private Mono<EncodedBody> encodeBody(final ArangoRequest request) {
+        final byte[] body = request.getBody();
+        if (compression.getType() == CompressionType.NONE || body.length == 0
+                || body.length < compression.getThreshold()) {
+            return Mono.just(new EncodedBody(body, null));
+        }
+
+        final Mono<EncodedBody> encoded = Mono.fromCallable(() -> {
+            final byte[] compressed = HttpCompression.compress(compression.getType(), compression.getLevel(), body);
+            compressionMetrics.recordRequest(body.length, compressed.length);
+            return new EncodedBody(compressed, HttpCompression.getContentEncoding(compression.getType()));
+        });
+        return body.length >= compression.getOffloadThreshold()
+                ? encoded.subscribeOn(Schedulers.boundedElastic())
+                : encoded;
+    }
+
+    /**
+     * Request scoped part of the request setup, so that the shared {@link #client} does not need to be reconfigured
+     * (and copied) for every request. Called each time the request is (re)sent.
+     *
+     * @param body             request body, as returned by {@link #encodeBody(ArangoRequest)}
+     * @param acceptCompressed whether the response body is allowed to be compressed, which is only supported for
+     *                         buffered responses
+     */
+    private NettyOutbound send(final ArangoRequest request, final EncodedBody body, final HttpClientRequest req,
+                               final NettyOutbound out, final boolean acceptCompressed) {
+        final HttpHeaders headers = req.requestHeaders();
+        if (body.contentEncoding != null) {
+            headers.set(HttpHeaderNames.CONTENT_ENCODING, body.contentEncoding);
+        }
+        if (compression.getType() != CompressionType.NONE && acceptCompressed) {
+            headers.set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP_DEFLATE);
+        }
+        headers.set(HttpHeaderNames.CONTENT_LENGTH, body.bytes.length);
+        if (body.bytes.length > 0) {
+            headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        }
+        addCommonHeaders(request, headers);
+        return out.send(Mono.fromSupplier(() -> IOUtils.createBuffer(body.bytes)));
+    }
+
+    /**
+     * Like {@link #send(ArangoRequest, EncodedBody, HttpClientRequest, NettyOutbound, boolean)}, streaming the body from the
+     * provided publisher. Bodies of unknown length are sent with chunked transfer encoding on HTTP/1.1 and as
+     * {@code DATA} frames of a stream without {@code content-length} on HTTP/2. The body is not compressed.
+     */
+    private NettyOutbound send(final ArangoRequest request, final HttpClientRequest req, final NettyOutbound out,
+                               final Flux<ByteBuf> body, final long contentLength) {
+        final HttpHeaders headers = req.requestHeaders();
+        if (contentLength < 0) {
+            headers.remove(HttpHeaderNames.CONTENT_LENGTH);
+            if (getProtocol() == HttpProtocol.HTTP11) {
+                headers.set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+            }
+        } else {
+            headers.set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+        }
+        if (contentLength != 0) {
+            headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        }
+        addCommonHeaders(request, headers);
+        return out.send(body);
     }
 
-    private Mono<ArangoResponse> buildResponse(final HttpClientResponse resp, final ByteBufMono bytes) {
-        return bytes
-                .switchIfEmpty(Mono.just(Unpooled.EMPTY_BUFFER))
-                .map(byteBuf -> {
-                    byte[] buffer = IOUtils.getByteArray(byteBuf);
-                    byteBuf.release();
-                    return buffer;
+    private void addCommonHeaders(final ArangoRequest request, final HttpHeaders headers) {
+        final String cookies = cookieStore.getCookieHeader();
+        if (!cookies.isEmpty()) {
+            headers.set(HttpHeaderNames.COOKIE, cookies);
+        }
+        addRequestHeaders(request, headers);
+    }
+
+    private Mono<BufferedArangoResponse> buildResponse(final HttpClientResponse resp, final ByteBufFlux body) {
+        // the received fragments are composed without copying them, unlike ByteBufFlux#aggregate() which consolidates
+        // them beyond 16 components and releases the aggregated buffer asynchronously
+        return body.retain()
+                .collect(() -> Unpooled.compositeBuffer(Integer.MAX_VALUE),
+                        (CompositeByteBuf composite, ByteBuf fragment) -> composite.addComponent(true, fragment))
+                .<ByteBuf>handle((content, sink) -> {
+                    try {
+                        sink.next(decompress(resp.responseHeaders(), content));
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
                 })
-                .map(buffer -> ArangoResponse.builder()
-                        .responseCode(resp.status().code())
-                        .putAllMeta(resp.responseHeaders().entries().stream().collect(Collectors.toMap(
-                                e -> e.getKey().toLowerCase(Locale.ROOT), Entry::getValue)))
-                        .body(buffer)
-                        .build())
+                .map(content -> new BufferedArangoResponse(1, 2, resp.status().code(),
+                        new HttpHeadersMap(resp.responseHeaders()), content))
                 .doOnNext(it -> {
                     LOGGER.debug("received response {}", it);
                     if (config.getResendCookies()) {
                         cookieStore.saveCookies(resp);
                     }
-                });
+                })
+                .doOnDiscard(ByteBuf.class, ReferenceCounted::release);
+    }
+
+    /**
+     * Decompresses the received content according to its {@code Content-Encoding}, the related headers are updated
+     * to describe the decompressed content.
+     *
+     * @param headers response headers
+     * @param content received content, released if a new buffer is returned
+     * @return the decompressed content
+     * @throws IOException if the content cannot be decompressed, in this case {@code content} is released as well
+     */
+    private ByteBuf decompress(final HttpHeaders headers, final ByteBuf content) throws IOException {
+        final String contentEncoding = headers.get(HttpHeaderNames.CONTENT_ENCODING);
+        if (contentEncoding == null || !content.isReadable() || !HttpCompression.isSupported(contentEncoding)) {
+            return content;
+        }
+
+        final int compressedSize = content.readableBytes();
+        try {
+            final ByteBuf decompressed = HttpCompression.decompress(contentEncoding, content,
+                    compression.getMaxDecompressedSize());
+            compressionMetrics.recordResponse(decompressed.readableBytes(), compressedSize);
+            headers.remove(HttpHeaderNames.CONTENT_ENCODING);
+            headers.set(HttpHeaderNames.CONTENT_LENGTH, decompressed.readableBytes());
+            return decompressed;
+        } finally {
+            content.release();
+        }
+    }
+
+    private StreamingArangoResponse buildStreamingResponse(final HttpClientResponse resp, final Flux<ByteBuf> body) {
+        final StreamingArangoResponse response =
+                new StreamingArangoResponse(1, 2, resp.status().code(),
+                        new HttpHeadersMap(resp.responseHeaders()), body);
+        LOGGER.debug("received response {}", response);
+        if (config.getResendCookies()) {
+            cookieStore.saveCookies(resp);
+        }
+        return response;
+    }
+
+    /**
+     * Request body ready to be sent, possibly compressed.
+     */
+    private static final class EncodedBody {
+        private final byte[] bytes;
+        @Nullable
+        private final CharSequence contentEncoding;
+
+        EncodedBody(final byte[] encodedBytes, @Nullable final CharSequence encoding) {
+            bytes = encodedBytes;
+            contentEncoding = encoding;
+        }
     }
 
 }
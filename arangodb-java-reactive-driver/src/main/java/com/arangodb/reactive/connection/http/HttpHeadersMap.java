@@ -0,0 +1,75 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only {@link Map} view of the headers of an HTTP response, used as response meta without copying the headers.
+ * Lookups are case-insensitive and delegated to the underlying {@link HttpHeaders}. The lower-cased entries are
+ * computed only when the map is iterated. For repeated headers, the first value is returned.
+ *
+ * @author Michele Rastelli
+ */
+final class HttpHeadersMap extends AbstractMap<String, String> {
+
+    private final HttpHeaders headers;
+    private volatile Set<Entry<String, String>> entries;
+
+    HttpHeadersMap(final HttpHeaders httpHeaders) {
+        headers = httpHeaders;
+    }
+
+    @Override
+    public String get(final Object key) {
+        return key instanceof CharSequence ? headers.get((CharSequence) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof CharSequence && headers.contains((CharSequence) key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> result = entries;
+        if (result == null) {
+            final Map<String, String> map = new LinkedHashMap<>();
+            headers.forEach(e -> map.putIfAbsent(e.getKey().toLowerCase(Locale.ROOT), e.getValue()));
+            result = Collections.unmodifiableMap(map).entrySet();
+            entries = result;
+        }
+        return result;
+    }
+
+}
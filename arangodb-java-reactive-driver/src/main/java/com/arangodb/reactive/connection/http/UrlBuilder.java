@@ -0,0 +1,90 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.RequestTemplate;
+import com.arangodb.reactive.connection.UrlEncoder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the percent-encoded request urls of a {@link HttpConnection}. The url is assembled in a per-thread reused
+ * {@link StringBuilder}, so that the only allocation is the resulting string. The {@code /_db/{name}} prefix is encoded
+ * once per database.
+ *
+ * @author Michele Rastelli
+ */
+final class UrlBuilder {
+
+    private static final String DATABASE_PREFIX = "/_db/";
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_RETAINED_CAPACITY = 8 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    private final Map<String, String> databasePrefixes = new ConcurrentHashMap<>();
+
+    String build(final ArangoRequest request) {
+        final StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+
+        final String path = request.getPath();
+        final Optional<RequestTemplate> template = request.getMatchingTemplate();
+        if (template.isPresent()) {
+            sb.append(template.get().getUrlPrefix());
+            UrlEncoder.appendPath(sb, path, template.get().getPathPrefix().length(), path.length());
+        } else {
+            sb.append(getDatabasePrefix(request.getDatabase()));
+            UrlEncoder.appendPath(sb, path);
+        }
+
+        char separator = '?';
+        for (final Map.Entry<String, Optional<String>> param : request.getQueryParams().entrySet()) {
+            if (param.getValue().isPresent()) {
+                sb.append(separator);
+                UrlEncoder.appendQueryComponent(sb, param.getKey()).append('=');
+                UrlEncoder.appendQueryComponent(sb, param.getValue().get());
+                separator = '&';
+            }
+        }
+
+        final String url = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            // do not retain the memory of exceptionally long urls
+            BUFFER.remove();
+        }
+        return url;
+    }
+
+    private String getDatabasePrefix(final String database) {
+        final String prefix = databasePrefixes.get(database);
+        if (prefix != null) {
+            return prefix;
+        }
+        final String encoded = UrlEncoder.appendPath(new StringBuilder(DATABASE_PREFIX), database).toString();
+        final String previous = databasePrefixes.putIfAbsent(database, encoded);
+        return previous != null ? previous : encoded;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.ConnectionConfig;
+
+import java.time.Duration;
+
+import static com.arangodb.reactive.ArangoDefaults.HEADER_SIZE;
+
+/**
+ * Chooses the chunk content-size used to frame the outgoing messages of a connection and collects the related
+ * statistics. When adaptive, the chunk size is periodically tuned within the configured bounds, so that:
+ * <ul>
+ *     <li>the most common messages are not split, i.e. it is not smaller than the median message size</li>
+ *     <li>a chunk can be written in about {@link #TARGET_CHUNK_WRITE_NANOS}, according to the throughput observed
+ *     writing multi chunk messages, so that large messages delay the interleaved ones for no longer than that. The
+ *     observed throughput decreases as the write latency grows, leading to smaller chunks under contention.</li>
+ * </ul>
+ *
+ * @author Michele Rastelli
+ */
+final class ChunkSizePolicy {
+
+    private static final long TARGET_CHUNK_WRITE_NANOS = 100_000L;
+    // number of written messages between chunk size updates
+    private static final int UPDATE_INTERVAL = 64;
+    // number of samples after which the message size histogram is halved, to forget old samples
+    private static final int DECAY_INTERVAL = 1_024;
+    // weight of the new samples in the moving averages
+    private static final double ALPHA = 0.125;
+
+    private final boolean adaptive;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private volatile int chunkSize;
+
+    // state guarded by this, updated once per written message
+    // message sizes histogram, bucket i counts the sizes in (2^(i-1), 2^i]
+    private final long[] sizeHistogram = new long[Integer.SIZE];
+    private long histogramSamples;
+    private long messages;
+    private long multiChunkMessages;
+    private long chunks;
+    private long bytes;
+    private double averageMessageSize;
+    private double averageWriteLatency;
+    // bytes per nanosecond
+    private double throughput;
+    private int samplesSinceUpdate;
+
+    ChunkSizePolicy(final ConnectionConfig config) {
+        adaptive = config.getAdaptiveChunkSize();
+        minChunkSize = config.getMinChunkSize();
+        maxChunkSize = config.getMaxChunkSize();
+        chunkSize = adaptive ? clamp(config.getChunkSize()) : config.getChunkSize();
+    }
+
+    /**
+     * @return chunk content-size to use for the next message
+     */
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @param messageBytes  size of the message, including the chunk headers
+     * @param messageChunks number of chunks of the message
+     * @param latencyNanos  time elapsed from enqueuing the message to flushing its last chunk
+     */
+    synchronized void onMessageWritten(final int messageBytes, final int messageChunks, final long latencyNanos) {
+        final int payloadSize = messageBytes - messageChunks * HEADER_SIZE;
+        messages++;
+        chunks += messageChunks;
+        bytes += messageBytes;
+        averageMessageSize = ewma(averageMessageSize, payloadSize, messages);
+        averageWriteLatency = ewma(averageWriteLatency, latencyNanos, messages);
+        if (messageChunks > 1 && latencyNanos > 0) {
+            multiChunkMessages++;
+            throughput = ewma(throughput, (double) messageBytes / latencyNanos, multiChunkMessages);
+        }
+        recordSize(payloadSize);
+
+        if (adaptive && ++samplesSinceUpdate >= UPDATE_INTERVAL) {
+            samplesSinceUpdate = 0;
+            chunkSize = computeChunkSize();
+        }
+    }
+
+    synchronized VstConnectionStats getStats() {
+        return new VstConnectionStatsBuilder()
+                .chunkSize(chunkSize)
+                .messages(messages)
+                .chunks(chunks)
+                .bytes(bytes)
+                .averageMessageSize(Math.round(averageMessageSize))
+                .medianMessageSize(getMedianMessageSize())
+                .averageWriteLatency(Duration.ofNanos(Math.round(averageWriteLatency)))
+                .build();
+    }
+
+    private static double ewma(final double average, final double value, final long count) {
+        return count == 1 ? value : average + ALPHA * (value - average);
+    }
+
+    private static int bucket(final int size) {
+        return size <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    private void recordSize(final int size) {
+        sizeHistogram[bucket(size)]++;
+        histogramSamples++;
+        if (histogramSamples >= DECAY_INTERVAL) {
+            histogramSamples = 0;
+            for (int i = 0; i < sizeHistogram.length; i++) {
+                sizeHistogram[i] >>= 1;
+                histogramSamples += sizeHistogram[i];
+            }
+        }
+    }
+
+    private long getMedianMessageSize() {
+        final long half = (histogramSamples + 1) / 2;
+        long cumulative = 0;
+        for (int i = 0; i < sizeHistogram.length; i++) {
+            cumulative += sizeHistogram[i];
+            if (cumulative > 0 && cumulative >= half) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    private int computeChunkSize() {
+        final long bandwidthChunkSize = throughput > 0 ? (long) (throughput * TARGET_CHUNK_WRITE_NANOS) : chunkSize;
+        return clamp(Math.max(bandwidthChunkSize, getMedianMessageSize()));
+    }
+
+    private int clamp(final long size) {
+        return (int) Math.max(minChunkSize, Math.min(maxChunkSize, size));
+    }
+
+}
@@ -20,55 +20,182 @@
 
 package com.arangodb.reactive.connection.vst;
 
-import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
 import com.arangodb.reactive.connection.IOUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.ReferenceCounted;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
 /**
+ * Assembles the received chunks into messages without copying their content: single chunk messages are decoded
+ * directly from the chunk buffer, while multi chunk messages are composed into a {@link CompositeByteBuf}.
+ * The content of messages related to streaming requests is not assembled, but forwarded as soon as it is received.
+ * Chunks of messages related to requests which are not pending anymore, eg. because expired, are discarded.
+ *
  * @author Mark Vollmary
  * @author Michele Rastelli
  */
 final class ChunkStore {
 
-    private final Map<Long, ByteBuf> data;
-    private final BiConsumer<Long, ArangoResponse> callback;
+    // max byte size of the VPack array header, containing the byte length of the response head
+    private static final int MAX_HEAD_HEADER_SIZE = 9;
+
+    private final LongObjectMap<CompositeByteBuf> data;
+    private final LongObjectMap<StreamingMessage> streams;
+    private final MessageStore messageStore;
 
-    ChunkStore(final BiConsumer<Long, ArangoResponse> responseCallback) {
-        data = new HashMap<>();
-        callback = responseCallback;
+    ChunkStore(final MessageStore store) {
+        data = new LongObjectHashMap<>();
+        streams = new LongObjectHashMap<>();
+        messageStore = store;
     }
 
-    void storeChunk(final Chunk chunk, final ByteBuf inBuf) {
+    /**
+     * Checks whether the chunks of the message are still expected, i.e. the related request is still pending or its
+     * response is being streamed. Otherwise releases the chunks of the message received so far.
+     *
+     * @param messageId id of the received message
+     * @return {@code false} if the content of the chunk should be discarded
+     */
+    boolean isExpected(final long messageId) {
+        if (streams.containsKey(messageId) || messageStore.isPending(messageId)) {
+            return true;
+        }
+        final CompositeByteBuf messageBuffer = data.remove(messageId);
+        if (messageBuffer != null) {
+            messageBuffer.release();
+        }
+        return false;
+    }
+
+    /**
+     * @param chunk   received chunk
+     * @param content chunk content, the ownership of it is transferred to the store
+     */
+    void storeChunk(final Chunk chunk, final ByteBuf content) {
         final long messageId = chunk.getMessageId();
-        ByteBuf chunkBuffer = data.get(messageId);
-        if (chunkBuffer == null) {
-            final int length = chunk.getChunk() > 1 ? (int) chunk.getMessageLength() : chunk.getContentLength();
-            chunkBuffer = IOUtils.createBuffer(length, length);
-            data.put(messageId, chunkBuffer);
+        StreamingMessage stream = streams.get(messageId);
+        if (stream == null && chunk.isFirstChunk()) {
+            final MessageStore.StreamingRequest request = messageStore.getStreamingRequest(messageId);
+            if (request != null) {
+                stream = new StreamingMessage(request, chunk.getMessageLength());
+                streams.put(messageId, stream);
+            }
+        }
+        if (stream != null) {
+            if (stream.onContent(content)) {
+                streams.remove(messageId);
+            }
+            return;
         }
 
-        chunkBuffer.writeBytes(inBuf);
-        checkCompleteness(messageId, chunkBuffer);
-    }
+        if (chunk.isFirstChunk() && chunk.getChunk() == 1) {
+            // single chunk message
+            complete(messageId, content);
+            return;
+        }
+
+        CompositeByteBuf messageBuffer = data.get(messageId);
+        if (messageBuffer == null) {
+            messageBuffer = IOUtils.createCompositeBuffer();
+            data.put(messageId, messageBuffer);
+        }
 
-    private void checkCompleteness(final long messageId, final ByteBuf chunkBuffer) {
-        if (chunkBuffer.readableBytes() == chunkBuffer.capacity()) {
-            byte[] bytes = new byte[chunkBuffer.readableBytes()];
-            chunkBuffer.readBytes(bytes);
-            chunkBuffer.release();
-            callback.accept(messageId, ResponseConverter.decodeResponse(bytes));
+        messageBuffer.addComponent(true, content);
+        if (messageBuffer.readableBytes() == chunk.getMessageLength()) {
             data.remove(messageId);
+            complete(messageId, messageBuffer);
         }
     }
 
+    private void complete(final long messageId, final ByteBuf messageBuffer) {
+        messageStore.resolve(messageId, ResponseConverter.decodeResponse(messageBuffer));
+    }
+
     void clear() {
         data.values().forEach(ReferenceCounted::release);
         data.clear();
+        streams.values().forEach(StreamingMessage::release);
+        streams.clear();
+    }
+
+    /**
+     * Receiving state of a streamed message: the content is accumulated until the response head is received, then it
+     * is forwarded to the related request.
+     */
+    private final class StreamingMessage {
+        private final MessageStore.StreamingRequest request;
+        private final long messageLength;
+        private long received;
+        @Nullable
+        private CompositeByteBuf headBuffer;
+        private boolean headReceived;
+        private boolean discarded;
+
+        StreamingMessage(final MessageStore.StreamingRequest streamingRequest, final long length) {
+            request = streamingRequest;
+            messageLength = length;
+        }
+
+        /**
+         * @param content received content, the ownership of it is transferred to this object
+         * @return whether the whole message has been received
+         */
+        boolean onContent(final ByteBuf content) {
+            received += content.readableBytes();
+            if (discarded) {
+                content.release();
+            } else if (headReceived) {
+                request.emitFragment(content);
+            } else {
+                if (headBuffer == null) {
+                    headBuffer = IOUtils.createCompositeBuffer();
+                }
+                headBuffer.addComponent(true, content);
+                if (isHeadReceived()) {
+                    emitHead();
+                }
+            }
+
+            if (received == messageLength) {
+                release();
+                request.completeBody();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isHeadReceived() {
+            if (headBuffer.readableBytes() < MAX_HEAD_HEADER_SIZE && received < messageLength) {
+                return false;
+            }
+            return headBuffer.readableBytes() >= ResponseConverter.getHeadSize(headBuffer);
+        }
+
+        private void emitHead() {
+            final BufferedArangoResponse head = ResponseConverter.decodeResponse(headBuffer);
+            headBuffer = null;
+            headReceived = true;
+            if (request.emitHead(head)) {
+                request.emitFragment(head.content());
+            } else {
+                // nobody is waiting for the response anymore
+                head.release();
+                discarded = true;
+                messageStore.remove(request.getMessageId());
+            }
+        }
+
+        void release() {
+            if (headBuffer != null) {
+                headBuffer.release();
+                headBuffer = null;
+            }
+        }
     }
 
 }
@@ -0,0 +1,127 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timer wheel tracking the deadlines of the requests in flight on a connection. Deadlines are hashed into
+ * buckets by tick, every bucket storing the message ids and deadlines in primitive arrays, so that registering a
+ * deadline does not allocate, unless the bucket needs to grow. Entries are not removed when the related request
+ * completes, they are discarded once their deadline is reached.
+ * <p>
+ * This class is not thread safe, it is confined to the event loop of the channel.
+ *
+ * @author Michele Rastelli
+ */
+final class DeadlineWheel {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+    private final long tickNanos;
+    private final long startTime;
+    private final int mask;
+    private final long[][] messageIds;
+    private final long[][] deadlines;
+    private final int[] sizes;
+    // last processed tick
+    private long currentTick;
+
+    /**
+     * @param tickDuration duration of a tick (nanos)
+     * @param ticksPerWheel number of buckets, rounded up to a power of two
+     * @param now          current time (nanos)
+     */
+    DeadlineWheel(final long tickDuration, final int ticksPerWheel, final long now) {
+        tickNanos = tickDuration;
+        startTime = now;
+        final int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        mask = size - 1;
+        messageIds = new long[size][INITIAL_BUCKET_CAPACITY];
+        deadlines = new long[size][INITIAL_BUCKET_CAPACITY];
+        sizes = new int[size];
+    }
+
+    /**
+     * @return duration of a tick (nanos)
+     */
+    long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * @param messageId id of the request message
+     * @param deadline  deadline of the request (nanos)
+     */
+    void add(final long messageId, final long deadline) {
+        final long tick = Math.max(currentTick + 1, ceilDiv(deadline - startTime, tickNanos));
+        final int bucket = (int) tick & mask;
+        final int size = sizes[bucket];
+        if (size == messageIds[bucket].length) {
+            messageIds[bucket] = Arrays.copyOf(messageIds[bucket], size << 1);
+            deadlines[bucket] = Arrays.copyOf(deadlines[bucket], size << 1);
+        }
+        messageIds[bucket][size] = messageId;
+        deadlines[bucket][size] = deadline;
+        sizes[bucket] = size + 1;
+    }
+
+    /**
+     * Processes the ticks elapsed since the last invocation, notifying the message ids whose deadline has been reached.
+     *
+     * @param now       current time (nanos)
+     * @param onExpired consumer of the expired message ids
+     */
+    void expire(final long now, final LongConsumer onExpired) {
+        final long targetTick = (now - startTime) / tickNanos;
+        // more than one revolution elapsed, every bucket has to be processed once
+        final long fromTick = Math.max(currentTick + 1, targetTick - mask);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            expireBucket((int) tick & mask, now, onExpired);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    private void expireBucket(final int bucket, final long now, final LongConsumer onExpired) {
+        final long[] ids = messageIds[bucket];
+        final long[] times = deadlines[bucket];
+        int size = sizes[bucket];
+        int i = 0;
+        while (i < size) {
+            if (times[i] - now <= 0) {
+                onExpired.accept(ids[i]);
+                // swap with the last entry
+                size--;
+                ids[i] = ids[size];
+                times[i] = times[size];
+            } else {
+                i++;
+            }
+        }
+        sizes[bucket] = size;
+    }
+
+    private static long ceilDiv(final long x, final long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+}
@@ -20,54 +20,184 @@
 
 package com.arangodb.reactive.connection.vst;
 
-import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 
-import java.util.HashMap;
-import java.util.Map;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
 
 /**
+ * Bounded table of the requests in flight, keyed by VST message id. The pending requests are stored in a ring indexed
+ * by {@code messageId & mask}, thus registering and resolving requests does not box the message id nor allocate map
+ * nodes. Message ids are assigned by the store, skipping the ones whose slot is still taken by a pending request.
+ *
  * @author Mark Vollmary
  * @author Michele Rastelli
  */
 final class MessageStore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageStore.class);
+    private static final int MAX_IN_FLIGHT_REQUESTS = 1 << 20;
+
+    private final int maxPendingRequests;
+    private final int mask;
+    private final AtomicReferenceArray<PendingRequest> pendingRequests;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong messageCounter = new AtomicLong();
+
+    /**
+     * @param maxInFlightRequests max number of pending requests
+     */
+    MessageStore(final int maxInFlightRequests) {
+        if (maxInFlightRequests < 1 || maxInFlightRequests > MAX_IN_FLIGHT_REQUESTS) {
+            throw new IllegalArgumentException("maxInFlightRequests must be between 1 and " + MAX_IN_FLIGHT_REQUESTS);
+        }
+        maxPendingRequests = maxInFlightRequests;
+        // smallest power of two not less than twice the max number of pending requests (between 2x and 4x), so that
+        // a free slot is usually found at the first attempt
+        final int capacity = Integer.highestOneBit(2 * maxInFlightRequests - 1) << 1;
+        mask = capacity - 1;
+        pendingRequests = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return number of slots of the store
+     */
+    int getCapacity() {
+        return pendingRequests.length();
+    }
+
+    /**
+     * Adds a pending request to the store, assigning to it a new message id
+     *
+     * @return the pending request or {@code null} if the store is full
+     */
+    @Nullable
+    BufferedRequest addRequest() {
+        return add(BufferedRequest::new);
+    }
+
+    /**
+     * Adds a pending request, whose response will be streamed, to the store, assigning to it a new message id
+     *
+     * @return the pending request or {@code null} if the store is full
+     */
+    @Nullable
+    StreamingRequest addStreamingRequest() {
+        return add(StreamingRequest::new);
+    }
+
+    @Nullable
+    private <T extends PendingRequest> T add(final LongFunction<T> factory) {
+        if (pendingCount.incrementAndGet() > maxPendingRequests) {
+            pendingCount.decrementAndGet();
+            return null;
+        }
 
-    private final Map<Long, Sinks.One<ArangoResponse>> pendingRequests = new HashMap<>();
+        while (true) {
+            final long messageId = messageCounter.incrementAndGet();
+            final int index = index(messageId);
+            if (pendingRequests.get(index) == null) {
+                final T request = factory.apply(messageId);
+                if (pendingRequests.compareAndSet(index, null, request)) {
+                    LOGGER.debug("Added request with messageId: {}", messageId);
+                    return request;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param messageId id of the sent message
+     * @return the pending request related to the messageId, if its response should be streamed
+     */
+    @Nullable
+    StreamingRequest getStreamingRequest(final long messageId) {
+        final PendingRequest request = pendingRequests.get(index(messageId));
+        if (request instanceof StreamingRequest && request.messageId == messageId) {
+            return (StreamingRequest) request;
+        }
+        return null;
+    }
+
+    /**
+     * @return number of requests waiting for their response
+     */
+    int size() {
+        return pendingCount.get();
+    }
 
     /**
-     * Adds a pending request to the store
+     * @param messageId id of the sent message
+     * @return whether the request related to the messageId is still waiting for its response
+     */
+    boolean isPending(final long messageId) {
+        final PendingRequest request = pendingRequests.get(index(messageId));
+        return request != null && request.messageId == messageId;
+    }
+
+    /**
+     * Removes and completes exceptionally the pending request related to the messageId, unless its response is already
+     * being received.
      *
      * @param messageId id of the sent message
-     * @return a {@link Mono} that will be resolved when the related response is received
+     * @param t         cause
+     * @return whether the request has been expired
      */
-    Mono<ArangoResponse> addRequest(final long messageId) {
-        LOGGER.debug("Adding request with messageId: {}", messageId);
-        if (pendingRequests.containsKey(messageId)) {
-            throw new IllegalStateException("Key already present: " + messageId);
+    boolean expire(final long messageId, final Throwable t) {
+        final int index = index(messageId);
+        final PendingRequest request = pendingRequests.get(index);
+        if (request != null && request.messageId == messageId && request.isExpirable()
+                && pendingRequests.compareAndSet(index, request, null)) {
+            LOGGER.debug("Expired request with messageId: {}", messageId);
+            pendingCount.decrementAndGet();
+            request.fail(t);
+            return true;
         }
-        final Sinks.One<ArangoResponse> response = Sinks.one();
-        pendingRequests.put(messageId, response);
-        LOGGER.atDebug().addArgument(pendingRequests::size).log("pendingRequests.size(): {}");
-        return response.asMono();
+        return false;
     }
 
     /**
      * Resolves the pending request related to the messageId
      *
      * @param messageId id of the received message
-     * @param response  the received response
+     * @param response  the received response, the ownership of it is transferred to the pending request
      */
-    void resolve(final long messageId, final ArangoResponse response) {
+    void resolve(final long messageId, final BufferedArangoResponse response) {
         LOGGER.debug("Resolving message [{}]: {}", messageId, response);
-        final Sinks.One<ArangoResponse> future = pendingRequests.remove(messageId);
-        if (future != null) {
-            future.tryEmitValue(response);
+        final PendingRequest request = remove(messageId);
+        if (request == null || !request.complete(response)) {
+            // nobody is waiting for the response anymore, eg. the request has been cancelled
+            response.release();
+        }
+    }
+
+    /**
+     * Removes the pending request related to the messageId, eg. because it has been cancelled
+     *
+     * @param messageId id of the sent message
+     * @return the removed request or {@code null} if not present
+     */
+    @Nullable
+    PendingRequest remove(final long messageId) {
+        final int index = index(messageId);
+        final PendingRequest request = pendingRequests.get(index);
+        if (request != null && request.messageId == messageId && pendingRequests.compareAndSet(index, request, null)) {
+            pendingCount.decrementAndGet();
+            return request;
         }
+        return null;
     }
 
     /**
@@ -77,8 +207,165 @@ final class MessageStore {
      */
     void clear(final Throwable t) {
         LOGGER.debug("clear()");
-        pendingRequests.values().forEach(future -> future.tryEmitError(t));
-        pendingRequests.clear();
+        for (int i = 0; i < pendingRequests.length(); i++) {
+            final PendingRequest request = pendingRequests.getAndSet(i, null);
+            if (request != null) {
+                pendingCount.decrementAndGet();
+                request.fail(t);
+            }
+        }
+    }
+
+    private int index(final long messageId) {
+        return (int) messageId & mask;
+    }
+
+    abstract static class PendingRequest {
+        private final long messageId;
+
+        PendingRequest(final long id) {
+            messageId = id;
+        }
+
+        long getMessageId() {
+            return messageId;
+        }
+
+        /**
+         * @param response the received response
+         * @return {@code true} if the ownership of the response has been transferred to the subscriber
+         */
+        abstract boolean complete(BufferedArangoResponse response);
+
+        abstract void fail(Throwable t);
+
+        /**
+         * @return whether the request can be expired when its deadline is reached
+         */
+        boolean isExpirable() {
+            return true;
+        }
+    }
+
+    static final class BufferedRequest extends PendingRequest {
+        private final Sinks.One<BufferedArangoResponse> response = Sinks.one();
+
+        private BufferedRequest(final long id) {
+            super(id);
+        }
+
+        /**
+         * @return a {@link Mono} that will be resolved when the related response is received
+         */
+        Mono<BufferedArangoResponse> getResponse() {
+            return response.asMono();
+        }
+
+        @Override
+        boolean complete(final BufferedArangoResponse r) {
+            return response.currentSubscriberCount() > 0 && response.tryEmitValue(r).isSuccess();
+        }
+
+        @Override
+        void fail(final Throwable t) {
+            response.tryEmitError(t);
+        }
+    }
+
+    /**
+     * Pending request whose response head is emitted as soon as it is received, followed by the body fragments.
+     */
+    final class StreamingRequest extends PendingRequest {
+        private final Sinks.One<StreamingArangoResponse> head = Sinks.one();
+        private final Sinks.Many<ByteBuf> body = Sinks.many().unicast().onBackpressureBuffer();
+        // the body sink accepts a single subscriber, which is the draining one if the request fails before the body
+        // has been subscribed
+        private final AtomicBoolean bodySubscribed = new AtomicBoolean();
+        private volatile boolean headReceived;
+        @Nullable
+        private volatile Throwable failure;
+
+        private StreamingRequest(final long id) {
+            super(id);
+        }
+
+        /**
+         * @return a {@link Mono} that will be resolved when the related response head is received
+         */
+        Mono<StreamingArangoResponse> getResponse() {
+            return head.asMono();
+        }
+
+        /**
+         * @param response the received response head, its content is ignored
+         * @return {@code false} if nobody is waiting for the response anymore
+         */
+        boolean emitHead(final BufferedArangoResponse response) {
+            headReceived = true;
+            final StreamingArangoResponse streamingResponse = new StreamingArangoResponse(
+                    response.getVersion(),
+                    response.getType(),
+                    response.getResponseCode(),
+                    response.getMeta(),
+                    Flux.defer(this::subscribeBody).doOnCancel(() -> remove(getMessageId()))
+            );
+            return head.currentSubscriberCount() > 0 && head.tryEmitValue(streamingResponse).isSuccess();
+        }
+
+        private Flux<ByteBuf> subscribeBody() {
+            if (bodySubscribed.compareAndSet(false, true)) {
+                return body.asFlux();
+            }
+            final Throwable t = failure;
+            return Flux.error(t != null ? t : new IllegalStateException("The body can be subscribed once only!"));
+        }
+
+        /**
+         * @param fragment body fragment, the ownership of it is transferred to this request
+         */
+        void emitFragment(final ByteBuf fragment) {
+            if (!fragment.isReadable() || body.tryEmitNext(fragment).isFailure()) {
+                fragment.release();
+            }
+        }
+
+        /**
+         * Completes the body and removes this request from the store.
+         */
+        void completeBody() {
+            remove(getMessageId());
+            body.tryEmitComplete();
+        }
+
+        @Override
+        boolean complete(final BufferedArangoResponse response) {
+            if (!emitHead(response)) {
+                return false;
+            }
+            emitFragment(response.content());
+            body.tryEmitComplete();
+            return true;
+        }
+
+        @Override
+        void fail(final Throwable t) {
+            failure = t;
+            head.tryEmitError(t);
+            body.tryEmitError(t);
+            // nobody will consume the buffered fragments
+            if (bodySubscribed.compareAndSet(false, true)) {
+                body.asFlux().subscribe(ReferenceCountUtil::release, e -> {
+                });
+            }
+        }
+
+        /**
+         * @return {@code false} once the response head has been received, since the deadline does not apply to the body
+         */
+        @Override
+        boolean isExpirable() {
+            return !headReceived;
+        }
     }
 
 }
@@ -22,10 +22,16 @@ package com.arangodb.reactive.connection.vst;
 
 import com.arangodb.reactive.connection.ArangoRequest;
 import com.arangodb.reactive.connection.IOUtils;
-import com.arangodb.velocypack.VPackSlice;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCounted;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.arangodb.reactive.ArangoDefaults.HEADER_SIZE;
@@ -51,40 +57,69 @@ final class RequestConverter {
     }
 
     /**
+     * Frames the payload without copying it: the returned buffer is composed of the chunk headers interleaved with
+     * retained slices of the payload.
+     *
      * @param id        id of the VST message id
      * @param payload   request payload, it will be released before returning
      * @param chunkSize VST chunkSize
      * @return a buffer ready to be sent following the VST 1.1 spec
      */
     static ByteBuf encodeBuffer(final long id, final ByteBuf payload, final int chunkSize) {
-        final ByteBuf out = IOUtils.createBuffer();
-
-        for (final Chunk chunk : buildChunks(id, payload, chunkSize)) {
-
-            final int length = chunk.getContentLength() + HEADER_SIZE;
-
-            out.writeIntLE(length);
-            out.writeIntLE(chunk.getChunkX());
-            out.writeLongLE(chunk.getMessageId());
-            out.writeLongLE(chunk.getMessageLength());
-
-            final int contentOffset = chunk.getContentOffset();
-            final int contentLength = chunk.getContentLength();
-
-            out.writeBytes(payload, contentOffset, contentLength);
+        try {
+            final List<Chunk> chunks = buildChunks(id, payload, chunkSize);
+            final CompositeByteBuf out = IOUtils.createCompositeBuffer(chunks.size() * 2);
+            final ByteBuf headers = IOUtils.createBuffer(chunks.size() * HEADER_SIZE);
+            try {
+                for (final Chunk chunk : chunks) {
+                    final int headerOffset = headers.writerIndex();
+                    headers.writeIntLE(chunk.getContentLength() + HEADER_SIZE);
+                    headers.writeIntLE(chunk.getChunkX());
+                    headers.writeLongLE(chunk.getMessageId());
+                    headers.writeLongLE(chunk.getMessageLength());
+
+                    out.addComponent(true, headers.retainedSlice(headerOffset, HEADER_SIZE));
+                    out.addComponent(true, payload.retainedSlice(
+                            payload.readerIndex() + chunk.getContentOffset(), chunk.getContentLength()));
+                }
+            } finally {
+                headers.release();
+            }
+            return out;
+        } finally {
+            payload.release();
         }
+    }
 
-        payload.release();
-        return out;
+    /**
+     * Frames a request whose body is streamed, emitting every chunk as soon as enough body data has been received. The
+     * length of the body must be known in advance, since the message length is part of every chunk header.
+     *
+     * @param id         id of the VST message id
+     * @param request    ArangoDB request, whose body is ignored
+     * @param body       body of the request, the buffers are released once framed
+     * @param bodyLength length of the body (bytes)
+     * @param chunkSize  VST chunkSize
+     * @return the VST 1.1 chunks of the message, each one framed in its own buffer, the body is requested one buffer
+     * at a time
+     */
+    static Flux<ByteBuf> encodeStream(final long id, final ArangoRequest request, final Flux<ByteBuf> body,
+                                      final long bodyLength, final int chunkSize) {
+        return Flux.defer(() -> {
+            final StreamEncoder encoder = new StreamEncoder(id, RequestHeaderWriter.write(request), bodyLength,
+                    chunkSize);
+            return Flux.concat(body.concatMapIterable(encoder::encode, 1), Mono.fromCallable(encoder::finish))
+                    .doFinally(s -> encoder.release())
+                    .doOnDiscard(ByteBuf.class, ReferenceCounted::release);
+        });
     }
 
     private static ByteBuf createVstPayload(final ArangoRequest request) {
-        VPackSlice headSlice = VPackVstSerializers.serialize(request);
-        int headSize = headSlice.getByteSize();
-        ByteBuf payload = IOUtils.createBuffer(headSize + request.getBody().length);
-        payload.writeBytes(headSlice.getBuffer(), 0, headSize);
-        payload.writeBytes(request.getBody());
-        return payload;
+        final ByteBuf head = RequestHeaderWriter.write(request);
+        if (request.getBody().length == 0) {
+            return head;
+        }
+        return Unpooled.wrappedBuffer(head, Unpooled.wrappedBuffer(request.getBody()));
     }
 
     private static List<Chunk> buildChunks(final long id, final ByteBuf payload, final int chunkSize) {
@@ -104,4 +139,96 @@ final class RequestConverter {
         return chunks;
     }
 
+    /**
+     * Accumulates the received data, until it is enough to emit a chunk. Every chunk is composed of retained slices of
+     * the received buffers, which are released as soon as they have been completely sliced.
+     */
+    private static final class StreamEncoder {
+        private final long messageId;
+        private final long messageLength;
+        private final long bodyLength;
+        private final int chunkSize;
+        private final int numberOfChunks;
+        private final ArrayDeque<ByteBuf> pending = new ArrayDeque<>();
+        private long pendingBytes;
+        private long receivedBodyBytes;
+        private int chunkIndex;
+
+        StreamEncoder(final long id, final ByteBuf head, final long length, final int size) {
+            messageId = id;
+            bodyLength = length;
+            messageLength = head.readableBytes() + length;
+            chunkSize = size;
+            numberOfChunks = Math.toIntExact((messageLength + size - 1) / size);
+            add(head);
+        }
+
+        List<ByteBuf> encode(final ByteBuf buf) {
+            receivedBodyBytes += buf.readableBytes();
+            if (receivedBodyBytes > bodyLength) {
+                buf.release();
+                throw new IllegalStateException("Received more than the declared body length: " + bodyLength);
+            }
+            add(buf);
+            if (pendingBytes < chunkSize) {
+                return Collections.emptyList();
+            }
+            final List<ByteBuf> chunks = new ArrayList<>((int) (pendingBytes / chunkSize));
+            while (pendingBytes >= chunkSize) {
+                chunks.add(nextChunk(chunkSize));
+            }
+            return chunks;
+        }
+
+        ByteBuf finish() {
+            if (receivedBodyBytes != bodyLength) {
+                throw new IllegalStateException("Received " + receivedBodyBytes
+                        + " bytes instead of the declared body length: " + bodyLength);
+            }
+            // null completes the stream without emitting
+            return pendingBytes > 0 ? nextChunk((int) pendingBytes) : null;
+        }
+
+        void release() {
+            ByteBuf buf = pending.poll();
+            while (buf != null) {
+                buf.release();
+                buf = pending.poll();
+            }
+        }
+
+        private void add(final ByteBuf buf) {
+            if (buf.isReadable()) {
+                pending.offer(buf);
+                pendingBytes += buf.readableBytes();
+            } else {
+                buf.release();
+            }
+        }
+
+        private ByteBuf nextChunk(final int contentLength) {
+            final Chunk chunk = new Chunk(messageId, chunkIndex++, numberOfChunks, messageLength, 0, contentLength);
+            final ByteBuf header = IOUtils.createBuffer(HEADER_SIZE, HEADER_SIZE);
+            header.writeIntLE(chunk.getContentLength() + HEADER_SIZE);
+            header.writeIntLE(chunk.getChunkX());
+            header.writeLongLE(chunk.getMessageId());
+            header.writeLongLE(chunk.getMessageLength());
+
+            final CompositeByteBuf out = IOUtils.createCompositeBuffer();
+            out.addComponent(true, header);
+            int remaining = contentLength;
+            while (remaining > 0) {
+                final ByteBuf buf = pending.element();
+                final int length = Math.min(remaining, buf.readableBytes());
+                out.addComponent(true, buf.readRetainedSlice(length));
+                if (!buf.isReadable()) {
+                    pending.remove().release();
+                }
+                remaining -= length;
+            }
+            pendingBytes -= contentLength;
+            return out;
+        }
+    }
+
 }
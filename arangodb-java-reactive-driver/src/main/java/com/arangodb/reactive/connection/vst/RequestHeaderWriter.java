@@ -0,0 +1,129 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.RequestTemplate;
+import com.arangodb.reactive.connection.VPackWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes the VelocyStream request header into a pooled direct buffer of the exact size, as VelocyPack compact array:
+ * {@code [version, type, database, requestType, path, {queryParams}, {headerParams}]}. For requests created from a
+ * {@link RequestTemplate}, the pre-encoded database and path prefix of the template are copied and only the variable
+ * parts of the request are encoded.
+ *
+ * @author Michele Rastelli
+ * @see <a href="https://github.com/arangodb/velocystream#request--response">API</a>
+ */
+final class RequestHeaderWriter {
+
+    private static final int HEADER_ITEMS = 7;
+
+    private RequestHeaderWriter() {
+    }
+
+    /**
+     * @param request request
+     * @return a buffer containing the VelocyPack encoded request header, which must be released by the caller
+     */
+    static ByteBuf write(final ArangoRequest request) {
+        final Optional<RequestTemplate> template = request.getMatchingTemplate();
+        final String database = request.getDatabase();
+        final String path = request.getPath();
+        final ByteBuf encodedDatabase = template.map(RequestTemplate::getEncodedDatabase).orElse(null);
+        final ByteBuf encodedPathPrefix = template.map(RequestTemplate::getEncodedPathPrefix).orElse(null);
+        final int pathSuffixOffset = template.map(it -> it.getPathPrefix().length()).orElse(0);
+
+        final int databaseLength = encodedDatabase != null
+                ? encodedDatabase.readableBytes()
+                : ByteBufUtil.utf8Bytes(database);
+        final int pathPrefixLength = encodedPathPrefix != null ? encodedPathPrefix.readableBytes() : 0;
+        final int pathSuffixLength = ByteBufUtil.utf8Bytes(path, pathSuffixOffset, path.length());
+        final int queryParamsSize = objectSize(request.getQueryParams());
+        final int headerParamsSize = objectSize(request.getHeaderParams());
+        final int byteSize = VPackWriter.compactSize(
+                VPackWriter.intSize(request.getVersion())
+                        + VPackWriter.intSize(request.getType())
+                        + VPackWriter.stringSize(databaseLength)
+                        + VPackWriter.intSize(request.getRequestType().getType())
+                        + VPackWriter.stringSize(pathPrefixLength + pathSuffixLength)
+                        + queryParamsSize
+                        + headerParamsSize,
+                HEADER_ITEMS);
+
+        final ByteBuf out = IOUtils.createBuffer(byteSize, byteSize);
+        VPackWriter.writeArrayHeader(out, byteSize);
+        VPackWriter.writeInt(out, request.getVersion());
+        VPackWriter.writeInt(out, request.getType());
+        if (encodedDatabase != null) {
+            VPackWriter.writeStringHeader(out, databaseLength);
+            out.writeBytes(encodedDatabase, encodedDatabase.readerIndex(), databaseLength);
+        } else {
+            VPackWriter.writeString(out, database, databaseLength);
+        }
+        VPackWriter.writeInt(out, request.getRequestType().getType());
+        VPackWriter.writeStringHeader(out, pathPrefixLength + pathSuffixLength);
+        if (encodedPathPrefix != null) {
+            out.writeBytes(encodedPathPrefix, encodedPathPrefix.readerIndex(), pathPrefixLength);
+        }
+        ByteBufUtil.reserveAndWriteUtf8(out, path, pathSuffixOffset, path.length(), pathSuffixLength);
+        writeObject(out, request.getQueryParams(), queryParamsSize);
+        writeObject(out, request.getHeaderParams(), headerParamsSize);
+        VPackWriter.writeEnd(out, HEADER_ITEMS);
+        return out;
+    }
+
+    private static int objectSize(final Map<String, Optional<String>> params) {
+        int items = 0;
+        int itemsSize = 0;
+        for (final Map.Entry<String, Optional<String>> e : params.entrySet()) {
+            if (e.getValue().isPresent()) {
+                items++;
+                itemsSize += VPackWriter.stringSize(ByteBufUtil.utf8Bytes(e.getKey()))
+                        + VPackWriter.stringSize(ByteBufUtil.utf8Bytes(e.getValue().get()));
+            }
+        }
+        return VPackWriter.compactSize(itemsSize, items);
+    }
+
+    private static void writeObject(final ByteBuf out, final Map<String, Optional<String>> params, final int size) {
+        VPackWriter.writeObjectHeader(out, size);
+        if (size == 1) {
+            return;
+        }
+        int items = 0;
+        for (final Map.Entry<String, Optional<String>> e : params.entrySet()) {
+            if (e.getValue().isPresent()) {
+                items++;
+                VPackWriter.writeString(out, e.getKey(), ByteBufUtil.utf8Bytes(e.getKey()));
+                VPackWriter.writeString(out, e.getValue().get(), ByteBufUtil.utf8Bytes(e.getValue().get()));
+            }
+        }
+        VPackWriter.writeEnd(out, items);
+    }
+
+}
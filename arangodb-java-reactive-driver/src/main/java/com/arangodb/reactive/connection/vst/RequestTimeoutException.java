@@ -0,0 +1,39 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Thrown when no response has been received for a request within its deadline. Unlike other errors, it does not cause
+ * the connection to be closed, since late responses are discarded.
+ *
+ * @author Michele Rastelli
+ */
+final class RequestTimeoutException extends TimeoutException {
+
+    private static final long serialVersionUID = 1L;
+
+    RequestTimeoutException(final String message) {
+        super(message);
+    }
+
+}
@@ -21,10 +21,10 @@
 
 package com.arangodb.reactive.connection.vst;
 
-import com.arangodb.reactive.connection.ArangoResponse;
-import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
 import com.arangodb.velocypack.VPackSlice;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 
 /**
  * @author Mark Vollmary
@@ -36,15 +36,57 @@ final class ResponseConverter {
     }
 
     /**
-     * @param buffer received VST buffer
+     * Decodes the response, copying only the VPack head. The body of the returned response is a retained slice of the
+     * received buffer.
+     *
+     * @param buffer received VST buffer, it will be released before returning
      * @return ArangoDB response
      */
-    static ArangoResponse decodeResponse(final byte[] buffer) {
-        VPackSlice head = new VPackSlice(buffer);
-        final int headSize = head.getByteSize();
-        ByteBuf body = IOUtils.createBuffer(buffer.length - headSize);
-        body.writeBytes(buffer, headSize, buffer.length - headSize);
-        return VPackVstDeserializers.deserializeArangoResponse(head, body);
+    static BufferedArangoResponse decodeResponse(final ByteBuf buffer) {
+        try {
+            final int headSize = getHeadSize(buffer);
+            VPackSlice head = new VPackSlice(ByteBufUtil.getBytes(buffer, buffer.readerIndex(), headSize));
+            ByteBuf body = buffer.retainedSlice(buffer.readerIndex() + headSize, buffer.readableBytes() - headSize);
+            return VPackVstDeserializers.deserializeArangoResponse(head, body);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * @param buffer buffer starting with the VPack response head
+     * @return the byte size of the VPack response head, reading only its first bytes
+     * @see <a href="https://github.com/arangodb/velocypack/blob/master/VelocyPack.md#arrays">VPack arrays</a>
+     */
+    static int getHeadSize(final ByteBuf buffer) {
+        final int offset = buffer.readerIndex();
+        final int head = buffer.getUnsignedByte(offset);
+        if (head == 0x01) {
+            // empty array
+            return 1;
+        } else if (head >= 0x02 && head <= 0x09) {
+            // array with or without index table, byte length in 1, 2, 4 or 8 bytes
+            final int width = 1 << ((head - 0x02) % 4);
+            long size = 0L;
+            for (int i = width; i > 0; i--) {
+                size = (size << 8) | buffer.getUnsignedByte(offset + i);
+            }
+            return Math.toIntExact(size);
+        } else if (head == 0x13) {
+            // compact array, byte length as variable length unsigned integer
+            long size = 0L;
+            int shift = 0;
+            int i = offset + 1;
+            short b;
+            do {
+                b = buffer.getUnsignedByte(i++);
+                size |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return Math.toIntExact(size);
+        } else {
+            throw new IllegalArgumentException("Unexpected VPack type for response head: " + head);
+        }
     }
 
 }
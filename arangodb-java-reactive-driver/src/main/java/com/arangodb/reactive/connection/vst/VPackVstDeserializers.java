@@ -21,12 +21,11 @@
 package com.arangodb.reactive.connection.vst;
 
 
-import com.arangodb.reactive.connection.ArangoResponse;
-import com.arangodb.reactive.connection.ArangoResponseBuilder;
-import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
 import com.arangodb.velocypack.VPackSlice;
 import io.netty.buffer.ByteBuf;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
@@ -39,25 +38,33 @@ final class VPackVstDeserializers {
     private VPackVstDeserializers() {
     }
 
-    static ArangoResponse deserializeArangoResponse(final VPackSlice vpack, final ByteBuf body) {
-        byte[] bodyBytes = IOUtils.getByteArray(body);
-        body.release();
-
-        ArangoResponseBuilder builder = ArangoResponse.builder()
-                .body(bodyBytes)
-                .version(vpack.get(0).getAsInt())
-                .type(vpack.get(1).getAsInt())
-                .responseCode(vpack.get(2).getAsInt());
-
-        if (vpack.size() > 3) {
-            Iterator<Map.Entry<String, VPackSlice>> metaIterator = vpack.get(3).objectIterator();
-            while (metaIterator.hasNext()) {
-                Map.Entry<String, VPackSlice> meta = metaIterator.next();
-                builder.putMeta(meta.getKey().toLowerCase(Locale.ROOT), meta.getValue().getAsString());
+    /**
+     * @param vpack response head
+     * @param body  response body, the ownership of it is transferred to the returned response
+     * @return the deserialized response
+     */
+    static BufferedArangoResponse deserializeArangoResponse(final VPackSlice vpack, final ByteBuf body) {
+        try {
+            Map<String, String> meta = new HashMap<>();
+            if (vpack.size() > 3) {
+                Iterator<Map.Entry<String, VPackSlice>> metaIterator = vpack.get(3).objectIterator();
+                while (metaIterator.hasNext()) {
+                    Map.Entry<String, VPackSlice> entry = metaIterator.next();
+                    meta.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue().getAsString());
+                }
             }
-        }
 
-        return builder.build();
+            return new BufferedArangoResponse(
+                    vpack.get(0).getAsInt(),
+                    vpack.get(1).getAsInt(),
+                    vpack.get(2).getAsInt(),
+                    meta,
+                    body
+            );
+        } catch (RuntimeException e) {
+            body.release();
+            throw e;
+        }
     }
 
 }
@@ -1,59 +0,0 @@
-/*
- * DISCLAIMER
- *
- * Copyright 2016 ArangoDB GmbH, Cologne, Germany
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- * Copyright holder is ArangoDB GmbH, Cologne, Germany
- */
-
-package com.arangodb.reactive.connection.vst;
-
-
-import com.arangodb.reactive.connection.ArangoRequest;
-import com.arangodb.velocypack.VPackBuilder;
-import com.arangodb.velocypack.VPackSlice;
-import com.arangodb.velocypack.ValueType;
-
-/**
- * @author Michele Rastelli
- */
-final class VPackVstSerializers {
-
-    private VPackVstSerializers() {
-    }
-
-    static VPackSlice serialize(final ArangoRequest request) {
-        final VPackBuilder builder = new VPackBuilder();
-        builder.add(ValueType.ARRAY);
-        builder.add(request.getVersion());
-        builder.add(request.getType());
-        builder.add(request.getDatabase());
-        builder.add(request.getRequestType().getType());
-        builder.add(request.getPath());
-        builder.add(ValueType.OBJECT);
-        request.getQueryParams().entrySet().stream()
-                .filter(it -> it.getValue().isPresent())
-                .forEach(it -> builder.add(it.getKey(), it.getValue().get()));
-        builder.close();
-        builder.add(ValueType.OBJECT);
-        request.getHeaderParams().entrySet().stream()
-                .filter(e -> e.getValue().isPresent())
-                .forEach(e -> builder.add(e.getKey(), e.getValue().get()));
-        builder.close();
-        builder.close();
-        return builder.slice();
-    }
-
-}
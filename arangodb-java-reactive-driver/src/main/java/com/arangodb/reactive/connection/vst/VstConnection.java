@@ -24,22 +24,27 @@ import com.arangodb.reactive.connection.ArangoConnection;
 import com.arangodb.reactive.connection.ArangoRequest;
 import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
 import com.arangodb.reactive.connection.ConnectionConfig;
 import com.arangodb.reactive.connection.ConnectionSchedulerFactory;
 import com.arangodb.reactive.connection.HostDescription;
-import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
 import com.arangodb.reactive.connection.exceptions.ArangoConnectionAuthenticationException;
+import com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException;
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCounted;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import reactor.netty.Connection;
 import reactor.netty.DisposableChannel;
+import reactor.netty.NettyInbound;
 import reactor.netty.channel.AbortedException;
 import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.tcp.TcpClient;
@@ -47,9 +52,13 @@ import reactor.netty.tcp.TcpClient;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
 
 import static com.arangodb.reactive.connection.ConnectionSchedulerFactory.THREAD_PREFIX;
+import static com.arangodb.reactive.connection.ConnectionUtils.applyTransportConfig;
 import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS;
 
@@ -65,14 +74,17 @@ public final class VstConnection extends ArangoConnection {
     private final HostDescription host;
     private final ConnectionConfig config;
     private final MessageStore messageStore;
+    private final ChunkSizePolicy chunkSizePolicy;
     private final Scheduler scheduler;
     private final VstReceiver vstReceiver;
     // mono that will be resolved when the closing process is finished
     private final Sinks.Empty<Void> closed;
     private volatile boolean initialized = false;
     private volatile boolean closing = false;
+    // connection ready to be used, for concurrent dispatch
+    @Nullable
+    private volatile Connection activeConnection;
     // state managed by scheduler thread arango-vst-X
-    private long mId = 0L;
     private Sinks.One<Connection> session;
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
 
@@ -85,9 +97,10 @@ public final class VstConnection extends ArangoConnection {
         host = hostDescription;
         config = connectionConfig;
         closed = Sinks.empty();
-        messageStore = new MessageStore();
+        messageStore = new MessageStore(config.getMaxInFlightRequests());
+        chunkSizePolicy = new ChunkSizePolicy(config);
         scheduler = schedulerFactory.getScheduler();
-        vstReceiver = new VstReceiver(messageStore::resolve);
+        vstReceiver = new VstReceiver(messageStore);
     }
 
     static void assertCorrectThread() {
@@ -108,27 +121,89 @@ public final class VstConnection extends ArangoConnection {
 
     @Override
     public Mono<ArangoResponse> execute(final ArangoRequest request) {
+        return executeBuffered(request).map(BufferedArangoResponse::copyAndRelease);
+    }
+
+    @Override
+    public Mono<BufferedArangoResponse> executeBuffered(final ArangoRequest request) {
         LOGGER.debug("execute({})", request);
+        return execute(c -> dispatch(c, request))
+                .doOnDiscard(BufferedArangoResponse.class, ReferenceCounted::release);
+    }
+
+    /**
+     * Streams the body as VST chunks, emitted as soon as enough data has been received. Since the message length is
+     * part of the chunk headers, bodies of unknown length are aggregated before sending them. Errors of the body
+     * publisher close the connection, since the message could have been partially sent.
+     */
+    @Override
+    public Mono<BufferedArangoResponse> executeBuffered(final ArangoRequest request, final Flux<ByteBuf> body,
+                                                        final long contentLength) {
+        if (contentLength < 0) {
+            return super.executeBuffered(request, body, contentLength);
+        }
+        LOGGER.debug("executeBuffered({}, {})", request, contentLength);
+        return execute(c -> dispatch(c, request, body, contentLength))
+                .doOnDiscard(BufferedArangoResponse.class, ReferenceCounted::release);
+    }
+
+    @Override
+    public Mono<StreamingArangoResponse> executeStreaming(final ArangoRequest request) {
+        LOGGER.debug("executeStreaming({})", request);
+        return execute(c -> dispatchStreaming(c, request))
+                .doOnDiscard(StreamingArangoResponse.class, StreamingArangoResponse::discard);
+    }
+
+    /**
+     * @param dispatcher function dispatching the request over the provided connection
+     * @param <T>        response type
+     * @return the response
+     */
+    private <T> Mono<T> execute(final Function<Connection, Mono<T>> dispatcher) {
+        // the timeout operator only applies to connecting, the deadlines of the requests are tracked by VstOutbound
+        if (config.getConcurrentDispatch()) {
+            return Mono.defer(() -> {
+                final Connection connection = activeConnection;
+                if (connection != null) {
+                    // fast path: the request is dispatched from the caller thread
+                    return dispatcher.apply(connection);
+                }
+                return subscribeOnScheduler(this::connect).timeout(config.getTimeout()).flatMap(dispatcher);
+            })
+                    .doOnError(this::isConnectionError, this::handleError);
+        }
+
         return subscribeOnScheduler(this::connect)
-                .flatMap(c -> {
-                    final long id = increaseAndGetMessageCounter();
-                    return execute(c, id, RequestConverter.encodeRequest(id, request, config.getChunkSize()));
-                })
                 .timeout(config.getTimeout())
-                .doOnError(this::handleError)
+                .flatMap(dispatcher)
+                .doOnError(this::isConnectionError, this::handleError)
                 .publishOn(Schedulers.boundedElastic());
     }
 
+    /**
+     * @return statistics of the messages sent by this connection
+     */
+    public VstConnectionStats getStats() {
+        return chunkSizePolicy.getStats();
+    }
+
+    @Override
+    public int getActiveRequests() {
+        return messageStore.size();
+    }
+
     @Override
     public Mono<Boolean> isConnected() {
         return subscribeOnScheduler(() -> {
-            if (connectionState == ConnectionState.CONNECTED) {
+            if (connectionState != ConnectionState.CONNECTED) {
+                return Mono.just(false);
+            } else if (isRecentlyActive(config.getPingIdleThreshold(), config.getTimeout())) {
+                return Mono.just(true);
+            } else {
                 // double check if it is still connected
-                return requestUser()
+                return ping()
                         .map(it -> true)
                         .onErrorReturn(false);
-            } else {
-                return Mono.just(false);
             }
         }).publishOn(Schedulers.boundedElastic());
     }
@@ -157,11 +232,6 @@ public final class VstConnection extends ArangoConnection {
                 .publishOn(Schedulers.boundedElastic());
     }
 
-    private long increaseAndGetMessageCounter() {
-        assertCorrectThread();
-        return ++mId;
-    }
-
     private ConnectionProvider createConnectionProvider() {
         return ConnectionProvider.builder("tcp")
                 .maxConnections(1)
@@ -174,29 +244,92 @@ public final class VstConnection extends ArangoConnection {
         assertCorrectThread();
         LOGGER.debug("authenticate()");
         return getAuthentication()
-                .map(authenticationMethod -> {
-                    final long id = increaseAndGetMessageCounter();
-                    final ByteBuf buffer = RequestConverter.encodeBuffer(
-                            id,
-                            authenticationMethod.getVstAuthenticationMessage(),
-                            config.getChunkSize()
-                    );
-                    return execute(connection, id, buffer)
-                            .map(response -> {
-                                if (response.getResponseCode() != HttpResponseStatus.OK.code()) {
-                                    LOGGER.warn("in authenticate(): received response {}", response);
-                                    throw ArangoConnectionAuthenticationException.of(response);
-                                }
-                                return response;
-                            })
-                            .then();
-                })
+                .map(authenticationMethod -> dispatch(connection, id -> RequestConverter.encodeBuffer(
+                        id,
+                        authenticationMethod.getVstAuthenticationMessage(),
+                        chunkSizePolicy.getChunkSize()
+                ))
+                        .map(BufferedArangoResponse::copyAndRelease)
+                        .map(response -> {
+                            if (response.getResponseCode() != HttpResponseStatus.OK.code()) {
+                                LOGGER.warn("in authenticate(): received response {}", response);
+                                throw ArangoConnectionAuthenticationException.of(response);
+                            }
+                            return response;
+                        })
+                        .then())
                 .orElse(Mono.empty());
     }
 
-    private Mono<ArangoResponse> execute(final Connection connection, final long id, final ByteBuf buf) {
-        assertCorrectThread();
-        return send(connection, buf).then(messageStore.addRequest(id));
+    private Mono<BufferedArangoResponse> dispatch(final Connection connection, final ArangoRequest request) {
+        return dispatch(connection, id -> RequestConverter.encodeRequest(id, request, chunkSizePolicy.getChunkSize()));
+    }
+
+    private Mono<BufferedArangoResponse> dispatch(final Connection connection, final LongFunction<ByteBuf> encoder) {
+        final MessageStore.BufferedRequest pendingRequest = messageStore.addRequest();
+        if (pendingRequest == null) {
+            return Mono.error(ArangoConnectionOverloadedException.of(config.getMaxInFlightRequests()));
+        }
+        return dispatch(connection, pendingRequest, pendingRequest.getResponse(), encoder);
+    }
+
+    private Mono<StreamingArangoResponse> dispatchStreaming(final Connection connection, final ArangoRequest request) {
+        final MessageStore.StreamingRequest pendingRequest = messageStore.addStreamingRequest();
+        if (pendingRequest == null) {
+            return Mono.error(ArangoConnectionOverloadedException.of(config.getMaxInFlightRequests()));
+        }
+        return dispatch(connection, pendingRequest, pendingRequest.getResponse(),
+                id -> RequestConverter.encodeRequest(id, request, chunkSizePolicy.getChunkSize()));
+    }
+
+    /**
+     * @param connection     connection to use
+     * @param pendingRequest request registered in the message store
+     * @param response       response of the pending request
+     * @param encoder        function encoding the message having the provided message id
+     * @param <T>            response type
+     * @return the response
+     */
+    private <T> Mono<T> dispatch(final Connection connection, final MessageStore.PendingRequest pendingRequest,
+                                 final Mono<T> response, final LongFunction<ByteBuf> encoder) {
+        final long id = pendingRequest.getMessageId();
+        final long deadline = System.nanoTime() + config.getTimeout().toNanos();
+        final ByteBuf buf;
+        try {
+            buf = encoder.apply(id);
+        } catch (RuntimeException e) {
+            messageStore.remove(id);
+            return Mono.error(e);
+        }
+        onWrite();
+
+        // subscribes to the response before sending the request, so that the response can be released if the
+        // subscription gets cancelled before receiving it
+        return Flux.merge(
+                response,
+                send(connection, buf, id, deadline).then(Mono.<T>empty())
+        )
+                .next()
+                .doOnCancel(() -> messageStore.remove(id));
+    }
+
+    private Mono<BufferedArangoResponse> dispatch(final Connection connection, final ArangoRequest request,
+                                                  final Flux<ByteBuf> body, final long bodyLength) {
+        final MessageStore.BufferedRequest pendingRequest = messageStore.addRequest();
+        if (pendingRequest == null) {
+            return Mono.error(ArangoConnectionOverloadedException.of(config.getMaxInFlightRequests()));
+        }
+        final long id = pendingRequest.getMessageId();
+        final long deadline = System.nanoTime() + config.getTimeout().toNanos();
+        final Flux<ByteBuf> chunks = RequestConverter.encodeStream(id, request, body, bodyLength,
+                chunkSizePolicy.getChunkSize());
+        onWrite();
+        return Flux.merge(
+                pendingRequest.getResponse(),
+                send(connection, chunks, id, deadline).then(Mono.<BufferedArangoResponse>empty())
+        )
+                .next()
+                .doOnCancel(() -> messageStore.remove(id));
     }
 
     /**
@@ -244,16 +377,74 @@ public final class VstConnection extends ArangoConnection {
         }).then().subscribeOn(scheduler);
     }
 
+    /**
+     * Enqueues the message in the outbound stage of the connection, which writes its chunks interleaved with the ones
+     * of the other pending messages and flushes in batches. Errors occurring while writing close the connection.
+     *
+     * @param connection connection to use
+     * @param buf        message framed in VST chunks, it will be released once written
+     * @param messageId  id of the message
+     * @param deadline   deadline of the request (nanos), after which it is completed exceptionally
+     * @return a Mono completing once the buffer has been enqueued
+     */
+    private Mono<Void> send(final Connection connection, final ByteBuf buf, final long messageId,
+                            final long deadline) {
+        return Mono.<Void>defer(() -> getOutbound(connection).write(buf, messageId, deadline)
+                ? Mono.empty()
+                : Mono.error(new IOException("Connection closed!")))
+                .doOnError(t -> {
+                    LOGGER.atDebug().addArgument(() -> t.getClass().getSimpleName()).log("send(ByteBuf)#doOnError({})");
+                    handleError(t);
+                });
+    }
+
+    /**
+     * Enqueues the chunks of a streamed message in the outbound stage of the connection, one at a time: the next
+     * chunk is requested once the previous one has been flushed, so that at most one chunk per message is buffered.
+     *
+     * @param connection connection to use
+     * @param chunks     chunks of the message, each one framed in its own buffer
+     * @param messageId  id of the message
+     * @param deadline   deadline of the request (nanos), after which it is completed exceptionally
+     * @return a Mono completing once all the chunks have been flushed
+     */
+    private Mono<Void> send(final Connection connection, final Flux<ByteBuf> chunks, final long messageId,
+                            final long deadline) {
+        return Mono.defer(() -> {
+            final VstOutbound outbound = getOutbound(connection);
+            // the deadline is tracked once per message
+            final AtomicBoolean first = new AtomicBoolean(true);
+            return chunks
+                    .concatMap(chunk -> Mono.<Void>create(sink -> {
+                        if (!outbound.write(chunk, messageId, deadline, first.getAndSet(false), sink::success)) {
+                            sink.error(new IOException("Connection closed!"));
+                        }
+                    }), 1)
+                    .doOnDiscard(ByteBuf.class, ReferenceCounted::release)
+                    .then();
+        })
+                .doOnError(t -> {
+                    LOGGER.atDebug().addArgument(() -> t.getClass().getSimpleName()).log("send(Flux)#doOnError({})");
+                    handleError(t);
+                });
+    }
+
+    private VstOutbound getOutbound(final Connection connection) {
+        return VstOutbound.of(connection,
+                config.getFlushThresholdBytes(), config.getFlushThresholdChunks(), chunkSizePolicy,
+                config.getTimeout(), this::expire);
+    }
+
     @SuppressWarnings("squid:S1872")    // Classes should not be compared by name
-    private Mono<Void> send(final Connection connection, final ByteBuf buf) {
-        assertCorrectThread();
+    private Mono<Void> sendProtocolHeader(final Connection connection) {
         return connection.outbound()
-                .send(Mono.just(buf))
+                .send(Mono.just(wrappedBuffer(PROTOCOL_HEADER)))
                 .then()
                 .onErrorMap(e -> e.getClass().getSimpleName().equals("InternalNettyException"), Throwable::getCause)
                 .onErrorMap(AbortedException.class, e -> new IOException(e.getCause()))
                 .doOnError(t -> {
-                    LOGGER.atDebug().addArgument(() -> t.getClass().getSimpleName()).log("send(ByteBuf)#doOnError({})");
+                    LOGGER.atDebug().addArgument(() -> t.getClass().getSimpleName())
+                            .log("sendProtocolHeader()#doOnError({})");
                     handleError(t);
                 });
     }
@@ -266,6 +457,21 @@ public final class VstConnection extends ArangoConnection {
                 .orElse(httpClient);
     }
 
+    private void expire(final long messageId) {
+        if (messageStore.isPending(messageId)) {
+            messageStore.expire(messageId, new RequestTimeoutException(
+                    "Did not receive the response within " + config.getTimeout().toMillis() + "ms"));
+        }
+    }
+
+    /**
+     * @param t error
+     * @return whether the error should cause the connection to be disconnected
+     */
+    private boolean isConnectionError(final Throwable t) {
+        return !(t instanceof ArangoConnectionOverloadedException || t instanceof RequestTimeoutException);
+    }
+
     private void handleError(final Throwable t) {
         LOGGER.atDebug().addArgument(() -> t.getClass().getSimpleName()).log("handleError({})");
         subscribeOnScheduler(() -> {
@@ -275,8 +481,8 @@ public final class VstConnection extends ArangoConnection {
             }
             connectionState = ConnectionState.DISCONNECTED;
             vstReceiver.clear();
+            activeConnection = null;
             messageStore.clear(t);
-            mId = 0L;
             if (session != null) {
                 session.tryEmitError(t);
                 session = null;
@@ -306,7 +512,7 @@ public final class VstConnection extends ArangoConnection {
             return createTcpClient()
                     .connect()
                     .publishOn(scheduler)
-                    .flatMap(c -> send(c, wrappedBuffer(PROTOCOL_HEADER)).then(authenticate(c)).thenReturn(c))
+                    .flatMap(c -> sendProtocolHeader(c).then(authenticate(c)).thenReturn(c))
                     .publishOn(scheduler)
                     .doOnNext(this::setSession);
         } else {
@@ -316,19 +522,47 @@ public final class VstConnection extends ArangoConnection {
 
     private TcpClient createTcpClient() {
         assertCorrectThread();
-        return applySslContext(TcpClient.create(createConnectionProvider()))
+        return applySslContext(applyTransportConfig(TcpClient.create(createConnectionProvider()), config.getTransport()))
                 .option(CONNECT_TIMEOUT_MILLIS, Math.toIntExact(config.getTimeout().toMillis()))
                 .host(host.getHost())
                 .port(host.getPort())
                 .doOnDisconnected(c -> handleError(new IOException("Connection closed!")))
-                .handle((inbound, outbound) -> inbound
-                        .receive()
-                        // creates a defensive copy of the buffer to be propagate to the scheduler thread
-                        .map(IOUtils::copyOf)
-                        .publishOn(scheduler)
-                        .doOnNext(vstReceiver::handleByteBuf)
-                        .then()
-                );
+                .handle((inbound, outbound) -> config.getConcurrentDispatch()
+                        ? receiveOnEventLoop(inbound)
+                        : receiveOnScheduler(inbound));
+    }
+
+    private Mono<Void> receiveOnScheduler(final NettyInbound inbound) {
+        return inbound
+                .receive()
+                // retains the buffer to be propagated to the scheduler thread, it will be released by
+                // vstReceiver once the received chunks have been sliced
+                .retain()
+                .doOnNext(b -> onRead())
+                .publishOn(scheduler)
+                .doOnNext(vstReceiver::handleByteBuf)
+                .doOnDiscard(ByteBuf.class, ByteBuf::release)
+                .then();
+    }
+
+    /**
+     * Handles the received buffers in the channel event loop, using a receiver dedicated to the channel, so that
+     * responses are resolved without switching threads.
+     */
+    private Mono<Void> receiveOnEventLoop(final NettyInbound inbound) {
+        final VstReceiver receiver = new VstReceiver(messageStore);
+        // the inbound flux is not terminated when the connection is disposed, thus the receiver is shut down in the
+        // channel event loop once the channel has been closed
+        inbound.withConnection(c -> c.onDispose(receiver::shutDown));
+        return inbound
+                .receive()
+                // retains the buffer, it will be released by the receiver once the received chunks have been sliced
+                .retain()
+                .doOnNext(b -> {
+                    onRead();
+                    receiver.handleByteBuf(b);
+                })
+                .then();
     }
 
     private void setSession(final Connection connection) {
@@ -337,6 +571,7 @@ public final class VstConnection extends ArangoConnection {
             throw Exceptions.bubble(new IOException("Connection closed!"));
         }
         connectionState = ConnectionState.CONNECTED;
+        activeConnection = connection;
         session.tryEmitValue(connection);
     }
 
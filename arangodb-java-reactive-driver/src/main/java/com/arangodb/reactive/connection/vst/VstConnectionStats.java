@@ -0,0 +1,72 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.entity.GeneratePackagePrivateBuilder;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the statistics of the messages sent by a {@link VstConnection}.
+ *
+ * @author Michele Rastelli
+ * @see VstConnection#getStats()
+ */
+@GeneratePackagePrivateBuilder
+public interface VstConnectionStats {
+
+    /**
+     * @return chunk content-size (bytes) currently used to frame the outgoing messages
+     */
+    int getChunkSize();
+
+    /**
+     * @return number of messages written
+     */
+    long getMessages();
+
+    /**
+     * @return number of chunks written
+     */
+    long getChunks();
+
+    /**
+     * @return number of bytes written, including the chunk headers
+     */
+    long getBytes();
+
+    /**
+     * @return exponentially weighted moving average of the message payload size (bytes)
+     */
+    long getAverageMessageSize();
+
+    /**
+     * @return approximated median of the recent message payload sizes (bytes), rounded up to the next power of two
+     */
+    long getMedianMessageSize();
+
+    /**
+     * @return exponentially weighted moving average of the time elapsed from enqueuing a message to flushing its last
+     * chunk into the socket
+     */
+    Duration getAverageWriteLatency();
+
+}
@@ -0,0 +1,335 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.internal.PlatformDependent;
+import reactor.netty.Connection;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * Outbound stage of a VST channel. Messages can be enqueued from any thread, they are written into the channel from
+ * its event loop and flushed once per event loop task, or earlier when the configured number of bytes or chunks has
+ * been written since the last flush.
+ * <p>
+ * The chunks of the pending messages are written in round-robin, as long as the channel is writable: once the
+ * channel outbound buffer reaches its high water mark, writing is suspended until the channel becomes writable again.
+ * In this way the chunks of large messages do not pile up in the channel outbound buffer, and small messages can
+ * overtake them.
+ * <p>
+ * Once flushed, the completely written messages are reported to the {@link ChunkSizePolicy} of the connection.
+ * Messages whose body is streamed are enqueued one chunk at a time, as parts that are not reported to the policy but to
+ * a callback, so that the next chunk is produced only once the previous one has been flushed.
+ * <p>
+ * The deadlines of the enqueued requests are tracked by a {@link DeadlineWheel}, ticking in the channel event loop, so
+ * that no timer task is scheduled per request.
+ *
+ * @author Michele Rastelli
+ */
+final class VstOutbound implements Runnable {
+
+    private static final AttributeKey<VstOutbound> KEY = AttributeKey.valueOf(VstOutbound.class.getName());
+    private static final String HANDLER_NAME = "arango-vst-outbound";
+    private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // ticks per request timeout
+    private static final int TICKS_PER_TIMEOUT = 128;
+
+    private final Channel channel;
+    private final int maxBytes;
+    private final int maxChunks;
+    private final ChunkSizePolicy chunkSizePolicy;
+    private final DeadlineWheel deadlineWheel;
+    private final LongConsumer expiredRequestsConsumer;
+    // messages enqueued by any thread
+    private final Queue<OutboundMessage> queue;
+    // messages being written, accessed by the event loop only
+    private final ArrayDeque<OutboundMessage> pending;
+    // messages completely written since the last flush, accessed by the event loop only
+    private final ArrayDeque<OutboundMessage> written;
+    private final AtomicBoolean scheduled;
+    // reentrant invocations, eg. from writability changes triggered while flushing, are deferred to the running one
+    private boolean running;
+    private boolean rerun;
+    private ScheduledFuture<?> ticker;
+
+    private VstOutbound(final Channel ch, final int flushThresholdBytes, final int flushThresholdChunks,
+                        final ChunkSizePolicy policy, final Duration requestTimeout, final LongConsumer onExpired) {
+        channel = ch;
+        maxBytes = flushThresholdBytes;
+        maxChunks = flushThresholdChunks;
+        chunkSizePolicy = policy;
+        // the wheel spans two timeouts, so that most of the entries expire within the first revolution
+        deadlineWheel = new DeadlineWheel(
+                Math.max(MIN_TICK_NANOS, requestTimeout.toNanos() / TICKS_PER_TIMEOUT),
+                2 * TICKS_PER_TIMEOUT,
+                System.nanoTime());
+        expiredRequestsConsumer = onExpired;
+        queue = PlatformDependent.newMpscQueue();
+        pending = new ArrayDeque<>();
+        written = new ArrayDeque<>();
+        scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * @param connection             connection
+     * @param flushThresholdBytes    max number of bytes written before flushing
+     * @param flushThresholdChunks   max number of chunks written before flushing
+     * @param chunkSizePolicy        policy notified about the written messages
+     * @param requestTimeout         request timeout, determining the resolution of the deadlines
+     * @param onExpired              consumer of the message ids of the requests whose deadline has been reached
+     * @return the outbound stage of the connection, created on first access
+     */
+    static VstOutbound of(final Connection connection, final int flushThresholdBytes,
+                          final int flushThresholdChunks, final ChunkSizePolicy chunkSizePolicy,
+                          final Duration requestTimeout, final LongConsumer onExpired) {
+        final Attribute<VstOutbound> attribute = connection.channel().attr(KEY);
+        final VstOutbound outbound = attribute.get();
+        if (outbound != null) {
+            return outbound;
+        }
+        final VstOutbound created = new VstOutbound(connection.channel(),
+                flushThresholdBytes, flushThresholdChunks, chunkSizePolicy, requestTimeout, onExpired);
+        final VstOutbound previous = attribute.setIfAbsent(created);
+        if (previous != null) {
+            return previous;
+        }
+        connection.channel().pipeline().addFirst(HANDLER_NAME, created.new WritabilityHandler());
+        connection.channel().eventLoop().execute(created::startTicker);
+        return created;
+    }
+
+    /**
+     * Enqueues a message to be written, write errors are propagated through the channel pipeline.
+     *
+     * @param buf       message framed in VST chunks, the ownership of it is transferred to this stage
+     * @param messageId id of the message
+     * @param deadline  deadline of the request (nanos), after which its id is notified to the expired requests
+     *                  consumer
+     * @return {@code false} if the channel is not active, in this case the message is released
+     */
+    boolean write(final ByteBuf buf, final long messageId, final long deadline) {
+        return write(buf, messageId, deadline, true, null);
+    }
+
+    /**
+     * Enqueues a part of a message, eg. a chunk of a message whose body is streamed.
+     *
+     * @param buf           message part framed in VST chunks, the ownership of it is transferred to this stage
+     * @param messageId     id of the message
+     * @param deadline      deadline of the request (nanos)
+     * @param trackDeadline whether the deadline should be tracked, it is enough to do it for the first part
+     * @param onFlushed     invoked in the event loop once the part has been written and flushed, in this case the part
+     *                      is not reported to the {@link ChunkSizePolicy}
+     * @return {@code false} if the channel is not active, in this case the part is released
+     */
+    boolean write(final ByteBuf buf, final long messageId, final long deadline, final boolean trackDeadline,
+                  @Nullable final Runnable onFlushed) {
+        if (!channel.isActive()) {
+            buf.release();
+            return false;
+        }
+        queue.offer(new OutboundMessage(buf, messageId, deadline, trackDeadline, onFlushed));
+        if (scheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(this);
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        scheduled.set(false);
+        if (running) {
+            rerun = true;
+            return;
+        }
+        running = true;
+        try {
+            do {
+                rerun = false;
+                drainQueue();
+                if (channel.isActive()) {
+                    writePending();
+                }
+            } while (rerun);
+            if (!channel.isActive()) {
+                releasePending();
+                stopTicker();
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    private void writePending() {
+        int bytes = 0;
+        int chunks = 0;
+        while (!pending.isEmpty() && channel.isWritable()) {
+            final OutboundMessage message = pending.poll();
+            final ByteBuf chunk = nextChunk(message.buf);
+            message.chunks++;
+            if (chunk != message.buf) {
+                pending.offer(message);
+            } else {
+                written.offer(message);
+            }
+
+            bytes += chunk.readableBytes();
+            chunks++;
+            channel.write(chunk, channel.voidPromise());
+            if (bytes >= maxBytes || chunks >= maxChunks) {
+                flush();
+                bytes = 0;
+                chunks = 0;
+            }
+
+            // messages enqueued in the meantime join the round-robin
+            drainQueue();
+        }
+
+        if (chunks > 0) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        channel.flush();
+        final long now = System.nanoTime();
+        OutboundMessage message = written.poll();
+        while (message != null) {
+            if (message.onFlushed != null) {
+                message.onFlushed.run();
+            } else {
+                chunkSizePolicy.onMessageWritten(message.bytes, message.chunks, now - message.enqueuedAt);
+            }
+            message = written.poll();
+        }
+    }
+
+    /**
+     * @param message message framed in VST chunks
+     * @return the message itself if it contains only one chunk, otherwise a retained slice of its next chunk
+     */
+    private static ByteBuf nextChunk(final ByteBuf message) {
+        final int chunkLength = message.getIntLE(message.readerIndex());
+        if (chunkLength >= message.readableBytes()) {
+            return message;
+        }
+        return message.readRetainedSlice(chunkLength);
+    }
+
+    private void drainQueue() {
+        OutboundMessage message = queue.poll();
+        while (message != null) {
+            if (message.trackDeadline) {
+                deadlineWheel.add(message.messageId, message.deadline);
+            }
+            pending.offer(message);
+            message = queue.poll();
+        }
+    }
+
+    private void startTicker() {
+        if (ticker == null && channel.isActive()) {
+            final long tick = deadlineWheel.getTickNanos();
+            ticker = channel.eventLoop().scheduleAtFixedRate(
+                    () -> deadlineWheel.expire(System.nanoTime(), expiredRequestsConsumer),
+                    tick, tick, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void stopTicker() {
+        if (ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void releasePending() {
+        OutboundMessage message = pending.poll();
+        while (message != null) {
+            message.buf.release();
+            message = pending.poll();
+        }
+        written.clear();
+    }
+
+    /**
+     * Message being written, with the data needed to track its deadline and write latency.
+     */
+    private static final class OutboundMessage {
+        private final ByteBuf buf;
+        private final long messageId;
+        private final long deadline;
+        private final boolean trackDeadline;
+        @Nullable
+        private final Runnable onFlushed;
+        private final int bytes;
+        private final long enqueuedAt;
+        private int chunks;
+
+        OutboundMessage(final ByteBuf message, final long id, final long requestDeadline, final boolean track,
+                        @Nullable final Runnable flushCallback) {
+            buf = message;
+            messageId = id;
+            deadline = requestDeadline;
+            trackDeadline = track;
+            onFlushed = flushCallback;
+            bytes = message.readableBytes();
+            enqueuedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Resumes writing once the channel becomes writable again and releases the pending messages once the channel gets
+     * closed.
+     */
+    private final class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isWritable()) {
+                run();
+            }
+            super.channelWritabilityChanged(ctx);
+        }
+
+        @Override
+        public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+            run();
+            super.channelInactive(ctx);
+        }
+
+    }
+
+}
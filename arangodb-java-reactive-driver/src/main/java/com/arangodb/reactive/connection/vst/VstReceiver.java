@@ -21,17 +21,22 @@
 package com.arangodb.reactive.connection.vst;
 
 
-import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.IOUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
 import static com.arangodb.reactive.ArangoDefaults.HEADER_SIZE;
 
 /**
+ * Splits the received buffers into chunks. The content of every chunk is a retained slice of the received buffers,
+ * composed into a {@link CompositeByteBuf} only when a chunk spans across multiple received buffers.
+ * Not thread safe: every instance is confined to the connection scheduler or, with concurrent dispatch, to the
+ * channel event loop.
+ *
  * @author Michele Rastelli
  */
 final class VstReceiver {
@@ -40,64 +45,67 @@ final class VstReceiver {
 
     private final ChunkStore chunkStore;
     private final ByteBuf chunkHeaderBuffer;
-    private final ByteBuf chunkContentBuffer;
+    @Nullable
+    private CompositeByteBuf chunkContentBuffer;
+    @Nullable
     private Chunk chunk;
+    // remaining content bytes of a chunk being discarded
+    private int discardedBytes;
 
-    VstReceiver(final BiConsumer<Long, ArangoResponse> callback) {
-        chunkStore = new ChunkStore(callback);
-        chunkHeaderBuffer = IOUtils.createBuffer();
-        chunkContentBuffer = IOUtils.createBuffer();
+    VstReceiver(final MessageStore messageStore) {
+        chunkStore = new ChunkStore(messageStore);
+        chunkHeaderBuffer = IOUtils.createBuffer(HEADER_SIZE, HEADER_SIZE);
     }
 
     void clear() {
-        VstConnection.assertCorrectThread();
         LOGGER.debug("clear()");
 
         chunkStore.clear();
+        chunkHeaderBuffer.clear();
+        releaseChunkContentBuffer();
+        chunk = null;
+        discardedBytes = 0;
     }
 
     void shutDown() {
-        VstConnection.assertCorrectThread();
         LOGGER.debug("shutDown()");
 
         clear();
         chunkHeaderBuffer.release();
-        chunkContentBuffer.release();
     }
 
+    /**
+     * @param bbIn received buffer, it will be released before returning
+     */
     void handleByteBuf(final ByteBuf bbIn) {
-        VstConnection.assertCorrectThread();
 
-        while (bbIn.readableBytes() > 0) {
+        try {
+            while (bbIn.isReadable()) {
 
-            // new chunk
-            if (chunk == null) {
-                int missingHeaderBytes = HEADER_SIZE - chunkHeaderBuffer.readableBytes();
-                readBytes(bbIn, chunkHeaderBuffer, missingHeaderBytes);
-                if (chunkHeaderBuffer.readableBytes() == HEADER_SIZE) {
-                    readHeader();
+                if (discardedBytes > 0) {
+                    final int skipped = Integer.min(discardedBytes, bbIn.readableBytes());
+                    bbIn.skipBytes(skipped);
+                    discardedBytes -= skipped;
+                    continue;
                 }
-            }
 
-            if (chunk != null) {
-                int missingContentBytes = chunk.getContentLength() - chunkContentBuffer.readableBytes();
-                readBytes(bbIn, chunkContentBuffer, missingContentBytes);
+                // new chunk
+                if (chunk == null) {
+                    int missingHeaderBytes = HEADER_SIZE - chunkHeaderBuffer.readableBytes();
+                    bbIn.readBytes(chunkHeaderBuffer, Integer.min(missingHeaderBytes, bbIn.readableBytes()));
+                    if (chunkHeaderBuffer.readableBytes() == HEADER_SIZE) {
+                        readHeader();
+                    }
+                }
 
-                // chunkContent completely received
-                if (chunkContentBuffer.readableBytes() == chunk.getContentLength()) {
-                    readContent();
+                if (chunk != null) {
+                    readContent(bbIn);
                 }
-            }
 
+            }
+        } finally {
+            bbIn.release();
         }
-
-        bbIn.release();
-    }
-
-    private void readBytes(final ByteBuf bbIn, final ByteBuf out, final int len) {
-        int bytesToRead = Integer.min(len, bbIn.readableBytes());
-        out.ensureWritable(bytesToRead);
-        bbIn.readBytes(out, bytesToRead);
     }
 
     private void readHeader() {
@@ -108,6 +116,13 @@ final class VstReceiver {
         final long messageLength = chunkHeaderBuffer.readLongLE();
         final int contentLength = chunkLength - HEADER_SIZE;
 
+        chunkHeaderBuffer.clear();
+        if (!chunkStore.isExpected(messageId)) {
+            // late chunk of an expired or cancelled request
+            LOGGER.debug("Discarding chunk of message {}", messageId);
+            discardedBytes = contentLength;
+            return;
+        }
         chunk = new Chunk(messageId, chunkX, messageLength, 0, contentLength);
 
         if (LOGGER.isDebugEnabled()) {
@@ -115,11 +130,47 @@ final class VstReceiver {
         }
     }
 
-    private void readContent() {
-        chunkStore.storeChunk(chunk, chunkContentBuffer);
-        chunkHeaderBuffer.clear();
-        chunkContentBuffer.clear();
+    private void readContent(final ByteBuf bbIn) {
+        assert chunk != null;
+        final int contentLength = chunk.getContentLength();
+
+        if (chunkContentBuffer == null && bbIn.readableBytes() >= contentLength) {
+            // the whole chunk content is available in the received buffer
+            storeChunk(bbIn.readRetainedSlice(contentLength));
+            return;
+        }
+
+        if (!bbIn.isReadable()) {
+            return;
+        }
+
+        if (chunkContentBuffer == null) {
+            chunkContentBuffer = IOUtils.createCompositeBuffer();
+        }
+        int missingContentBytes = contentLength - chunkContentBuffer.readableBytes();
+        int bytesToRead = Integer.min(missingContentBytes, bbIn.readableBytes());
+        chunkContentBuffer.addComponent(true, bbIn.readRetainedSlice(bytesToRead));
+
+        // chunkContent completely received
+        if (chunkContentBuffer.readableBytes() == contentLength) {
+            ByteBuf content = chunkContentBuffer;
+            chunkContentBuffer = null;
+            storeChunk(content);
+        }
+    }
+
+    private void storeChunk(final ByteBuf content) {
+        assert chunk != null;
+        Chunk receivedChunk = chunk;
         chunk = null;
+        chunkStore.storeChunk(receivedChunk, content);
+    }
+
+    private void releaseChunkContentBuffer() {
+        if (chunkContentBuffer != null) {
+            chunkContentBuffer.release();
+            chunkContentBuffer = null;
+        }
     }
 
 }
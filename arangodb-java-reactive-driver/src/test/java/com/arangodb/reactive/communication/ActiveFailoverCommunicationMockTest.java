@@ -73,11 +73,11 @@ public class ActiveFailoverCommunicationMockTest {
     void findLeader(ContentType contentType) {
         MockConnectionFactory factory = new MockConnectionFactory() {
             @Override
-            protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
                 if (host.equals(hosts.get(2))) {
-                    when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
                 } else {
-                    when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
                 }
             }
         };
@@ -97,11 +97,11 @@ public class ActiveFailoverCommunicationMockTest {
     void findLeaderWithTcpError(ContentType contentType) {
         MockConnectionFactory factory = new MockConnectionFactory() {
             @Override
-            protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
                 if (host.equals(hosts.get(2))) {
-                    when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
                 } else {
-                    when(connection.requestUser()).thenReturn(Mono.error(new RuntimeException("disconnected!")));
+                    when(connection.requestAvailability()).thenReturn(Mono.error(new RuntimeException("disconnected!")));
                 }
             }
         };
@@ -120,8 +120,8 @@ public class ActiveFailoverCommunicationMockTest {
     void cannotFindLeaderBecauseOf503(ContentType contentType) {
         MockConnectionFactory factory = new MockConnectionFactory() {
             @Override
-            protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
-                when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
+                when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
             }
         };
 
@@ -135,8 +135,8 @@ public class ActiveFailoverCommunicationMockTest {
     void cannotFindLeaderBecauseOfTcpError(ContentType contentType) {
         MockConnectionFactory factory = new MockConnectionFactory() {
             @Override
-            protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
-                when(connection.requestUser()).thenReturn(Mono.error(new RuntimeException("disconnected!")));
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
+                when(connection.requestAvailability()).thenReturn(Mono.error(new RuntimeException("disconnected!")));
             }
         };
 
@@ -157,19 +157,17 @@ public class ActiveFailoverCommunicationMockTest {
 
         MockConnectionFactory factory = new MockConnectionFactory() {
             @Override
-            protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
                 if (host.equals(hosts.get(0))) {
-                    when(connection.requestUser())
-                            .thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()))
+                    when(connection.requestAvailability())
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()))
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
                 } else if (host.equals(hosts.get(1))) {
-                    when(connection.requestUser())
-                            .thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()))
+                    when(connection.requestAvailability())
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()))
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
                 } else {
-                    when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
                 }
             }
 
@@ -207,19 +205,17 @@ public class ActiveFailoverCommunicationMockTest {
         MockConnectionFactory factory = new MockConnectionFactory() {
 
             @Override
-            protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
                 if (host.equals(hosts.get(0))) {
-                    when(connection.requestUser())
-                            .thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()))
+                    when(connection.requestAvailability())
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()))
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
                 } else if (host.equals(hosts.get(1))) {
-                    when(connection.requestUser())
-                            .thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()))
+                    when(connection.requestAvailability())
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()))
                             .thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
                 } else {
-                    when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
                 }
             }
 
@@ -241,14 +237,55 @@ public class ActiveFailoverCommunicationMockTest {
         assertThat(connectionPool.getLeader()).isEqualTo(hosts.get(1));
     }
 
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void hedgeDirtyReadsToFollowersOnly(ContentType contentType) {
+        MockConnectionFactory factory = new MockConnectionFactory() {
+            @Override
+            protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
+                if (host.equals(hosts.get(2))) {
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
+                } else {
+                    when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(503).build()));
+                }
+            }
+        };
+
+        CommunicationConfig config = CommunicationConfig.builder()
+                .from(getConfig(contentType))
+                .dirtyReads(true)
+                .hedging(HedgingConfig.builder().enabled(true).build())
+                .build();
+        ArangoCommunicationImpl communication = new ArangoCommunicationImpl(config, factory);
+        communication.initialize().block();
+
+        ActiveFailoverConnectionPool connectionPool = (ActiveFailoverConnectionPool) communication.getConnectionPool();
+        assertThat(connectionPool.getLeader()).isEqualTo(hosts.get(2));
+        HostState follower0 = getHostState(connectionPool, hosts.get(0));
+        HostState follower1 = getHostState(connectionPool, hosts.get(1));
+        HostState leader = getHostState(connectionPool, hosts.get(2));
+        for (int i = 0; i < 20; i++) {
+            assertThat(connectionPool.selectHedgeHost(leader)).isIn(follower0, follower1);
+            assertThat(connectionPool.selectHedgeHost(follower0)).isSameAs(follower1);
+        }
+        communication.execute(VERSION_REQUEST).block();
+    }
+
+    private static HostState getHostState(ConnectionPool connectionPool, HostDescription host) {
+        return connectionPool.getHostStates().stream()
+                .filter(it -> it.getHost().equals(host))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
     static abstract class MockConnectionFactory implements ConnectionFactory {
 
         protected void stubIsConnected(ArangoConnection connection, HostDescription host) {
             when(connection.isConnected()).thenReturn(Mono.just(true));
         }
 
-        protected void stubUserRequest(ArangoConnection connection, HostDescription host) {
-            when(connection.requestUser()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
+        protected void stubAvailabilityRequest(ArangoConnection connection, HostDescription host) {
+            when(connection.requestAvailability()).thenReturn(Mono.just(ArangoResponse.builder().responseCode(200).build()));
         }
 
         protected void stubExecute(ArangoConnection connection, HostDescription host) {
@@ -259,7 +296,7 @@ public class ActiveFailoverCommunicationMockTest {
         public Mono<ArangoConnection> create(HostDescription host, AuthenticationMethod authentication) {
             ArangoConnection connection = mock(ArangoConnection.class);
             stubIsConnected(connection, host);
-            stubUserRequest(connection, host);
+            stubAvailabilityRequest(connection, host);
             stubExecute(connection, host);
             when(connection.close()).thenReturn(Mono.empty());
             return Mono.just(connection);
@@ -0,0 +1,70 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Michele Rastelli
+ */
+class CommunicationUtilsTest {
+
+    private static ArangoConnection connection(final int activeRequests) {
+        ArangoConnection connection = mock(ArangoConnection.class);
+        when(connection.getActiveRequests()).thenReturn(activeRequests);
+        return connection;
+    }
+
+    @Test
+    void leastLoadedConnection() {
+        ArangoConnection leastLoaded = connection(1);
+        List<ArangoConnection> connections = Arrays.asList(connection(5), connection(3), leastLoaded, connection(2));
+        for (int i = 0; i < 20; i++) {
+            assertThat(CommunicationUtils.getLeastLoadedConnection(connections)).isSameAs(leastLoaded);
+        }
+    }
+
+    @Test
+    void leastLoadedConnectionTies() {
+        List<ArangoConnection> connections = Arrays.asList(connection(0), connection(0), connection(4));
+        for (int i = 0; i < 20; i++) {
+            assertThat(CommunicationUtils.getLeastLoadedConnection(connections).getActiveRequests()).isZero();
+        }
+    }
+
+    @Test
+    void leastLoadedConnectionEmpty() {
+        Throwable thrown = catchThrowable(() -> CommunicationUtils.getLeastLoadedConnection(Collections.emptyList()));
+        assertThat(thrown).isInstanceOf(NoSuchElementException.class);
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.HostDescription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.arangodb.reactive.communication.MockConnections.HOST_1;
+import static com.arangodb.reactive.communication.MockConnections.REQUEST;
+import static com.arangodb.reactive.communication.MockConnections.connection;
+import static com.arangodb.reactive.communication.MockConnections.createPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Michele Rastelli
+ */
+class ElasticConnectionPoolTest {
+
+    private static final HostDescription HOST = HOST_1;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMillis(100);
+
+    private final List<ArangoConnection> connections = new CopyOnWriteArrayList<>();
+    private final List<Disposable> pendingRequests = new ArrayList<>();
+    private ConnectionPoolImpl pool;
+    // when set, every connection has a request in flight right after being found idle
+    private volatile boolean requestRacingIdleCheck;
+
+    private void createElasticPool(final int connectionsPerHost, final int maxConnectionsPerHost,
+                                   final int scaleUpThreshold) {
+        pool = createPool(CommunicationConfig.builder()
+                        .hosts(Collections.singleton(HOST))
+                        .connectionsPerHost(connectionsPerHost)
+                        .maxConnectionsPerHost(maxConnectionsPerHost)
+                        .connectionScaleUpThreshold(scaleUpThreshold)
+                        .connectionIdleTimeout(IDLE_TIMEOUT)
+                        .build(),
+                host -> {
+                    ArangoConnection connection = connection(Mono.never());
+                    AtomicInteger activeRequestsCalls = new AtomicInteger();
+                    when(connection.getActiveRequests()).thenAnswer(a ->
+                            requestRacingIdleCheck && activeRequestsCalls.getAndIncrement() > 0 ? 1 : 0);
+                    connections.add(connection);
+                    return connection;
+                });
+    }
+
+    private void createElasticPool() {
+        createElasticPool(1, 3, 2);
+    }
+
+    @AfterEach
+    void shutdown() {
+        pendingRequests.forEach(Disposable::dispose);
+        pool.close().block();
+    }
+
+    private void sendRequests(final int count) {
+        for (int i = 0; i < count; i++) {
+            pendingRequests.add(pool.execute(REQUEST).subscribe());
+        }
+    }
+
+    private void completeRequests() {
+        pendingRequests.forEach(Disposable::dispose);
+        pendingRequests.clear();
+    }
+
+    private void completeRequests(final int count) {
+        for (int i = 0; i < count; i++) {
+            pendingRequests.remove(0).dispose();
+        }
+    }
+
+    private int hostConnections() {
+        return pool.getConnectionsByHost().get(HOST).size();
+    }
+
+    private void awaitHostConnections(final int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && hostConnections() != expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(hostConnections()).isEqualTo(expected);
+    }
+
+    private void verifyRemovedConnectionsClosed() {
+        List<ArangoConnection> remaining = pool.getConnectionsByHost().get(HOST);
+        connections.stream()
+                .filter(it -> !remaining.contains(it))
+                .forEach(it -> verify(it).close());
+    }
+
+    @Test
+    void scaleUp() {
+        createElasticPool();
+        sendRequests(2);
+        assertThat(hostConnections()).isEqualTo(1);
+        sendRequests(1);
+        assertThat(hostConnections()).isEqualTo(2);
+        sendRequests(2);
+        assertThat(hostConnections()).isEqualTo(3);
+
+        // max connections reached
+        sendRequests(10);
+        assertThat(hostConnections()).isEqualTo(3);
+        assertThat(connections).hasSize(3);
+    }
+
+    @Test
+    void scaleDown() throws InterruptedException {
+        createElasticPool();
+        sendRequests(5);
+        assertThat(hostConnections()).isEqualTo(3);
+        completeRequests();
+
+        awaitHostConnections(2);
+        awaitHostConnections(1);
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        assertThat(hostConnections()).isEqualTo(1);
+        verifyRemovedConnectionsClosed();
+    }
+
+    @Test
+    void hysteresis() throws InterruptedException {
+        createElasticPool();
+        sendRequests(3);
+        assertThat(hostConnections()).isEqualTo(2);
+
+        // 3 in-flight requests are above the scale down threshold (1 per connection with one connection less)
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        assertThat(hostConnections()).isEqualTo(2);
+        connections.forEach(it -> verify(it, never()).close());
+
+        // 1 in-flight request is not
+        completeRequests(2);
+        awaitHostConnections(1);
+    }
+
+    @Test
+    void scaleDownAtHalfTheScaleUpThreshold() throws InterruptedException {
+        createElasticPool(1, 3, 4);
+        sendRequests(4);
+        assertThat(hostConnections()).isEqualTo(1);
+        sendRequests(1);
+        assertThat(hostConnections()).isEqualTo(2);
+        sendRequests(4);
+        assertThat(hostConnections()).isEqualTo(3);
+
+        // scale down threshold: 2 in-flight requests per connection, with one connection less
+        completeRequests(4);
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        assertThat(hostConnections()).isEqualTo(3);
+
+        completeRequests(1);
+        awaitHostConnections(2);
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        assertThat(hostConnections()).isEqualTo(2);
+
+        completeRequests(2);
+        awaitHostConnections(1);
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        verifyRemovedConnectionsClosed();
+    }
+
+    @Test
+    void keepMinConnections() throws InterruptedException {
+        createElasticPool(2, 4, 2);
+        sendRequests(7);
+        assertThat(hostConnections()).isEqualTo(4);
+        completeRequests();
+
+        awaitHostConnections(2);
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        assertThat(hostConnections()).isEqualTo(2);
+        assertThat(connections).hasSize(4);
+        verifyRemovedConnectionsClosed();
+        pool.getConnectionsByHost().get(HOST).forEach(it -> verify(it, never()).close());
+    }
+
+    @Test
+    void drainBeforeClosing() throws InterruptedException {
+        createElasticPool();
+        sendRequests(5);
+        assertThat(hostConnections()).isEqualTo(3);
+        requestRacingIdleCheck = true;
+        completeRequests();
+
+        awaitHostConnections(1);
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        connections.forEach(it -> verify(it, never()).close());
+
+        // in-flight requests completed
+        requestRacingIdleCheck = false;
+        Thread.sleep(3 * IDLE_TIMEOUT.toMillis());
+        verifyRemovedConnectionsClosed();
+    }
+
+}
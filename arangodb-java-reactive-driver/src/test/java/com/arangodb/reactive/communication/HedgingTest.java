@@ -0,0 +1,162 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.HostDescription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.arangodb.reactive.communication.MockConnections.HOST_1;
+import static com.arangodb.reactive.communication.MockConnections.HOST_2;
+import static com.arangodb.reactive.communication.MockConnections.REQUEST;
+import static com.arangodb.reactive.communication.MockConnections.connection;
+import static com.arangodb.reactive.communication.MockConnections.preferring;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Michele Rastelli
+ */
+class HedgingTest {
+
+    private static final HostDescription SLOW_HOST = HOST_1;
+    private static final HostDescription FAST_HOST = HOST_2;
+
+    private final ArangoResponse response = mock(ArangoResponse.class);
+    private final AtomicInteger slowRequests = new AtomicInteger();
+    private final AtomicInteger fastRequests = new AtomicInteger();
+    private final AtomicBoolean slowRequestCancelled = new AtomicBoolean();
+    private ConnectionPoolImpl pool;
+
+    /**
+     * @param firstHost host selected by the load balancing, if available
+     */
+    private void createPool(final HostDescription firstHost) {
+        ArangoConnection slowConnection = connection(Mono.<ArangoResponse>never()
+                .doOnSubscribe(s -> slowRequests.incrementAndGet())
+                .doOnCancel(() -> slowRequestCancelled.set(true)));
+        ArangoConnection fastConnection = connection(Mono.just(response)
+                .doOnSubscribe(s -> fastRequests.incrementAndGet()));
+        pool = MockConnections.createPool(CommunicationConfig.builder()
+                        .hosts(new HashSet<>(Arrays.asList(SLOW_HOST, FAST_HOST)))
+                        .loadBalancingStrategy(preferring(firstHost))
+                        .build(),
+                host -> host.equals(SLOW_HOST) ? slowConnection : fastConnection);
+    }
+
+    private static HedgingPolicy hedging(final int budgetPercent) {
+        return new HedgingPolicy(HedgingConfig.builder()
+                .enabled(true)
+                .minDelay(Duration.ofMillis(20))
+                .budgetPercent(budgetPercent)
+                .build());
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (pool != null) {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void hedgeSlowRequest() {
+        createPool(SLOW_HOST);
+        ArangoResponse received = pool.executeHedged(REQUEST, ConnectionOperation.EXECUTE, hedging(100))
+                .block(Duration.ofSeconds(1));
+        assertThat(received).isSameAs(response);
+        assertThat(slowRequests.get()).isEqualTo(1);
+        assertThat(fastRequests.get()).isEqualTo(1);
+        assertThat(slowRequestCancelled.get()).isTrue();
+    }
+
+    @Test
+    void noHedgeWithinDelay() throws InterruptedException {
+        createPool(FAST_HOST);
+        ArangoResponse received = pool.executeHedged(REQUEST, ConnectionOperation.EXECUTE, hedging(100))
+                .block(Duration.ofSeconds(1));
+        assertThat(received).isSameAs(response);
+        Thread.sleep(50);
+        assertThat(slowRequests.get()).isZero();
+        assertThat(fastRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgingBudget() {
+        createPool(SLOW_HOST);
+        HedgingPolicy hedging = hedging(50);
+        int hedged = 0;
+        for (int i = 0; i < 10; i++) {
+            ArangoResponse received = pool.executeHedged(REQUEST, ConnectionOperation.EXECUTE, hedging)
+                    .timeout(Duration.ofMillis(200), Mono.empty())
+                    .block();
+            if (received != null) {
+                hedged++;
+            }
+        }
+        assertThat(hedged).isEqualTo(5);
+        assertThat(fastRequests.get()).isEqualTo(5);
+    }
+
+    @Test
+    void notHedgeable() {
+        HedgingPolicy hedging = hedging(100);
+        assertThat(hedging.isHedgeable(REQUEST)).isTrue();
+        assertThat(hedging.isHedgeable(ArangoRequest.builder().from(REQUEST)
+                .requestType(ArangoRequest.RequestType.POST).build())).isFalse();
+        assertThat(new HedgingPolicy(HedgingConfig.builder().build()).isHedgeable(REQUEST)).isFalse();
+    }
+
+    @Test
+    void delayFromLatencyPercentile() {
+        HostState host = new HostState(SLOW_HOST, Collections.emptyList(), Duration.ofSeconds(10));
+        HedgingPolicy hedging = hedging(100);
+        assertThat(hedging.getDelay(host)).isEqualTo(Duration.ofMillis(20));
+        for (int i = 1; i <= 100; i++) {
+            host.onResponse(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertThat(hedging.getDelay(host)).isBetween(Duration.ofMillis(95), Duration.ofMillis(125));
+    }
+
+    @Test
+    void latencyHistogramBuckets() {
+        for (int i = 0; i < 10_000; i++) {
+            long value = ThreadLocalRandom.current().nextLong(1_000, 1L << 40);
+            long upperBound = LatencyHistogram.upperBound(LatencyHistogram.bucket(value));
+            assertThat(upperBound).isGreaterThan(value);
+            assertThat(upperBound).isLessThanOrEqualTo(Math.max(1_024, value + value / 4 + 1));
+        }
+    }
+
+}
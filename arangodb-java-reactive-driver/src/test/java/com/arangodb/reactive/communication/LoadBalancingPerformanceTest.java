@@ -0,0 +1,126 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.ConnectionFactory;
+import com.arangodb.reactive.connection.HostDescription;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the load balancing strategies against synthetic hosts, one of which is persistently slower than the others,
+ * eg. a coordinator colocated with a busy DB-server.
+ *
+ * @author Michele Rastelli
+ */
+@Disabled
+class LoadBalancingPerformanceTest {
+
+    private static final int HOSTS = 4;
+    private static final Duration FAST_LATENCY = Duration.ofMillis(2);
+    private static final Duration SLOW_LATENCY = Duration.ofMillis(20);
+    private static final int REQUESTS = 50_000;
+    private static final int CONCURRENCY = 64;
+
+    private final ArangoRequest request = ArangoRequest.builder()
+            .database("db")
+            .path("/_api/version")
+            .requestType(ArangoRequest.RequestType.GET)
+            .build();
+
+    private final ArangoResponse response = mock(ArangoResponse.class);
+
+    private ArangoConnection connection(final Duration latency, final LongAdder counter) {
+        ArangoConnection connection = mock(ArangoConnection.class);
+        when(connection.execute(any())).thenAnswer(i -> Mono.delay(latency)
+                .doOnSubscribe(s -> counter.increment())
+                .thenReturn(response));
+        when(connection.isConnected()).thenReturn(Mono.just(true));
+        return connection;
+    }
+
+    private void run(final LoadBalancingStrategy strategy) {
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        Set<HostDescription> hosts = new HashSet<>();
+        LongAdder slowRequests = new LongAdder();
+        LongAdder fastRequests = new LongAdder();
+        for (int i = 0; i < HOSTS; i++) {
+            HostDescription host = HostDescription.of("host" + i, i);
+            boolean slow = i == 0;
+            ArangoConnection connection = slow
+                    ? connection(SLOW_LATENCY, slowRequests)
+                    : connection(FAST_LATENCY, fastRequests);
+            when(factory.create(host, null)).thenReturn(Mono.just(connection));
+            hosts.add(host);
+        }
+        ConnectionPoolImpl pool = new ConnectionPoolImpl(
+                CommunicationConfig.builder().hosts(hosts).loadBalancingStrategy(strategy).build(), null, factory);
+        pool.updateConnections(hosts).block();
+
+        long[] latencies = new long[REQUESTS];
+        long start = System.nanoTime();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStart = System.nanoTime();
+                    return pool.execute(request)
+                            .doOnNext(r -> latencies[i] = System.nanoTime() - requestStart);
+                }), CONCURRENCY)
+                .then()
+                .block();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.println(strategy);
+        System.out.println("\trate: " + (1_000_000_000.0 * REQUESTS / elapsed) + " reqs/s");
+        System.out.println("\tmean: " + Arrays.stream(latencies).average().orElse(0) / 1_000_000 + " ms");
+        System.out.println("\tp99: " + latencies[REQUESTS * 99 / 100] / 1_000_000.0 + " ms");
+        System.out.println("\tslow host share: " + 100.0 * slowRequests.sum()
+                / (slowRequests.sum() + fastRequests.sum()) + " %");
+    }
+
+    @Test
+    @SuppressWarnings("squid:S2699")
+        // Tests should include assertions
+    void compareStrategies() {
+        // warmup
+        run(LoadBalancingStrategy.random());
+
+        run(LoadBalancingStrategy.random());
+        run(LoadBalancingStrategy.leastOutstandingRequests());
+        run(LoadBalancingStrategy.powerOfTwoChoices());
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.HostDescription;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.arangodb.reactive.communication.MockConnections.HOST_1;
+import static com.arangodb.reactive.communication.MockConnections.HOST_2;
+import static com.arangodb.reactive.communication.MockConnections.REQUEST;
+import static com.arangodb.reactive.communication.MockConnections.connection;
+import static com.arangodb.reactive.communication.MockConnections.createPool;
+import static com.arangodb.reactive.communication.MockConnections.hostState;
+import static com.arangodb.reactive.communication.MockConnections.response;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Michele Rastelli
+ */
+class LoadBalancingStrategyTest {
+
+    private static HostState host(final int port, final int inFlightRequests) {
+        HostState host = new HostState(HostDescription.of("host", port), Collections.emptyList(),
+                Duration.ofSeconds(10));
+        for (int i = 0; i < inFlightRequests; i++) {
+            host.onRequestStarted();
+        }
+        return host;
+    }
+
+    private static HostState host(final int port, final int inFlightRequests, final long latencyMillis) {
+        HostState host = host(port, inFlightRequests);
+        host.onResponse(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        return host;
+    }
+
+    @Test
+    void leastOutstandingRequests() {
+        HostState leastLoaded = host(3, 1);
+        HostState[] hosts = {host(1, 5), host(2, 3), leastLoaded, host(4, 2)};
+        for (int i = 0; i < 20; i++) {
+            assertThat(LoadBalancingStrategy.leastOutstandingRequests().select(hosts)).isSameAs(leastLoaded);
+        }
+    }
+
+    @Test
+    void leastOutstandingRequestsTies() {
+        HostState[] hosts = {host(1, 0), host(2, 0), host(3, 4)};
+        Set<HostState> selected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            selected.add(LoadBalancingStrategy.leastOutstandingRequests().select(hosts));
+        }
+        assertThat(selected).containsExactlyInAnyOrder(hosts[0], hosts[1]);
+    }
+
+    @Test
+    void random() {
+        HostState[] hosts = {host(1, 0), host(2, 10), host(3, 4)};
+        Set<HostState> selected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            selected.add(LoadBalancingStrategy.random().select(hosts));
+        }
+        assertThat(selected).containsExactlyInAnyOrder(hosts);
+    }
+
+    @Test
+    void powerOfTwoChoices() {
+        HostState fast = host(1, 0, 1);
+        HostState slow = host(2, 0, 50);
+        HostState[] hosts = {slow, fast};
+        for (int i = 0; i < 20; i++) {
+            assertThat(LoadBalancingStrategy.powerOfTwoChoices().select(hosts)).isSameAs(fast);
+        }
+    }
+
+    @Test
+    void powerOfTwoChoicesWeightsInFlightRequests() {
+        HostState busy = host(1, 100, 1);
+        HostState slow = host(2, 0, 10);
+        HostState[] hosts = {busy, slow};
+        for (int i = 0; i < 20; i++) {
+            assertThat(LoadBalancingStrategy.powerOfTwoChoices().select(hosts)).isSameAs(slow);
+        }
+    }
+
+    @Test
+    void powerOfTwoChoicesNeverSelectsTheWorstHost() {
+        HostState worst = host(1, 0, 100);
+        HostState[] hosts = {host(2, 0, 1), worst, host(3, 0, 2), host(4, 1, 3)};
+        Set<HostState> selected = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            selected.add(LoadBalancingStrategy.powerOfTwoChoices().select(hosts));
+        }
+        assertThat(selected).doesNotContain(worst).hasSize(3);
+    }
+
+    @Test
+    void latencyMovingAverage() throws InterruptedException {
+        HostState host = new HostState(HostDescription.of("host", 1), Collections.emptyList(), Duration.ofMillis(1));
+        assertThat(host.getLatencyNanos()).isZero();
+        host.onResponse(1_000_000);
+        assertThat(host.getLatencyNanos()).isBetween(1L, 1_000_000L);
+        // higher latencies are recorded immediately
+        host.onResponse(5_000_000);
+        assertThat(host.getLatencyNanos()).isBetween(1L, 5_000_000L);
+        // decays towards 0 without responses
+        Thread.sleep(50);
+        assertThat(host.getLatencyNanos()).isLessThan(1_000L);
+    }
+
+    @Test
+    void failurePenaltyDoesNotReplaceLatency() {
+        HostState host = new HostState(HostDescription.of("host", 1), Collections.emptyList(), Duration.ofSeconds(10));
+        host.onResponse(TimeUnit.MILLISECONDS.toNanos(1));
+        host.onFailure(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(host.getLatencyNanos()).isBetween(TimeUnit.MILLISECONDS.toNanos(40),
+                TimeUnit.MILLISECONDS.toNanos(51));
+        host.onFailure(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(host.getLatencyNanos()).isBetween(TimeUnit.MILLISECONDS.toNanos(70),
+                TimeUnit.MILLISECONDS.toNanos(76));
+    }
+
+    @Test
+    void newHostsStartFromPoolMeanLatency() {
+        ArangoResponse ok = response(200);
+        ArangoConnection connection1 = connection(Mono.just(ok).delayElement(Duration.ofMillis(10)));
+        ArangoConnection connection2 = connection(Mono.just(ok));
+        ConnectionPoolImpl pool = createPool(CommunicationConfig.builder()
+                        .hosts(Collections.singleton(HOST_1))
+                        .loadBalancingStrategy(LoadBalancingStrategy.powerOfTwoChoices())
+                        .build(),
+                host -> host.equals(HOST_1) ? connection1 : connection2);
+        pool.execute(REQUEST).block();
+
+        pool.updateConnections(new HashSet<>(Arrays.asList(HOST_1, HOST_2))).block();
+        assertThat(pool.getHostStates()).hasSize(2);
+        for (HostState state : pool.getHostStates()) {
+            assertThat(state.getLatencyNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(9));
+        }
+        pool.close().block();
+    }
+
+    @Test
+    void connectionPoolAvoidsSlowHost() {
+        ArangoConnection slowConnection = connection(Mono.never());
+        ArangoConnection fastConnection = connection(Mono.just(mock(ArangoResponse.class)));
+        ConnectionPoolImpl pool = createPool(CommunicationConfig.builder()
+                        .hosts(new HashSet<>(Arrays.asList(HOST_1, HOST_2)))
+                        .build(),
+                host -> host.equals(HOST_1) ? slowConnection : fastConnection);
+
+        for (int i = 0; i < 100; i++) {
+            pool.execute(REQUEST).subscribe();
+        }
+
+        // once a request is pending on the slow host, all the following ones go to the fast host
+        verify(slowConnection, times(1)).execute(REQUEST);
+        verify(fastConnection, times(99)).execute(REQUEST);
+    }
+
+    @Test
+    void powerOfTwoChoicesAvoidsFastFailingHost() {
+        verifyAvoidsFailingHost(Mono.error(new IOException("Connection refused")));
+    }
+
+    @Test
+    void powerOfTwoChoicesAvoidsHostRespondingUnavailable() {
+        verifyAvoidsFailingHost(Mono.just(response(503)));
+    }
+
+    private static void verifyAvoidsFailingHost(final Mono<ArangoResponse> failure) {
+        ArangoConnection failingConnection = connection(failure);
+        ArangoConnection goodConnection = connection(Mono.just(response(200)).delayElement(Duration.ofMillis(1)));
+        ConnectionPoolImpl pool = createPool(CommunicationConfig.builder()
+                        .hosts(new HashSet<>(Arrays.asList(HOST_1, HOST_2)))
+                        .loadBalancingStrategy(LoadBalancingStrategy.powerOfTwoChoices())
+                        .build(),
+                host -> host.equals(HOST_1) ? failingConnection : goodConnection);
+
+        for (int i = 0; i < 100; i++) {
+            pool.execute(REQUEST).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        // failures are recorded with a penalty relative to the mean latency of the pool, thus the failing host receives
+        // a few requests only, while its latency stays far from the request timeout
+        verify(failingConnection, atMost(10)).execute(REQUEST);
+        HostState failing = hostState(pool, HOST_1);
+        assertThat(failing.getLatencyPercentile(0.5)).isEqualTo(-1);
+        assertThat(failing.getLatencyNanos()).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        pool.close().block();
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.ConnectionFactory;
+import com.arangodb.reactive.connection.HostDescription;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mocked connections and connection pools, shared by the connection pool tests.
+ *
+ * @author Michele Rastelli
+ */
+final class MockConnections {
+
+    static final HostDescription HOST_1 = HostDescription.of("host1", 1);
+    static final HostDescription HOST_2 = HostDescription.of("host2", 2);
+    static final ArangoRequest REQUEST = ArangoRequest.builder()
+            .database("db")
+            .path("/path")
+            .requestType(ArangoRequest.RequestType.GET)
+            .build();
+
+    private MockConnections() {
+    }
+
+    /**
+     * @param response response of every request
+     * @return a connected connection
+     */
+    static ArangoConnection connection(final Mono<ArangoResponse> response) {
+        return connection(() -> response);
+    }
+
+    /**
+     * @param response supplier of the response of each request
+     * @return a connected connection
+     */
+    static ArangoConnection connection(final Supplier<Mono<ArangoResponse>> response) {
+        ArangoConnection connection = mock(ArangoConnection.class);
+        when(connection.execute(any())).thenAnswer(i -> response.get());
+        when(connection.isConnected()).thenReturn(Mono.just(true));
+        when(connection.close()).thenReturn(Mono.empty());
+        return connection;
+    }
+
+    /**
+     * @param responseCode response code
+     * @return a response with the given code
+     */
+    static ArangoResponse response(final int responseCode) {
+        ArangoResponse response = mock(ArangoResponse.class);
+        when(response.getResponseCode()).thenReturn(responseCode);
+        return response;
+    }
+
+    /**
+     * @param host preferred host
+     * @return a load balancing strategy selecting {@code host}, if available
+     */
+    static LoadBalancingStrategy preferring(final HostDescription host) {
+        return candidates -> Arrays.stream(candidates)
+                .filter(it -> it.getHost().equals(host))
+                .findFirst()
+                .orElse(candidates[0]);
+    }
+
+    /**
+     * Creates a pool connected to {@link CommunicationConfig#getHosts()}.
+     *
+     * @param config      pool configuration
+     * @param connections invoked for every connection opened to a host
+     * @return the initialized pool
+     */
+    static ConnectionPoolImpl createPool(final CommunicationConfig config,
+                                         final Function<HostDescription, ArangoConnection> connections) {
+        ConnectionPoolImpl pool = new ConnectionPoolImpl(config, null, new MockConnectionFactory(connections));
+        pool.updateConnections(config.getHosts()).block();
+        return pool;
+    }
+
+    /**
+     * @param pool pool
+     * @param host host of the pool
+     * @return the state of the host
+     */
+    static HostState hostState(final ConnectionPool pool, final HostDescription host) {
+        return pool.getHostStates().stream()
+                .filter(it -> it.getHost().equals(host))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static final class MockConnectionFactory implements ConnectionFactory {
+
+        private final Function<HostDescription, ArangoConnection> connections;
+
+        MockConnectionFactory(final Function<HostDescription, ArangoConnection> hostConnections) {
+            connections = hostConnections;
+        }
+
+        @Override
+        public Mono<ArangoConnection> create(final HostDescription host, final AuthenticationMethod authentication) {
+            return Mono.fromSupplier(() -> connections.apply(host));
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.arangodb.reactive.communication.MockConnections.HOST_1;
+import static com.arangodb.reactive.communication.MockConnections.HOST_2;
+import static com.arangodb.reactive.communication.MockConnections.REQUEST;
+import static com.arangodb.reactive.communication.MockConnections.connection;
+import static com.arangodb.reactive.communication.MockConnections.hostState;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Michele Rastelli
+ */
+class OutlierDetectionTest {
+
+    private static final HostDescription GOOD_HOST = HOST_1;
+    private static final HostDescription BAD_HOST = HOST_2;
+    private static final Duration LONG_EJECTION_TIME = Duration.ofMinutes(1);
+    private static final Duration SHORT_EJECTION_TIME = Duration.ofMillis(200);
+
+    private final AtomicReference<Supplier<Mono<ArangoResponse>>> badHostBehavior = new AtomicReference<>();
+    private final AtomicInteger badHostRequests = new AtomicInteger();
+    private final List<HostEvent> events = new CopyOnWriteArrayList<>();
+    private ConnectionPoolImpl pool;
+
+    private static Mono<ArangoResponse> success() {
+        return Mono.just(mock(ArangoResponse.class));
+    }
+
+    private void createPool(final OutlierDetectionConfig outlierDetection, final HostDescription... hostList) {
+        ArangoConnection goodConnection = connection(OutlierDetectionTest::success);
+        ArangoConnection badConnection = connection(() -> {
+            badHostRequests.incrementAndGet();
+            return badHostBehavior.get().get();
+        });
+        pool = MockConnections.createPool(CommunicationConfig.builder()
+                        .hosts(new HashSet<>(Arrays.asList(hostList)))
+                        .outlierDetection(outlierDetection)
+                        .build(),
+                host -> host.equals(GOOD_HOST) ? goodConnection : badConnection);
+        pool.getHostEvents().subscribe(events::add);
+    }
+
+    private OutlierDetectionConfigBuilder outlierDetection(final Duration baseEjectionTime) {
+        return OutlierDetectionConfig.builder()
+                .enabled(true)
+                .consecutiveErrors(3)
+                .baseEjectionTime(baseEjectionTime);
+    }
+
+    private void sendRequests(final int count) {
+        for (int i = 0; i < count; i++) {
+            pool.execute(REQUEST).onErrorResume(e -> Mono.empty()).block();
+        }
+    }
+
+    private HostState badHostState() {
+        return hostState(pool, BAD_HOST);
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.close().block();
+    }
+
+    @Test
+    void consecutiveErrors() {
+        badHostBehavior.set(() -> Mono.error(new IOException("connection reset")));
+        createPool(outlierDetection(LONG_EJECTION_TIME).build(), GOOD_HOST, BAD_HOST);
+
+        sendRequests(100);
+        assertThat(badHostRequests.get()).isEqualTo(3);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.OPEN);
+        assertThat(events).hasSize(1);
+        HostEvent event = events.get(0);
+        assertThat(event.getHost()).isEqualTo(BAD_HOST);
+        assertThat(event.getType()).isEqualTo(HostEvent.Type.EJECTED);
+        assertThat(event.getEjections()).isEqualTo(1);
+        assertThat(event.getEjectionTime()).hasValue(LONG_EJECTION_TIME);
+    }
+
+    @Test
+    void successfulProbe() throws InterruptedException {
+        badHostBehavior.set(() -> Mono.error(new IOException("connection reset")));
+        createPool(outlierDetection(SHORT_EJECTION_TIME).build(), GOOD_HOST, BAD_HOST);
+        while (events.isEmpty()) {
+            sendRequests(1);
+        }
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.OPEN);
+
+        badHostBehavior.set(OutlierDetectionTest::success);
+        Thread.sleep(SHORT_EJECTION_TIME.toMillis());
+        sendRequests(100);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.CLOSED);
+        assertThat(events).extracting(HostEvent::getType)
+                .containsExactly(HostEvent.Type.EJECTED, HostEvent.Type.HALF_OPENED, HostEvent.Type.READMITTED);
+        assertThat(badHostRequests.get()).isGreaterThan(4);
+    }
+
+    @Test
+    void failedProbe() throws InterruptedException {
+        badHostBehavior.set(() -> Mono.error(new IOException("connection reset")));
+        createPool(outlierDetection(SHORT_EJECTION_TIME).build(), GOOD_HOST, BAD_HOST);
+        while (events.isEmpty()) {
+            sendRequests(1);
+        }
+
+        Thread.sleep(SHORT_EJECTION_TIME.toMillis());
+        for (int i = 0; i < 100 && events.size() < 3; i++) {
+            sendRequests(1);
+        }
+        // a single probe request
+        assertThat(badHostRequests.get()).isEqualTo(4);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.OPEN);
+        assertThat(events).extracting(HostEvent::getType)
+                .containsExactly(HostEvent.Type.EJECTED, HostEvent.Type.HALF_OPENED, HostEvent.Type.EJECTED);
+        HostEvent event = events.get(2);
+        assertThat(event.getEjections()).isEqualTo(2);
+        assertThat(event.getEjectionTime()).hasValue(SHORT_EJECTION_TIME.multipliedBy(2));
+    }
+
+    @Test
+    void timeoutRate() {
+        AtomicInteger count = new AtomicInteger();
+        badHostBehavior.set(() -> count.incrementAndGet() % 2 == 0
+                ? Mono.error(new TimeoutException())
+                : success());
+        createPool(outlierDetection(LONG_EJECTION_TIME).minRequests(10).timeoutRate(0.5).build(),
+                GOOD_HOST, BAD_HOST);
+
+        sendRequests(200);
+        assertThat(badHostRequests.get()).isEqualTo(10);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.OPEN);
+    }
+
+    @Test
+    void maxEjectionPercent() {
+        badHostBehavior.set(() -> Mono.error(new IOException("connection reset")));
+        createPool(outlierDetection(LONG_EJECTION_TIME).build(), BAD_HOST);
+
+        sendRequests(10);
+        assertThat(badHostRequests.get()).isEqualTo(10);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.CLOSED);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void localErrorsDoNotEject() {
+        badHostBehavior.set(() -> Mono.error(ArangoConnectionOverloadedException.of(1)));
+        createPool(outlierDetection(LONG_EJECTION_TIME).build(), GOOD_HOST, BAD_HOST);
+
+        sendRequests(100);
+        assertThat(badHostRequests.get()).isGreaterThan(3);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.CLOSED);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void disabled() {
+        badHostBehavior.set(() -> Mono.error(new IOException("connection reset")));
+        createPool(OutlierDetectionConfig.builder().build(), GOOD_HOST, BAD_HOST);
+
+        sendRequests(100);
+        assertThat(badHostRequests.get()).isGreaterThan(3);
+        assertThat(badHostState().getCircuitState()).isEqualTo(HostState.CircuitState.CLOSED);
+        assertThat(events).isEmpty();
+    }
+
+}
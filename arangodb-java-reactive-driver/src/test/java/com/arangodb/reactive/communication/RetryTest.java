@@ -0,0 +1,219 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.communication;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.HostDescription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.arangodb.reactive.communication.MockConnections.HOST_1;
+import static com.arangodb.reactive.communication.MockConnections.HOST_2;
+import static com.arangodb.reactive.communication.MockConnections.connection;
+import static com.arangodb.reactive.communication.MockConnections.createPool;
+import static com.arangodb.reactive.communication.MockConnections.preferring;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Michele Rastelli
+ */
+class RetryTest {
+
+    private static final HostDescription FAILING_HOST = HOST_1;
+    private static final HostDescription GOOD_HOST = HOST_2;
+    private static final ArangoRequest REQUEST = request(ArangoRequest.RequestType.GET, false);
+
+    private final ArangoResponse response = mock(ArangoResponse.class);
+    private final AtomicInteger failedRequests = new AtomicInteger();
+    private final AtomicInteger goodRequests = new AtomicInteger();
+    private ConnectionPoolImpl pool;
+
+    private static ArangoRequest request(final ArangoRequest.RequestType type, final boolean idempotent) {
+        return ArangoRequest.builder()
+                .database("db")
+                .path("/path")
+                .requestType(type)
+                .idempotent(idempotent)
+                .build();
+    }
+
+    private ArangoConnection failingConnection(final Throwable error) {
+        return connection(Mono.<ArangoResponse>error(error).doOnSubscribe(s -> failedRequests.incrementAndGet()));
+    }
+
+    private ArangoConnection goodConnection() {
+        return connection(Mono.just(response).doOnSubscribe(s -> goodRequests.incrementAndGet()));
+    }
+
+    /**
+     * Creates a pool where the load balancing selects {@link #FAILING_HOST}, if available.
+     *
+     * @param error error of the requests to {@link #FAILING_HOST}
+     */
+    private void createFailingPool(final Throwable error) {
+        ArangoConnection failingConnection = failingConnection(error);
+        ArangoConnection goodConnection = goodConnection();
+        pool = createPool(CommunicationConfig.builder()
+                        .hosts(new HashSet<>(Arrays.asList(FAILING_HOST, GOOD_HOST)))
+                        .loadBalancingStrategy(preferring(FAILING_HOST))
+                        .build(),
+                host -> host.equals(FAILING_HOST) ? failingConnection : goodConnection);
+    }
+
+    private static RetryPolicy retry(final int maxAttempts, final int budgetPercent) {
+        return new RetryPolicy(RetryConfig.builder()
+                .enabled(true)
+                .maxAttempts(maxAttempts)
+                .initialBackoff(Duration.ofMillis(1))
+                .maxBackoff(Duration.ofMillis(10))
+                .budgetPercent(budgetPercent)
+                .build());
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (pool != null) {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void retryOnDifferentHost() {
+        createFailingPool(new IOException("Connection closed!"));
+        ArangoResponse received = pool.executeWithRetries(REQUEST, ConnectionOperation.EXECUTE, retry(3, 100))
+                .block(Duration.ofSeconds(1));
+        assertThat(received).isSameAs(response);
+        assertThat(failedRequests.get()).isEqualTo(1);
+        assertThat(goodRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void retryOnDifferentConnection() {
+        Iterator<ArangoConnection> connections = Arrays.asList(
+                failingConnection(new IOException("Connection closed!")), goodConnection()).iterator();
+        pool = createPool(CommunicationConfig.builder()
+                        .hosts(Collections.singleton(FAILING_HOST))
+                        .connectionsPerHost(2)
+                        .build(),
+                host -> connections.next());
+
+        for (int i = 0; i < 10; i++) {
+            ArangoResponse received = pool.executeWithRetries(REQUEST, ConnectionOperation.EXECUTE, retry(2, 100))
+                    .block(Duration.ofSeconds(1));
+            assertThat(received).isSameAs(response);
+        }
+        assertThat(goodRequests.get()).isEqualTo(10);
+    }
+
+    @Test
+    void retryIdempotentPut() {
+        createFailingPool(new IOException("Connection closed!"));
+        ArangoRequest request = request(ArangoRequest.RequestType.PUT, true);
+        ArangoResponse received = pool.executeWithRetries(request, ConnectionOperation.EXECUTE, retry(3, 100))
+                .block(Duration.ofSeconds(1));
+        assertThat(received).isSameAs(response);
+        assertThat(goodRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void noRetryOnTimeout() {
+        createFailingPool(new TimeoutException());
+        Throwable thrown = catchThrowable(() -> pool.executeWithRetries(REQUEST, ConnectionOperation.EXECUTE,
+                retry(3, 100)).block(Duration.ofSeconds(1)));
+        assertThat(thrown).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(failedRequests.get()).isEqualTo(1);
+        assertThat(goodRequests.get()).isZero();
+    }
+
+    @Test
+    void maxAttempts() {
+        ArangoConnection connection = failingConnection(new IOException("Connection closed!"));
+        pool = createPool(CommunicationConfig.builder().hosts(Collections.singleton(FAILING_HOST)).build(),
+                host -> connection);
+
+        RetryPolicy retry = retry(3, 100);
+        // budget for the second retry
+        retry.onRequest();
+        Throwable thrown = catchThrowable(() -> pool.executeWithRetries(REQUEST, ConnectionOperation.EXECUTE, retry)
+                .block(Duration.ofSeconds(1)));
+        assertThat(thrown).hasCauseInstanceOf(IOException.class);
+        assertThat(failedRequests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void retryBudget() {
+        createFailingPool(new IOException("Connection closed!"));
+        RetryPolicy retry = retry(3, 50);
+        int succeeded = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                pool.executeWithRetries(REQUEST, ConnectionOperation.EXECUTE, retry).block(Duration.ofSeconds(1));
+                succeeded++;
+            } catch (RuntimeException e) {
+                assertThat(e).hasCauseInstanceOf(IOException.class);
+            }
+        }
+        assertThat(succeeded).isEqualTo(5);
+        assertThat(goodRequests.get()).isEqualTo(5);
+    }
+
+    @Test
+    void retryableRequests() {
+        RetryPolicy retry = retry(3, 100);
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.GET, false))).isTrue();
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.HEAD, false))).isTrue();
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.PUT, false))).isFalse();
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.PUT, true))).isTrue();
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.DELETE, true))).isTrue();
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.POST, true))).isFalse();
+        assertThat(retry.isRetryable(request(ArangoRequest.RequestType.PATCH, true))).isFalse();
+        assertThat(new RetryPolicy(RetryConfig.builder().build()).isRetryable(REQUEST)).isFalse();
+    }
+
+    @Test
+    void exponentialBackoffWithJitter() {
+        RetryPolicy retry = new RetryPolicy(RetryConfig.builder()
+                .initialBackoff(Duration.ofMillis(100))
+                .maxBackoff(Duration.ofMillis(1000))
+                .jitter(0.5)
+                .build());
+        assertThat(retry.getBackoff(1)).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+        assertThat(retry.getBackoff(2)).isBetween(Duration.ofMillis(100), Duration.ofMillis(200));
+        assertThat(retry.getBackoff(3)).isBetween(Duration.ofMillis(200), Duration.ofMillis(400));
+        assertThat(retry.getBackoff(10)).isBetween(Duration.ofMillis(500), Duration.ofMillis(1000));
+        assertThat(retry.getBackoff(100)).isBetween(Duration.ofMillis(500), Duration.ofMillis(1000));
+    }
+
+}
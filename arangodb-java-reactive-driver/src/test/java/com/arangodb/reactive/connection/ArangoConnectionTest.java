@@ -0,0 +1,112 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class ArangoConnectionTest {
+
+    private static final Duration IDLE_THRESHOLD = Duration.ofSeconds(30);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMillis(200);
+
+    @Test
+    void stalledWhenWritingWithoutReads() throws InterruptedException {
+        TestConnection connection = new TestConnection();
+        long start = System.nanoTime();
+        connection.write();
+        while (System.nanoTime() - start < REQUEST_TIMEOUT.toNanos() / 2) {
+            Thread.sleep(10);
+            connection.write();
+            assertThat(connection.isRecentlyActive()).isTrue();
+        }
+        while (System.nanoTime() - start < REQUEST_TIMEOUT.toNanos() * 2) {
+            Thread.sleep(10);
+            connection.write();
+        }
+        assertThat(connection.isRecentlyActive()).isFalse();
+
+        connection.read();
+        assertThat(connection.isRecentlyActive()).isTrue();
+        connection.write();
+        assertThat(connection.isRecentlyActive()).isTrue();
+    }
+
+    @Test
+    void notStalledWhenReadsFollowWrites() throws InterruptedException {
+        TestConnection connection = new TestConnection();
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < REQUEST_TIMEOUT.toNanos() * 2) {
+            connection.write();
+            Thread.sleep(10);
+            connection.read();
+        }
+        connection.write();
+        assertThat(connection.isRecentlyActive()).isTrue();
+    }
+
+    private static final class TestConnection extends ArangoConnection {
+
+        TestConnection() {
+            super(null);
+        }
+
+        void write() {
+            onWrite();
+        }
+
+        void read() {
+            onRead();
+        }
+
+        boolean isRecentlyActive() {
+            return isRecentlyActive(IDLE_THRESHOLD, REQUEST_TIMEOUT);
+        }
+
+        @Override
+        protected Mono<ArangoConnection> initialize() {
+            return Mono.just(this);
+        }
+
+        @Override
+        public Mono<ArangoResponse> execute(final ArangoRequest request) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Boolean> isConnected() {
+            return Mono.just(isRecentlyActive());
+        }
+
+        @Override
+        public Mono<Void> close() {
+            return Mono.empty();
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+import io.netty.channel.epoll.Epoll;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import reactor.netty.DisposableServer;
+import utils.EchoHttpServer;
+import utils.EchoVstServer;
+
+import java.util.Arrays;
+
+/**
+ * Request latency against {@link EchoVstServer} and {@link EchoHttpServer}, comparing the native transport with NIO.
+ * Requests are executed sequentially, so that the measured latency is dominated by the transport and not by queueing.
+ *
+ * @author Michele Rastelli
+ */
+@Disabled
+class TransportPerformanceTest {
+
+    private static final int REQUESTS = 20_000;
+
+    private static DisposableServer vstServer;
+    private static DisposableServer httpServer;
+
+    private final AuthenticationMethod authentication = AuthenticationMethod.ofBasic("user", "password");
+    private final ArangoRequest request = ArangoRequest.builder()
+            .database("database")
+            .path("/_api/document/collection")
+            .requestType(ArangoRequest.RequestType.POST)
+            .body(new byte[100])
+            .build();
+
+    @BeforeAll
+    static void setup() {
+        vstServer = new EchoVstServer().start().join();
+        httpServer = new EchoHttpServer().start().join();
+    }
+
+    @AfterAll
+    static void shutDown() {
+        vstServer.dispose();
+        vstServer.onDispose().block();
+        httpServer.dispose();
+        httpServer.onDispose().block();
+    }
+
+    @Test
+    void nativeTransport() {
+        System.out.println("epoll available: " + Epoll.isAvailable());
+        for (ArangoProtocol protocol : new ArangoProtocol[]{ArangoProtocol.VST, ArangoProtocol.HTTP11}) {
+            run(protocol, false);
+            run(protocol, true);
+        }
+    }
+
+    private void run(ArangoProtocol protocol, boolean nativeTransport) {
+        HostDescription host = ArangoProtocol.VST.equals(protocol)
+                ? HostDescription.of("localhost", EchoVstServer.PORT)
+                : HostDescription.of("localhost", 9000);
+        ConnectionConfig config = ConnectionConfig.builder()
+                .transport(TransportConfig.builder().nativeTransport(nativeTransport).build())
+                .build();
+        ArangoConnection connection = new ConnectionFactoryImpl(config, protocol, new ConnectionSchedulerFactory(1))
+                .create(host, authentication)
+                .block();
+
+        // warm up
+        execute(connection, new long[REQUESTS / 10]);
+
+        long[] latencies = new long[REQUESTS];
+        execute(connection, latencies);
+        Arrays.sort(latencies);
+
+        System.out.printf("%s, %s: p50 %.1f us, p99 %.1f us, p99.9 %.1f us%n",
+                protocol, nativeTransport ? "native" : "nio",
+                latencies[REQUESTS / 2] / 1e3,
+                latencies[REQUESTS * 99 / 100] / 1e3,
+                latencies[REQUESTS * 999 / 1_000] / 1e3);
+        connection.close().block();
+    }
+
+    private void execute(ArangoConnection connection, long[] latencies) {
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            connection.execute(request).block();
+            latencies[i] = System.nanoTime() - start;
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class UrlEncoderTest {
+
+    private static String path(final String value) {
+        return UrlEncoder.appendPath(new StringBuilder(), value).toString();
+    }
+
+    private static String query(final String value) {
+        return UrlEncoder.appendQueryComponent(new StringBuilder(), value).toString();
+    }
+
+    @Test
+    void safeAscii() {
+        assertThat(path("/_api/document/coll_1/key-2.a~b")).isEqualTo("/_api/document/coll_1/key-2.a~b");
+        assertThat(query("waitForSync")).isEqualTo("waitForSync");
+    }
+
+    @Test
+    void documentKeyCharacters() {
+        // characters allowed in document keys
+        String key = "_-:.@()+,=;$!*'%";
+        assertThat(path("/" + key)).isEqualTo("/_-:.@()+,=;$!*'%25");
+        assertThat(query(key)).isEqualTo("_-%3A.%40%28%29%2B%2C%3D%3B%24%21%2A%27%25");
+    }
+
+    @Test
+    void reservedCharacters() {
+        assertThat(path("/a b?c#d")).isEqualTo("/a%20b%3Fc%23d");
+        assertThat(query("a&b=c/d e")).isEqualTo("a%26b%3Dc%2Fd%20e");
+    }
+
+    @Test
+    void utf8() throws Exception {
+        String value = "db-ä€🥑";
+        String encoded = query(value);
+        assertThat(encoded).isEqualTo("db-%C3%A4%E2%82%AC%F0%9F%A5%91");
+        assertThat(URLDecoder.decode(encoded, StandardCharsets.UTF_8.name())).isEqualTo(value);
+        assertThat(path(value)).isEqualTo(encoded);
+    }
+
+    @Test
+    void unpairedSurrogate() {
+        assertThat(query("a\uD83Eb")).isEqualTo("a%3Fb");
+    }
+
+    @Test
+    void pathRegion() {
+        String path = "/_api/document/coll/ke y";
+        StringBuilder sb = new StringBuilder("/_db/db");
+        assertThat(UrlEncoder.appendPath(sb, path, "/_api/document/coll".length(), path.length()).toString())
+                .isEqualTo("/_db/db/ke%20y");
+    }
+
+}
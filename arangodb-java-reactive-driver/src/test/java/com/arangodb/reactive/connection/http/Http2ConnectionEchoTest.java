@@ -0,0 +1,189 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.ConnectionConfig;
+import com.arangodb.reactive.connection.ContentType;
+import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.Http2Config;
+import com.arangodb.reactive.connection.exceptions.ArangoConnectionOverloadedException;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import utils.EchoHttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class Http2ConnectionEchoTest {
+
+    private static EchoHttpServer echoServer;
+    private static DisposableServer server;
+
+    private final HostDescription host = HostDescription.of("localhost", 9002);
+    private final AuthenticationMethod authentication = AuthenticationMethod.ofJwt("user", "token");
+
+    private final ConnectionConfig config = ConnectionConfig.builder()
+            .contentType(ContentType.JSON)
+            .build();
+
+    private final ArangoRequest request = ArangoRequest.builder()
+            .database("database")
+            .path("/path")
+            .requestType(ArangoRequest.RequestType.POST)
+            .body("{\"message\": \"Hello World!\"}".getBytes())
+            .build();
+
+    /**
+     * the active requests are decremented after the responses have been delivered
+     */
+    private static Flux<ByteBuf> split(byte[] bytes, int size) {
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(i -> {
+                    int length = Math.min(size, bytes.length - i * size);
+                    return IOUtils.createBuffer(length).writeBytes(bytes, i * size, length);
+                });
+    }
+
+    private static void awaitNoActiveRequests(final HttpConnection connection) throws InterruptedException {
+        for (int i = 0; i < 100 && connection.getActiveRequests() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(connection.getActiveRequests()).isZero();
+    }
+
+    @BeforeAll
+    static void setup() {
+        echoServer = new EchoHttpServer(9002, HttpProtocol.H2C);
+        server = echoServer.start().join();
+    }
+
+    @AfterAll
+    static void shutDown() {
+        server.dispose();
+        server.onDispose().block();
+    }
+
+    @Test
+    void executeWithHttp2Config() {
+        HttpConnection connection = new Http2Connection(host, authentication, ConnectionConfig.builder().from(config)
+                .http2(Http2Config.builder()
+                        .maxConcurrentStreams(10)
+                        .initialWindowSize(1_024 * 1_024)
+                        .connectionWindowSize(8 * 1_024 * 1_024)
+                        .maxFrameSize(64 * 1_024)
+                        .pingInterval(Duration.ofSeconds(1))
+                        .build())
+                .build());
+
+        byte[] body = new byte[4 * 1_024 * 1_024];
+        new Random().nextBytes(body);
+        ArangoResponse response = connection.execute(ArangoRequest.builder().from(request).body(body).build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.getMeta()).containsEntry("authorization", "Bearer token");
+        connection.close().block();
+    }
+
+    @Test
+    void executeStreamingBody() {
+        HttpConnection connection = new Http2Connection(host, authentication, config);
+        byte[] body = new byte[1_024 * 1_024 + 1];
+        new Random().nextBytes(body);
+
+        BufferedArangoResponse response = connection.executeBuffered(request, split(body, 10_000),
+                ArangoConnection.UNKNOWN_CONTENT_LENGTH).block();
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.release()).isTrue();
+        connection.close().block();
+    }
+
+    @Test
+    void executeConcurrentlyOnSingleConnection() throws InterruptedException {
+        HttpConnection connection = new Http2Connection(host, authentication, config);
+        int connections = echoServer.getConnections();
+
+        List<ArangoResponse> responses = Flux.range(0, 50)
+                .flatMap(i -> connection.execute(request))
+                .collectList()
+                .block();
+
+        assertThat(responses).hasSize(50).allMatch(it -> it.getResponseCode() == 200);
+        assertThat(echoServer.getConnections() - connections).isEqualTo(1);
+        awaitNoActiveRequests(connection);
+        connection.close().block();
+    }
+
+    @Test
+    void rejectBeyondMaxConcurrentStreams() throws InterruptedException {
+        HttpConnection connection = new Http2Connection(host, authentication, ConnectionConfig.builder().from(config)
+                .http2(Http2Config.builder().maxConcurrentStreams(1).build())
+                .build());
+
+        List<Object> results = Flux.merge(
+                connection.execute(request).cast(Object.class).onErrorResume(Mono::just),
+                connection.execute(request).cast(Object.class).onErrorResume(Mono::just)
+        ).collectList().block();
+
+        assertThat(results).hasSize(2);
+        assertThat(results).filteredOn(ArangoResponse.class::isInstance).hasSize(1);
+        assertThat(results).filteredOn(ArangoConnectionOverloadedException.class::isInstance).hasSize(1);
+        awaitNoActiveRequests(connection);
+        connection.close().block();
+    }
+
+    @Test
+    void pingKeepsIdleConnectionOpen() throws InterruptedException {
+        HttpConnection connection = new Http2Connection(host, authentication, ConnectionConfig.builder().from(config)
+                .http2(Http2Config.builder().pingInterval(Duration.ofMillis(100)).build())
+                .build());
+        int connections = echoServer.getConnections();
+
+        assertThat(connection.execute(request).block()).isNotNull();
+        Thread.sleep(600);
+        assertThat(connection.execute(request).block()).isNotNull();
+
+        assertThat(echoServer.getConnections() - connections).isEqualTo(1);
+        connection.close().block();
+    }
+
+}
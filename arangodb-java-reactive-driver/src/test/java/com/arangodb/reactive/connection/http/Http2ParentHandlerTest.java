@@ -0,0 +1,102 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.Http2Config;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class Http2ParentHandlerTest {
+
+    private static final long PING_INTERVAL = 50;
+
+    // empty SETTINGS frame: length (3 bytes), type, flags, stream id (4 bytes)
+    private static final byte[] EMPTY_SETTINGS = {0, 0, 0, 4, 0, 0, 0, 0, 0};
+
+    private static void idle() throws InterruptedException {
+        Thread.sleep(PING_INTERVAL + 30);
+    }
+
+    private final Http2Config pingConfig = Http2Config.builder()
+            .pingInterval(Duration.ofMillis(PING_INTERVAL))
+            .build();
+
+    @Test
+    void pingWhenIdleAndCloseWhenNotAcknowledged() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel(new Http2ParentHandler(pingConfig));
+
+        idle();
+        channel.runScheduledPendingTasks();
+        assertThat((Object) channel.readOutbound()).isInstanceOf(Http2PingFrame.class);
+        assertThat(channel.isOpen()).isTrue();
+
+        idle();
+        channel.runScheduledPendingTasks();
+        assertThat(channel.isOpen()).isFalse();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void receivedDataKeepsConnectionOpen() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel(new Http2ParentHandler(pingConfig));
+
+        idle();
+        channel.runScheduledPendingTasks();
+        assertThat((Object) channel.readOutbound()).isInstanceOf(Http2PingFrame.class);
+
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[]{1}));
+        channel.releaseInbound();
+        idle();
+        channel.runScheduledPendingTasks();
+        assertThat(channel.isOpen()).isTrue();
+        assertThat((Object) channel.readOutbound()).isInstanceOf(Http2PingFrame.class);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void updateConnectionWindow() {
+        int windowSize = 1_024 * 1_024;
+        Http2FrameCodec codec = Http2FrameCodecBuilder.forClient().build();
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new Http2ParentHandler(Http2Config.builder().connectionWindowSize(windowSize).build()),
+                codec
+        );
+        assertThat(codec.connection().local().flowController().windowSize(codec.connection().connectionStream()))
+                .isLessThan(windowSize);
+
+        channel.writeInbound(Unpooled.wrappedBuffer(EMPTY_SETTINGS));
+        assertThat(codec.connection().local().flowController().windowSize(codec.connection().connectionStream()))
+                .isEqualTo(windowSize);
+        channel.finishAndReleaseAll();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.CompressionType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Michele Rastelli
+ */
+class HttpCompressionTest {
+
+    private static byte[] createBody() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            sb.append("{\"_key\": \"").append(i).append("\"},");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readJdk(final CompressionType type, final byte[] compressed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = type == CompressionType.GZIP
+                ? new GZIPInputStream(new ByteArrayInputStream(compressed))
+                : new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[1_024];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = {"GZIP", "DEFLATE"})
+    void roundTrip(CompressionType type) throws IOException {
+        byte[] body = createBody();
+        byte[] compressed = HttpCompression.compress(type, 6, body);
+        assertThat(compressed.length).isLessThan(body.length / 4);
+        assertThat(readJdk(type, compressed)).isEqualTo(body);
+
+        String contentEncoding = HttpCompression.getContentEncoding(type).toString();
+        assertThat(HttpCompression.isSupported(contentEncoding)).isTrue();
+        ByteBuf decompressed = HttpCompression.decompress(contentEncoding, Unpooled.wrappedBuffer(compressed),
+                body.length);
+        try {
+            byte[] bytes = new byte[decompressed.readableBytes()];
+            decompressed.readBytes(bytes);
+            assertThat(bytes).isEqualTo(body);
+        } finally {
+            decompressed.release();
+        }
+    }
+
+    @Test
+    void compressEmpty() throws IOException {
+        assertThat(readJdk(CompressionType.GZIP, HttpCompression.compress(CompressionType.GZIP, 1, new byte[0])))
+                .isEmpty();
+    }
+
+    @Test
+    void unsupportedEncoding() {
+        assertThat(HttpCompression.isSupported("br")).isFalse();
+        assertThat(HttpCompression.isSupported("GZIP")).isTrue();
+        assertThat(HttpCompression.isSupported("x-gzip")).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionType.class, names = {"GZIP", "DEFLATE"})
+    void decompressExceedingMaxSize(CompressionType type) {
+        byte[] body = createBody();
+        String contentEncoding = HttpCompression.getContentEncoding(type).toString();
+        ByteBuf compressed = Unpooled.wrappedBuffer(HttpCompression.compress(type, 6, body));
+        assertThatThrownBy(() -> HttpCompression.decompress(contentEncoding, compressed, body.length - 1))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("max size");
+        compressed.release();
+    }
+
+    @Test
+    void decompressCorrupted() {
+        ByteBuf corrupted = Unpooled.wrappedBuffer(new byte[]{0x1f, (byte) 0x8b, 8, 0, 1, 2, 3});
+        assertThatThrownBy(() -> HttpCompression.decompress("gzip", corrupted, 1_024)).isInstanceOf(IOException.class);
+        corrupted.release();
+    }
+
+}
@@ -20,26 +20,40 @@
 
 package com.arangodb.reactive.connection.http;
 
+import com.arangodb.reactive.connection.ArangoConnection;
 import com.arangodb.reactive.connection.ArangoRequest;
 import com.arangodb.reactive.connection.ArangoResponse;
 import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.CompressionConfig;
+import com.arangodb.reactive.connection.CompressionMetrics;
+import com.arangodb.reactive.connection.CompressionType;
 import com.arangodb.reactive.connection.ConnectionConfig;
 import com.arangodb.reactive.connection.ContentType;
 import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.RequestTemplate;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
+import com.arangodb.reactive.connection.TransportConfig;
 import com.arangodb.velocypack.VPackBuilder;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.ValueType;
+import io.netty.buffer.ByteBuf;
 import org.assertj.core.data.MapEntry;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.netty.DisposableServer;
 import utils.EchoHttpServer;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Michele Rastelli
@@ -69,6 +83,14 @@ class HttpConnectionEchoTest {
             .body(body.getBytes())
             .build();
 
+    private static Flux<ByteBuf> split(byte[] bytes, int size) {
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(i -> {
+                    int length = Math.min(size, bytes.length - i * size);
+                    return IOUtils.createBuffer(length).writeBytes(bytes, i * size, length);
+                });
+    }
+
     @BeforeAll
     static void setup() {
         server = new EchoHttpServer().start().join();
@@ -112,6 +134,22 @@ class HttpConnectionEchoTest {
         assertThat(response.getResponseCode()).isEqualTo(200);
     }
 
+    @Test
+    void executeBuffered() {
+        HttpConnection connection = new Http11Connection(host, authentication, config);
+        BufferedArangoResponse response = connection.executeBuffered(request).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.refCnt()).isEqualTo(1);
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(body.getBytes());
+        assertThat(response.getMeta())
+                .containsEntry("authorization", "Bearer token")
+                .containsEntry(headerParam.getKey(), headerParam.getValue().get());
+        assertThat(response.getMeta().get("Content-Type")).isEqualTo("application/json");
+        assertThat(response.release()).isTrue();
+    }
+
     @Test
     void executeVPack() {
         HttpConnection connection = new Http11Connection(host, authentication, ConnectionConfig.builder().from(config)
@@ -151,6 +189,167 @@ class HttpConnectionEchoTest {
         assertThat(response.getBody().length).isEqualTo(0);
     }
 
+    @Test
+    void executeWithTransportConfig() {
+        HttpConnection connection = new Http11Connection(host, authentication, ConnectionConfig.builder().from(config)
+                .transport(TransportConfig.builder()
+                        .nativeTransport(false)
+                        .keepAlive(true)
+                        .sendBufferSize(8 * 1_024)
+                        .receiveBufferSize(8 * 1_024)
+                        .writeBufferLowWaterMark(1_024)
+                        .writeBufferHighWaterMark(4 * 1_024)
+                        .build())
+                .build());
+
+        ArangoResponse response = connection.execute(request).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(new String(response.getBody())).isEqualTo(body);
+    }
+
+    @Test
+    void executeTemplate() {
+        HttpConnection connection = new Http11Connection(host, authentication, config);
+        RequestTemplate template = RequestTemplate.of("database", "/_api/document/collection");
+        ArangoRequest templateRequest = template.builder(ArangoRequest.RequestType.GET, "/key")
+                .putQueryParams(queryParam)
+                .build();
+        ArangoResponse response = connection.execute(templateRequest).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getMeta().get("uri")).isEqualTo("/_db/database/_api/document/collection/key?"
+                + queryParam.getKey() + "=" + queryParam.getValue().get());
+    }
+
+    @Test
+    void executeResendingCookies() {
+        HttpConnection connection = new Http11Connection(host, authentication, config);
+
+        // the echo server sends back the request headers, including set-cookie
+        ArangoResponse first = connection.execute(ArangoRequest.builder().from(request)
+                .putHeaderParams("set-cookie", Optional.of("session=abc"))
+                .build()).block();
+        assertThat(first).isNotNull();
+        assertThat(first.getMeta()).doesNotContainKey("cookie");
+
+        ArangoResponse second = connection.execute(request).block();
+        assertThat(second).isNotNull();
+        assertThat(second.getMeta()).containsEntry("cookie", "session=abc");
+        assertThat(second.getMeta().get(headerParam.getKey())).isEqualTo(headerParam.getValue().get());
+
+        ArangoResponse third = connection.execute(ArangoRequest.builder().from(request)
+                .putHeaderParams("set-cookie", Optional.of("session=abc; Max-Age=0"))
+                .build()).block();
+        assertThat(third).isNotNull();
+        assertThat(third.getMeta()).containsEntry("cookie", "session=abc");
+
+        ArangoResponse fourth = connection.execute(request).block();
+        assertThat(fourth).isNotNull();
+        assertThat(fourth.getMeta()).doesNotContainKey("cookie");
+    }
+
+    @Test
+    void executeEncodingUrl() {
+        HttpConnection connection = new Http11Connection(host, authentication, config);
+        ArangoResponse response = connection.execute(ArangoRequest.builder()
+                .database("dätabase")
+                .path("/_api/document/collection/a b")
+                .putQueryParams("q", Optional.of("x&y=z"))
+                .putQueryParams("absent", Optional.empty())
+                .requestType(ArangoRequest.RequestType.GET)
+                .build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getMeta().get("uri"))
+                .isEqualTo("/_db/d%C3%A4tabase/_api/document/collection/a%20b?q=x%26y%3Dz");
+    }
+
+    @Test
+    void executeCompressed() {
+        HttpConnection connection = new Http11Connection(host, authentication, ConnectionConfig.builder().from(config)
+                .compression(CompressionConfig.builder()
+                        .type(CompressionType.GZIP)
+                        .threshold(1_024)
+                        .build())
+                .build());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            sb.append("{\"key\": ").append(i).append("},");
+        }
+        byte[] largeBody = sb.toString().getBytes();
+
+        // the echo server sends back the compressed body together with the content-encoding header
+        ArangoResponse response = connection.execute(ArangoRequest.builder().from(request).body(largeBody).build())
+                .block();
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(largeBody);
+        assertThat(response.getMeta())
+                .containsEntry("accept-encoding", "gzip,deflate")
+                .containsEntry("content-length", String.valueOf(largeBody.length))
+                .doesNotContainKey("content-encoding");
+
+        // below the threshold
+        ArangoResponse smallResponse = connection.execute(request).block();
+        assertThat(smallResponse).isNotNull();
+        assertThat(smallResponse.getBody()).isEqualTo(body.getBytes());
+
+        CompressionMetrics metrics = connection.getCompressionMetrics().orElseThrow(IllegalStateException::new);
+        assertThat(metrics.getCompressedRequests()).isEqualTo(1);
+        assertThat(metrics.getRequestBytes()).isEqualTo(largeBody.length);
+        assertThat(metrics.getRequestRatio()).isGreaterThan(2.0);
+        assertThat(metrics.getCompressedResponses()).isEqualTo(1);
+        assertThat(metrics.getResponseBytes()).isEqualTo(largeBody.length);
+        assertThat(metrics.getCompressedResponseBytes()).isEqualTo(metrics.getCompressedRequestBytes());
+    }
+
+    @Test
+    void executeCompressedExceedingMaxDecompressedSize() {
+        HttpConnection connection = new Http11Connection(host, authentication, ConnectionConfig.builder().from(config)
+                .compression(CompressionConfig.builder()
+                        .type(CompressionType.DEFLATE)
+                        .threshold(1_024)
+                        .offloadThreshold(1_024)
+                        .maxDecompressedSize(4_096)
+                        .build())
+                .build());
+        byte[] largeBody = new byte[8_192];
+
+        // the request body is compressed on a worker thread, the echoed response exceeds the max decompressed size
+        assertThatThrownBy(() -> connection.execute(ArangoRequest.builder().from(request).body(largeBody).build())
+                .block())
+                .hasCauseInstanceOf(IOException.class)
+                .hasStackTraceContaining("max size");
+        assertThat(connection.getCompressionMetrics().orElseThrow(IllegalStateException::new).getCompressedRequests())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void executeStreamingBody() {
+        HttpConnection connection = new Http11Connection(host, authentication, config);
+        byte[] largeBody = new byte[1_024 * 1_024 + 1];
+        new Random().nextBytes(largeBody);
+
+        BufferedArangoResponse response = connection.executeBuffered(request, split(largeBody, 10_000),
+                largeBody.length).block();
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(largeBody);
+        assertThat(response.getMeta()).containsEntry("content-length", String.valueOf(largeBody.length));
+        assertThat(response.release()).isTrue();
+
+        BufferedArangoResponse chunkedResponse = connection.executeBuffered(request, split(largeBody, 10_000),
+                ArangoConnection.UNKNOWN_CONTENT_LENGTH).block();
+        assertThat(chunkedResponse).isNotNull();
+        assertThat(chunkedResponse.getBody()).isEqualTo(largeBody);
+        assertThat(chunkedResponse.getMeta())
+                .containsEntry("transfer-encoding", "chunked")
+                .doesNotContainKey("content-length");
+        assertThat(chunkedResponse.release()).isTrue();
+    }
+
     @Test
     void executeBasicAuthentication() {
         HttpConnection connection = new Http11Connection(host, AuthenticationMethod.ofBasic("user", "password"), config);
@@ -163,4 +362,20 @@ class HttpConnectionEchoTest {
         assertThat(response.getMeta().get("authorization")).isEqualTo("Basic dXNlcjpwYXNzd29yZA==");
     }
 
-}
\ No newline at end of file
+    @Test
+    void executeStreaming() {
+        HttpConnection connection = new Http11Connection(host, authentication, config);
+
+        String receivedString = connection.executeStreaming(request)
+                .doOnNext(response -> {
+                    assertThat(response.getResponseCode()).isEqualTo(200);
+                    assertThat(response.getMeta()).containsEntry("authorization", "Bearer token");
+                })
+                .flatMap(StreamingArangoResponse::aggregate)
+                .map(response -> new String(response.getBody()))
+                .block();
+
+        assertThat(receivedString).isEqualTo(body);
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class HttpHeadersMapTest {
+
+    private final HttpHeaders headers = new DefaultHttpHeaders()
+            .add("Content-Type", "application/json")
+            .add("ETag", "\"_bcd\"")
+            .add("Set-Cookie", "a=1")
+            .add("set-cookie", "b=2");
+
+    @Test
+    void caseInsensitiveLookup() {
+        Map<String, String> map = new HttpHeadersMap(headers);
+        assertThat(map.get("etag")).isEqualTo("\"_bcd\"");
+        assertThat(map.get("ETAG")).isEqualTo("\"_bcd\"");
+        assertThat(map.containsKey("content-type")).isTrue();
+        assertThat(map.containsKey("x-missing")).isFalse();
+        assertThat(map.get("x-missing")).isNull();
+        assertThat(map.get(1)).isNull();
+    }
+
+    @Test
+    void lowerCasedEntries() {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("content-type", "application/json");
+        expected.put("etag", "\"_bcd\"");
+        expected.put("set-cookie", "a=1");
+
+        Map<String, String> map = new HttpHeadersMap(headers);
+        assertThat(map).hasSize(3);
+        assertThat(map).isEqualTo(expected);
+        assertThat(map.get("set-cookie")).isEqualTo("a=1");
+    }
+
+    @Test
+    void emptyHeaders() {
+        Map<String, String> map = new HttpHeadersMap(new DefaultHttpHeaders());
+        assertThat(map).isEmpty();
+        assertThat(map.entrySet()).isEmpty();
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.http;
+
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.RequestTemplate;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the previous url building, based on streams and string concatenation without any encoding, with
+ * {@link UrlBuilder}, for typical document and collection urls.
+ *
+ * @author Michele Rastelli
+ */
+@Disabled
+class UrlBuilderPerformanceTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int ITERATIONS = 10_000_000;
+
+    private final RequestTemplate documents = RequestTemplate.of("database", "/_api/document/collection");
+
+    private final ArangoRequest documentRequest = ArangoRequest.builder()
+            .database("database")
+            .requestType(ArangoRequest.RequestType.POST)
+            .path("/_api/document/collection/key")
+            .putQueryParams("waitForSync", Optional.of("true"))
+            .putQueryParams("returnNew", Optional.of("false"))
+            .putQueryParams("overwriteMode", Optional.of("replace"))
+            .putQueryParams("keepNull", Optional.empty())
+            .build();
+
+    private final ArangoRequest templateDocumentRequest = documents.builder(ArangoRequest.RequestType.POST, "/key")
+            .putAllQueryParams(documentRequest.getQueryParams())
+            .build();
+
+    private final ArangoRequest collectionRequest = ArangoRequest.builder()
+            .database("database")
+            .requestType(ArangoRequest.RequestType.GET)
+            .path("/_api/collection/collection/properties")
+            .build();
+
+    private static String concatenate(final ArangoRequest request) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("/_db/").append(request.getDatabase());
+        sb.append(request.getPath());
+        final String paramString = request.getQueryParams().entrySet().stream()
+                .filter(it -> it.getValue().isPresent())
+                .map(it -> it.getKey() + "=" + it.getValue().get())
+                .collect(Collectors.joining("&"));
+        if (!paramString.isEmpty()) {
+            sb.append("?");
+            sb.append(paramString);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void buildUrl() {
+        final UrlBuilder urlBuilder = new UrlBuilder();
+        for (int i = 0; i < 3; i++) {
+            run("document: concatenation", documentRequest, UrlBuilderPerformanceTest::concatenate);
+            run("document: UrlBuilder", documentRequest, urlBuilder::build);
+            run("document: UrlBuilder with template", templateDocumentRequest, urlBuilder::build);
+            run("collection: concatenation", collectionRequest, UrlBuilderPerformanceTest::concatenate);
+            run("collection: UrlBuilder", collectionRequest, urlBuilder::build);
+        }
+    }
+
+    private void run(final String name, final ArangoRequest req, final Function<ArangoRequest, String> builder) {
+        long chars = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            chars += builder.apply(req).length();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            chars += builder.apply(req).length();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("%s: %.1f ns/op (%d chars)%n", name, (double) elapsed / ITERATIONS, chars);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.ConnectionConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.arangodb.reactive.ArangoDefaults.HEADER_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class ChunkSizePolicyTest {
+
+    private final ConnectionConfig adaptiveConfig = ConnectionConfig.builder()
+            .adaptiveChunkSize(true)
+            .chunkSize(30_000)
+            .minChunkSize(4_096)
+            .maxChunkSize(262_144)
+            .build();
+
+    @Test
+    void fixedChunkSize() {
+        ChunkSizePolicy policy = new ChunkSizePolicy(ConnectionConfig.builder().chunkSize(1_000).build());
+        for (int i = 0; i < 1_000; i++) {
+            policy.onMessageWritten(1_000_000, 2, 100_000);
+        }
+        assertThat(policy.getChunkSize()).isEqualTo(1_000);
+    }
+
+    @Test
+    void initialChunkSizeWithinBounds() {
+        ChunkSizePolicy policy = new ChunkSizePolicy(ConnectionConfig.builder().from(adaptiveConfig)
+                .chunkSize(1_000)
+                .build());
+        assertThat(policy.getChunkSize()).isEqualTo(4_096);
+    }
+
+    @Test
+    void growWithThroughput() {
+        ChunkSizePolicy policy = new ChunkSizePolicy(adaptiveConfig);
+        // 10 bytes per nanosecond
+        for (int i = 0; i < 64; i++) {
+            policy.onMessageWritten(1_000_000, 4, 100_000);
+        }
+        assertThat(policy.getChunkSize()).isEqualTo(262_144);
+    }
+
+    @Test
+    void shrinkUnderContention() {
+        ChunkSizePolicy policy = new ChunkSizePolicy(adaptiveConfig);
+        for (int i = 0; i < 48; i++) {
+            policy.onMessageWritten(200 + HEADER_SIZE, 1, 1_000_000);
+        }
+        // 0.01 bytes per nanosecond
+        for (int i = 0; i < 16; i++) {
+            policy.onMessageWritten(100_000, 4, 10_000_000);
+        }
+        assertThat(policy.getChunkSize()).isEqualTo(4_096);
+    }
+
+    @Test
+    void doNotSplitCommonMessages() {
+        ChunkSizePolicy policy = new ChunkSizePolicy(adaptiveConfig);
+        // 0.01 bytes per nanosecond
+        for (int i = 0; i < 64; i++) {
+            policy.onMessageWritten(50_000 + 2 * HEADER_SIZE, 2, 5_000_000);
+        }
+        assertThat(policy.getChunkSize()).isEqualTo(65_536);
+    }
+
+    @Test
+    void stats() {
+        ChunkSizePolicy policy = new ChunkSizePolicy(adaptiveConfig);
+        policy.onMessageWritten(100 + HEADER_SIZE, 1, 1_000);
+        policy.onMessageWritten(100 + HEADER_SIZE, 1, 1_000);
+        policy.onMessageWritten(10_000 + 2 * HEADER_SIZE, 2, 1_000);
+
+        VstConnectionStats stats = policy.getStats();
+        assertThat(stats.getChunkSize()).isEqualTo(30_000);
+        assertThat(stats.getMessages()).isEqualTo(3);
+        assertThat(stats.getChunks()).isEqualTo(4);
+        assertThat(stats.getBytes()).isEqualTo(10_200 + 4 * HEADER_SIZE);
+        assertThat(stats.getAverageMessageSize()).isEqualTo(1_338);
+        assertThat(stats.getMedianMessageSize()).isEqualTo(128);
+        assertThat(stats.getAverageWriteLatency()).isEqualTo(Duration.ofNanos(1_000));
+    }
+
+}
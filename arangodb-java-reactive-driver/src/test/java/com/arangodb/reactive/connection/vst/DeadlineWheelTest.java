@@ -0,0 +1,101 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class DeadlineWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void expire() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, 8, 0);
+        wheel.add(1, 15);
+        wheel.add(2, 20);
+        wheel.add(3, 35);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.expire(10, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.expire(20, expired::add);
+        assertThat(expired).containsExactlyInAnyOrder(1L, 2L);
+        // deadlines are checked at tick granularity
+        wheel.expire(39, expired::add);
+        assertThat(expired).containsExactlyInAnyOrder(1L, 2L);
+        wheel.expire(40, expired::add);
+        assertThat(expired).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void expireAfterRevolutions() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, 8, 0);
+        // same bucket, different revolutions
+        wheel.add(1, 10);
+        wheel.add(2, 90);
+        wheel.add(3, 170);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.expire(10, expired::add);
+        assertThat(expired).containsExactly(1L);
+        wheel.expire(80, expired::add);
+        assertThat(expired).containsExactly(1L);
+        wheel.expire(90, expired::add);
+        assertThat(expired).containsExactly(1L, 2L);
+        // skipping more than a revolution
+        wheel.expire(1_000, expired::add);
+        assertThat(expired).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void expirePastDeadlineAtNextTick() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, 8, 0);
+        wheel.expire(50, id -> {
+        });
+        wheel.add(1, 5);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.expire(55, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.expire(60, expired::add);
+        assertThat(expired).containsExactly(1L);
+    }
+
+    @Test
+    void growBuckets() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, 8, 0);
+        for (long i = 0; i < 100; i++) {
+            wheel.add(i, 10);
+        }
+        List<Long> expired = new ArrayList<>();
+        wheel.expire(10, expired::add);
+        assertThat(expired).hasSize(100);
+    }
+
+}
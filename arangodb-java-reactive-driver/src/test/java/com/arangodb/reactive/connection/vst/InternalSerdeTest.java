@@ -22,10 +22,14 @@ package com.arangodb.reactive.connection.vst;
 
 
 import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoRequestBuilder;
 import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.RequestTemplate;
 import com.arangodb.velocypack.VPackBuilder;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.ValueType;
+import io.netty.buffer.ByteBuf;
 import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
@@ -114,4 +118,104 @@ class InternalSerdeTest {
         assertThat(firstHeaderParamSliceEntry.getValue().getAsString()).isEqualTo(firstHeaderParamEntry.getValue().get());
     }
 
+    @Test
+    void writeTemplateRequestHeader() {
+        RequestTemplate template = RequestTemplate.of("database", "/_api/document/collection");
+        StringBuilder longKey = new StringBuilder("/");
+        for (int i = 0; i < 200; i++) {
+            longKey.append("\u00e8");
+        }
+        ArangoRequestBuilder requestBuilder = template.builder(ArangoRequest.RequestType.GET, longKey.toString())
+                .putHeaderParams("headerParamKey", Optional.of("headerParamValue"))
+                .putHeaderParams("absentHeaderParamKey", Optional.empty());
+        for (int i = 0; i < 200; i++) {
+            requestBuilder.putQueryParams("queryParamKey" + i, Optional.of("queryParamValue" + i));
+        }
+        ArangoRequest request = requestBuilder.build();
+
+        ByteBuf buf = RequestHeaderWriter.write(request);
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        VPackSlice slice = new VPackSlice(bytes);
+
+        assertThat(slice.isArray()).isTrue();
+        assertThat(slice.getByteSize()).isEqualTo(bytes.length);
+        assertThat(slice.size()).isEqualTo(7);
+        assertThat(slice.get(0).getAsInt()).isEqualTo(request.getVersion());
+        assertThat(slice.get(1).getAsInt()).isEqualTo(request.getType());
+        assertThat(slice.get(2).getAsString()).isEqualTo("database");
+        assertThat(slice.get(3).getAsInt()).isEqualTo(request.getRequestType().getType());
+        assertThat(slice.get(4).getAsString()).isEqualTo("/_api/document/collection" + longKey);
+        assertThat(slice.get(5).size()).isEqualTo(200);
+        for (int i = 0; i < 200; i++) {
+            assertThat(slice.get(5).get("queryParamKey" + i).getAsString()).isEqualTo("queryParamValue" + i);
+        }
+        assertThat(slice.get(6).size()).isEqualTo(1);
+        assertThat(slice.get(6).get("headerParamKey").getAsString()).isEqualTo("headerParamValue");
+    }
+
+    @Test
+    void writeTemplateRequestHeaderWithoutParams() {
+        RequestTemplate template = RequestTemplate.of("database", "/_api/collection");
+        ArangoRequest request = template.builder(ArangoRequest.RequestType.ILLEGAL).build();
+
+        ByteBuf buf = RequestHeaderWriter.write(request);
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        VPackSlice slice = new VPackSlice(bytes);
+
+        assertThat(slice.getByteSize()).isEqualTo(bytes.length);
+        assertThat(slice.get(3).getAsInt()).isEqualTo(ArangoRequest.RequestType.ILLEGAL.getType());
+        assertThat(slice.get(4).getAsString()).isEqualTo("/_api/collection");
+        assertThat(slice.get(5).isObject()).isTrue();
+        assertThat(slice.get(5).size()).isZero();
+        assertThat(slice.get(6).size()).isZero();
+    }
+
+    @Test
+    void writeRequestHeader() {
+        ArangoRequest request = ArangoRequest.builder()
+                .database("database")
+                .requestType(ArangoRequest.RequestType.GET)
+                .path("/_api/document/collection/key")
+                .putHeaderParams("headerParamKey", Optional.of("headerParamValue"))
+                .putQueryParams("queryParamKey", Optional.of("queryParamValue"))
+                .build();
+
+        ByteBuf buf = RequestHeaderWriter.write(request);
+        assertThat(buf.isDirect()).isTrue();
+        assertThat(buf.capacity()).isEqualTo(buf.readableBytes());
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        VPackSlice slice = new VPackSlice(bytes);
+
+        assertThat(slice.getByteSize()).isEqualTo(bytes.length);
+        assertThat(slice.size()).isEqualTo(7);
+        assertThat(slice.get(2).getAsString()).isEqualTo("database");
+        assertThat(slice.get(4).getAsString()).isEqualTo("/_api/document/collection/key");
+        assertThat(slice.get(5).get("queryParamKey").getAsString()).isEqualTo("queryParamValue");
+        assertThat(slice.get(6).get("headerParamKey").getAsString()).isEqualTo("headerParamValue");
+    }
+
+    @Test
+    void writeAuthenticationMessage() {
+        ByteBuf buf = AuthenticationMethod.ofBasic("user", "password").getVstAuthenticationMessage();
+        assertThat(buf.isDirect()).isTrue();
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        VPackSlice slice = new VPackSlice(bytes);
+
+        assertThat(slice.getByteSize()).isEqualTo(bytes.length);
+        assertThat(slice.size()).isEqualTo(5);
+        assertThat(slice.get(0).getAsInt()).isEqualTo(1);
+        assertThat(slice.get(1).getAsInt()).isEqualTo(1000);
+        assertThat(slice.get(2).getAsString()).isEqualTo("plain");
+        assertThat(slice.get(3).getAsString()).isEqualTo("user");
+        assertThat(slice.get(4).getAsString()).isEqualTo("password");
+    }
+
 }
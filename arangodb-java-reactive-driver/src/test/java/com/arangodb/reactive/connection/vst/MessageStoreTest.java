@@ -0,0 +1,182 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Michele Rastelli
+ */
+class MessageStoreTest {
+
+    private static BufferedArangoResponse response() {
+        return new BufferedArangoResponse(1, 2, 200, Collections.emptyMap(), Unpooled.buffer());
+    }
+
+    @Test
+    void capacity() {
+        assertThat(new MessageStore(1).getCapacity()).isEqualTo(2);
+        assertThat(new MessageStore(2).getCapacity()).isEqualTo(4);
+        assertThat(new MessageStore(3).getCapacity()).isEqualTo(8);
+        assertThat(new MessageStore(1024).getCapacity()).isEqualTo(2048);
+        assertThat(new MessageStore(1025).getCapacity()).isEqualTo(4096);
+        assertThat(new MessageStore(1 << 20).getCapacity()).isEqualTo(1 << 21);
+    }
+
+    @Test
+    void resolve() {
+        MessageStore store = new MessageStore(2);
+        MessageStore.BufferedRequest request = store.addRequest();
+        assertThat(request).isNotNull();
+
+        BufferedArangoResponse response = response();
+        BufferedArangoResponse[] received = new BufferedArangoResponse[1];
+        request.getResponse().subscribe(r -> received[0] = r);
+        store.resolve(request.getMessageId(), response);
+
+        assertThat(received[0]).isSameAs(response);
+        assertThat(response.refCnt()).isEqualTo(1);
+        response.release();
+    }
+
+    @Test
+    void rejectWhenFull() {
+        MessageStore store = new MessageStore(2);
+        MessageStore.BufferedRequest first = store.addRequest();
+        MessageStore.BufferedRequest second = store.addRequest();
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(second.getMessageId()).isNotEqualTo(first.getMessageId());
+        assertThat(store.addRequest()).isNull();
+
+        assertThat(store.remove(first.getMessageId())).isSameAs(first);
+        assertThat(store.remove(first.getMessageId())).isNull();
+        assertThat(store.addRequest()).isNotNull();
+    }
+
+    @Test
+    void skipTakenSlots() {
+        MessageStore store = new MessageStore(2);
+        MessageStore.BufferedRequest longRunning = store.addRequest();
+        assertThat(longRunning).isNotNull();
+        for (int i = 0; i < 100; i++) {
+            MessageStore.BufferedRequest request = store.addRequest();
+            assertThat(request).isNotNull();
+            assertThat(store.remove(request.getMessageId())).isSameAs(request);
+        }
+        assertThat(store.remove(longRunning.getMessageId())).isSameAs(longRunning);
+    }
+
+    @Test
+    void releaseUnexpectedResponse() {
+        MessageStore store = new MessageStore(1);
+        BufferedArangoResponse response = response();
+        store.resolve(1L, response);
+        assertThat(response.refCnt()).isZero();
+    }
+
+    @Test
+    void releaseCancelledResponse() {
+        MessageStore store = new MessageStore(1);
+        MessageStore.BufferedRequest request = store.addRequest();
+        assertThat(request).isNotNull();
+        Disposable subscription = request.getResponse().subscribe();
+        subscription.dispose();
+
+        BufferedArangoResponse response = response();
+        store.resolve(request.getMessageId(), response);
+        assertThat(response.refCnt()).isZero();
+    }
+
+    @Test
+    void clear() {
+        MessageStore store = new MessageStore(1);
+        MessageStore.BufferedRequest request = store.addRequest();
+        assertThat(request).isNotNull();
+        IOException cause = new IOException();
+        store.clear(cause);
+
+        assertThatThrownBy(() -> request.getResponse().block()).hasCause(cause);
+        assertThat(store.addRequest()).isNotNull();
+    }
+
+    @Test
+    void expire() {
+        MessageStore store = new MessageStore(1);
+        MessageStore.BufferedRequest request = store.addRequest();
+        assertThat(request).isNotNull();
+        assertThat(store.isPending(request.getMessageId())).isTrue();
+        TimeoutException cause = new TimeoutException();
+
+        assertThat(store.expire(request.getMessageId(), cause)).isTrue();
+        assertThat(store.isPending(request.getMessageId())).isFalse();
+        assertThat(store.expire(request.getMessageId(), cause)).isFalse();
+        assertThatThrownBy(() -> request.getResponse().block()).hasCause(cause);
+        assertThat(store.addRequest()).isNotNull();
+    }
+
+    @Test
+    void doNotExpireStreamingResponse() {
+        MessageStore store = new MessageStore(1);
+        MessageStore.StreamingRequest request = store.addStreamingRequest();
+        assertThat(request).isNotNull();
+        request.getResponse().subscribe();
+        assertThat(request.emitHead(response())).isTrue();
+
+        assertThat(store.expire(request.getMessageId(), new TimeoutException())).isFalse();
+        assertThat(store.isPending(request.getMessageId())).isTrue();
+        request.completeBody();
+        assertThat(store.isPending(request.getMessageId())).isFalse();
+    }
+
+    @Test
+    void releaseBufferedFragmentsOnFailure() {
+        MessageStore store = new MessageStore(1);
+        MessageStore.StreamingRequest request = store.addStreamingRequest();
+        assertThat(request).isNotNull();
+        StreamingArangoResponse[] received = new StreamingArangoResponse[1];
+        request.getResponse().subscribe(r -> received[0] = r);
+        BufferedArangoResponse head = response();
+        assertThat(request.emitHead(head)).isTrue();
+        head.release();
+        ByteBuf fragment = Unpooled.buffer().writeByte(1);
+        request.emitFragment(fragment);
+
+        // the body has not been subscribed
+        IOException cause = new IOException();
+        store.clear(cause);
+        assertThat(fragment.refCnt()).isZero();
+        assertThatThrownBy(() -> received[0].getBody().blockLast()).hasCause(cause);
+    }
+
+}
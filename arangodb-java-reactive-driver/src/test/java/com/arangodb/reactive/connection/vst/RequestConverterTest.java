@@ -0,0 +1,93 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+
+import com.arangodb.reactive.connection.IOUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.arangodb.reactive.ArangoDefaults.HEADER_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michele Rastelli
+ */
+class RequestConverterTest {
+
+    private static final long MESSAGE_ID = 123L;
+
+    @ParameterizedTest
+    @CsvSource({
+            "10, 100",
+            "100, 100",
+            "250, 100",
+            "300, 100",
+            "1, 1"
+    })
+    void encodeBuffer(final int payloadSize, final int chunkSize) {
+        byte[] bytes = new byte[payloadSize];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        // bytes before the reader index are not part of the message
+        ByteBuf payload = IOUtils.createBuffer(payloadSize + 2);
+        payload.writeShort(-1).writeBytes(bytes).skipBytes(2);
+
+        ByteBuf encoded = RequestConverter.encodeBuffer(MESSAGE_ID, payload, chunkSize);
+        int numberOfChunks = (payloadSize + chunkSize - 1) / chunkSize;
+        assertThat(encoded).isInstanceOf(CompositeByteBuf.class);
+        ByteBuf headers = ((CompositeByteBuf) encoded).component(0).unwrap();
+        assertThat(encoded.readableBytes()).isEqualTo(payloadSize + numberOfChunks * HEADER_SIZE);
+        // the payload is referenced by the slices of the chunks only
+        assertThat(payload.refCnt()).isEqualTo(numberOfChunks);
+
+        int offset = 0;
+        for (int i = 0; i < numberOfChunks; i++) {
+            int contentLength = Math.min(chunkSize, payloadSize - offset);
+            assertThat(encoded.readIntLE()).isEqualTo(contentLength + HEADER_SIZE);
+            int chunkX = encoded.readIntLE();
+            if (numberOfChunks == 1) {
+                assertThat(chunkX).isEqualTo(3);
+            } else if (i == 0) {
+                assertThat(chunkX).isEqualTo((numberOfChunks << 1) | 1);
+            } else {
+                assertThat(chunkX).isEqualTo(i << 1);
+            }
+            assertThat(encoded.readLongLE()).isEqualTo(MESSAGE_ID);
+            assertThat(encoded.readLongLE()).isEqualTo(payloadSize);
+
+            byte[] content = new byte[contentLength];
+            encoded.readBytes(content);
+            assertThat(content).isEqualTo(Arrays.copyOfRange(bytes, offset, offset + contentLength));
+            offset += contentLength;
+        }
+        assertThat(encoded.isReadable()).isFalse();
+
+        encoded.release();
+        assertThat(payload.refCnt()).isZero();
+        assertThat(headers.refCnt()).isZero();
+    }
+
+}
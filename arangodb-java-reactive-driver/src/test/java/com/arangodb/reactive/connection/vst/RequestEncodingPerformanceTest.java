@@ -0,0 +1,110 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.RequestTemplate;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Compares the VelocyStream request header encoding through a heap {@link VPackBuilder} copied into a direct buffer
+ * with {@link RequestHeaderWriter}, writing directly into a pooled direct buffer.
+ *
+ * @author Michele Rastelli
+ */
+@Disabled
+class RequestEncodingPerformanceTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int ITERATIONS = 10_000_000;
+
+    private final RequestTemplate template = RequestTemplate.of("database", "/_api/document/collection");
+
+    private final ArangoRequest request = ArangoRequest.builder()
+            .database("database")
+            .requestType(ArangoRequest.RequestType.GET)
+            .path("/_api/document/collection/key")
+            .putHeaderParams("if-none-match", Optional.of("_bJ2m8SS---"))
+            .putQueryParams("waitForSync", Optional.of("true"))
+            .build();
+
+    private final ArangoRequest templateRequest = template.builder(ArangoRequest.RequestType.GET, "/key")
+            .putHeaderParams("if-none-match", Optional.of("_bJ2m8SS---"))
+            .putQueryParams("waitForSync", Optional.of("true"))
+            .build();
+
+    private static ByteBuf builderEncode(final ArangoRequest request) {
+        final VPackBuilder builder = new VPackBuilder();
+        builder.add(ValueType.ARRAY);
+        builder.add(request.getVersion());
+        builder.add(request.getType());
+        builder.add(request.getDatabase());
+        builder.add(request.getRequestType().getType());
+        builder.add(request.getPath());
+        builder.add(ValueType.OBJECT);
+        request.getQueryParams().forEach((k, v) -> v.ifPresent(it -> builder.add(k, it)));
+        builder.close();
+        builder.add(ValueType.OBJECT);
+        request.getHeaderParams().forEach((k, v) -> v.ifPresent(it -> builder.add(k, it)));
+        builder.close();
+        builder.close();
+        final VPackSlice slice = builder.slice();
+        final ByteBuf buf = IOUtils.createBuffer(slice.getByteSize());
+        buf.writeBytes(slice.getBuffer(), slice.getStart(), slice.getByteSize());
+        return buf;
+    }
+
+    @Test
+    void encodeRequestHeader() {
+        for (int i = 0; i < 3; i++) {
+            run("VPackBuilder", request, RequestEncodingPerformanceTest::builderEncode);
+            run("RequestHeaderWriter", request, RequestHeaderWriter::write);
+            run("RequestHeaderWriter with template", templateRequest, RequestHeaderWriter::write);
+        }
+    }
+
+    private void run(final String name, final ArangoRequest req, final Function<ArangoRequest, ByteBuf> encoder) {
+        long bytes = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            final ByteBuf buf = encoder.apply(req);
+            bytes += buf.readableBytes();
+            buf.release();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            final ByteBuf buf = encoder.apply(req);
+            bytes += buf.readableBytes();
+            buf.release();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("%s: %.1f ns/op (%d bytes)%n", name, (double) elapsed / ITERATIONS, bytes);
+    }
+
+}
@@ -0,0 +1,428 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoProtocol;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.ArangoResponse;
+import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.BufferedArangoResponse;
+import com.arangodb.reactive.connection.ConnectionConfig;
+import com.arangodb.reactive.connection.ConnectionFactoryImpl;
+import com.arangodb.reactive.connection.ConnectionSchedulerFactory;
+import com.arangodb.reactive.connection.HostDescription;
+import com.arangodb.reactive.connection.IOUtils;
+import com.arangodb.reactive.connection.RequestTemplate;
+import com.arangodb.reactive.connection.StreamingArangoResponse;
+import com.arangodb.reactive.connection.TransportConfig;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import utils.EchoVstServer;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * @author Michele Rastelli
+ */
+class VstConnectionEchoTest {
+
+    private static DisposableServer server;
+
+    private final HostDescription host = HostDescription.of("localhost", EchoVstServer.PORT);
+    private final AuthenticationMethod authentication = AuthenticationMethod.ofBasic("user", "password");
+
+    private final ArangoRequest request = ArangoRequest.builder()
+            .database("database")
+            .path("/path")
+            .putHeaderParams("header-param-key", Optional.of("headerParamValue"))
+            .putQueryParams("query-param-key", Optional.of("queryParamValue"))
+            .requestType(ArangoRequest.RequestType.POST)
+            .body("{\"message\": \"Hello World!\"}".getBytes())
+            .build();
+
+    @BeforeAll
+    static void setup() {
+        server = new EchoVstServer().start().join();
+    }
+
+    @AfterAll
+    static void shutDown() {
+        server.dispose();
+        server.onDispose().block();
+    }
+
+    private ArangoConnection createConnection(ConnectionConfig config) {
+        return new ConnectionFactoryImpl(config, ArangoProtocol.VST, new ConnectionSchedulerFactory(1))
+                .create(host, authentication)
+                .block();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static Flux<ByteBuf> split(byte[] bytes, int size) {
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(i -> {
+                    int length = Math.min(size, bytes.length - i * size);
+                    return IOUtils.createBuffer(length).writeBytes(bytes, i * size, length);
+                });
+    }
+
+    @Test
+    void execute() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().build());
+        ArangoResponse response = connection.execute(request).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(request.getBody());
+        assertThat(response.getMeta())
+                .containsEntry("database", "database")
+                .containsEntry("path", "/path")
+                .containsEntry("request-type", String.valueOf(ArangoRequest.RequestType.POST.getType()))
+                .containsEntry("header-param-key", "headerParamValue")
+                .containsEntry("query-param-key", "queryParamValue");
+        connection.close().block();
+    }
+
+    @Test
+    void executeMultiChunk() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().chunkSize(1_000).build());
+        byte[] body = randomBytes(100 * EchoVstServer.CHUNK_SIZE + 1);
+        ArangoResponse response = connection.execute(ArangoRequest.builder().from(request).body(body).build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(body);
+        connection.close().block();
+    }
+
+    @Test
+    void executeWithTransportConfig() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder()
+                .chunkSize(1_000)
+                .transport(TransportConfig.builder()
+                        .nativeTransport(false)
+                        .keepAlive(true)
+                        .sendBufferSize(8 * 1_024)
+                        .receiveBufferSize(8 * 1_024)
+                        .writeBufferLowWaterMark(1_024)
+                        .writeBufferHighWaterMark(4 * 1_024)
+                        .build())
+                .build());
+        byte[] body = randomBytes(100 * EchoVstServer.CHUNK_SIZE + 1);
+        ArangoResponse response = connection.execute(ArangoRequest.builder().from(request).body(body).build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(body);
+        connection.close().block();
+    }
+
+    @Test
+    void executeTemplate() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().build());
+        RequestTemplate template = RequestTemplate.of("database", "/_api/document/collection");
+        ArangoRequest templateRequest = template.builder(ArangoRequest.RequestType.GET, "/key")
+                .putHeaderParams("header-param-key", Optional.of("headerParamValue"))
+                .putQueryParams("query-param-key", Optional.of("queryParamValue"))
+                .build();
+        ArangoResponse response = connection.execute(templateRequest).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getMeta())
+                .containsEntry("database", "database")
+                .containsEntry("path", "/_api/document/collection/key")
+                .containsEntry("request-type", String.valueOf(ArangoRequest.RequestType.GET.getType()))
+                .containsEntry("header-param-key", "headerParamValue")
+                .containsEntry("query-param-key", "queryParamValue");
+        connection.close().block();
+    }
+
+    @Test
+    void executeBuffered() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().build());
+        byte[] body = randomBytes(10 * EchoVstServer.CHUNK_SIZE);
+        BufferedArangoResponse response = connection.executeBuffered(ArangoRequest.builder().from(request).body(body).build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.refCnt()).isEqualTo(1);
+        assertThat(response.content().readableBytes()).isEqualTo(body.length);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.release()).isTrue();
+        connection.close().block();
+    }
+
+    @Test
+    void executeStreamingBody() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().chunkSize(1_000).build());
+        byte[] body = randomBytes(100 * EchoVstServer.CHUNK_SIZE + 1);
+
+        // buffers smaller and larger than the chunk size
+        for (int size : new int[]{333, 2_500}) {
+            BufferedArangoResponse response = connection.executeBuffered(request, split(body, size), body.length)
+                    .block();
+            assertThat(response).isNotNull();
+            assertThat(response.getBody()).isEqualTo(body);
+            assertThat(response.getMeta()).containsEntry("path", "/path");
+            assertThat(response.release()).isTrue();
+        }
+
+        // aggregated before sending
+        BufferedArangoResponse response = connection.executeBuffered(request, split(body, 2_500),
+                ArangoConnection.UNKNOWN_CONTENT_LENGTH).block();
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.release()).isTrue();
+        connection.close().block();
+    }
+
+    @Test
+    void executeStreamingBodyWithWrongLength() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().chunkSize(1_000).build());
+        byte[] body = randomBytes(10_000);
+        Throwable thrown = catchThrowable(() ->
+                connection.executeBuffered(request, split(body, 1_000), body.length + 1).block());
+        assertThat(Exceptions.unwrap(thrown))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("declared body length");
+        connection.close().block();
+    }
+
+    @Test
+    void executeEmptyBody() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().build());
+        ArangoResponse response = connection.execute(ArangoRequest.builder().from(request).body().build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEmpty();
+        connection.close().block();
+    }
+
+    @Test
+    void executeConcurrently() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().chunkSize(1_000).build());
+        List<byte[]> bodies = Flux.range(0, 100)
+                .map(i -> randomBytes(i * 100))
+                .collectList()
+                .block();
+
+        assertThat(bodies).isNotNull();
+        Flux.fromIterable(bodies)
+                .flatMap(body -> connection.execute(ArangoRequest.builder().from(request).body(body).build())
+                        .doOnNext(response -> assertThat(response.getBody()).isEqualTo(body)))
+                .then()
+                .block();
+        connection.close().block();
+    }
+
+    @Test
+    void executeConcurrentDispatch() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder()
+                .chunkSize(1_000)
+                .concurrentDispatch(true)
+                .build());
+        List<byte[]> bodies = Flux.range(0, 100)
+                .map(i -> randomBytes(i * 100))
+                .collectList()
+                .block();
+
+        assertThat(bodies).isNotNull();
+        Flux.fromIterable(bodies)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(body -> connection.execute(ArangoRequest.builder().from(request).body(body).build())
+                        .doOnNext(response -> assertThat(response.getBody()).isEqualTo(body)))
+                .then()
+                .block();
+        connection.close().block();
+    }
+
+    @Test
+    void smallRequestsOvertakeLargeOnes() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().chunkSize(1_000).build());
+        byte[] largeBody = randomBytes(10_000_000);
+        List<String> completed = new CopyOnWriteArrayList<>();
+
+        Flux.merge(
+                connection.execute(ArangoRequest.builder().from(request).body(largeBody).build())
+                        .doOnNext(response -> assertThat(response.getBody()).isEqualTo(largeBody))
+                        .doOnNext(response -> completed.add("large")),
+                Flux.range(0, 10)
+                        .delayElements(Duration.ofMillis(1))
+                        .flatMap(i -> connection.execute(request))
+                        .doOnNext(response -> assertThat(response.getBody()).isEqualTo(request.getBody()))
+                        .doOnNext(response -> completed.add("small"))
+        )
+                .then()
+                .block();
+
+        assertThat(completed).hasSize(11);
+        assertThat(completed.get(0)).isEqualTo("small");
+        connection.close().block();
+    }
+
+    @Test
+    void executeStreaming() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().build());
+        byte[] body = randomBytes(10 * EchoVstServer.CHUNK_SIZE);
+        StreamingArangoResponse response = connection
+                .executeStreaming(ArangoRequest.builder().from(request).body(body).build()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getMeta()).containsEntry("path", "/path");
+
+        List<byte[]> fragments = response.getBody()
+                .map(fragment -> {
+                    byte[] bytes = ByteBufUtil.getBytes(fragment);
+                    fragment.release();
+                    return bytes;
+                })
+                .collectList()
+                .block();
+
+        assertThat(fragments).hasSizeGreaterThan(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        fragments.forEach(b -> out.write(b, 0, b.length));
+        assertThat(out.toByteArray()).isEqualTo(body);
+        connection.close().block();
+    }
+
+    @Test
+    void executeStreamingCancel() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().build());
+        byte[] body = randomBytes(100 * EchoVstServer.CHUNK_SIZE);
+        StreamingArangoResponse response = connection
+                .executeStreaming(ArangoRequest.builder().from(request).body(body).build()).block();
+
+        assertThat(response).isNotNull();
+        response.getBody()
+                .take(1)
+                .doOnNext(ByteBuf::release)
+                .blockLast();
+
+        // the remaining fragments are released and the connection can still be used
+        ArangoResponse next = connection.execute(request).block();
+        assertThat(next).isNotNull();
+        assertThat(next.getBody()).isEqualTo(request.getBody());
+        connection.close().block();
+    }
+
+    @Test
+    void executeStreamingAggregate() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder().concurrentDispatch(true).build());
+        byte[] body = randomBytes(10 * EchoVstServer.CHUNK_SIZE + 1);
+        ArangoResponse response = connection.executeStreaming(ArangoRequest.builder().from(request).body(body).build())
+                .flatMap(StreamingArangoResponse::aggregate)
+                .block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(body);
+        connection.close().block();
+    }
+
+    @Test
+    void adaptiveChunkSize() {
+        VstConnection connection = (VstConnection) createConnection(ConnectionConfig.builder()
+                .adaptiveChunkSize(true)
+                .minChunkSize(1_000)
+                .maxChunkSize(100_000)
+                .build());
+        Flux.range(0, 100)
+                .flatMap(i -> connection.execute(ArangoRequest.builder().from(request).body(randomBytes(i * 1_000)).build()))
+                .then()
+                .block();
+
+        VstConnectionStats stats = connection.getStats();
+        // 100 requests, the authentication message and the authentication check
+        assertThat(stats.getMessages()).isEqualTo(102);
+        assertThat(stats.getChunks()).isGreaterThanOrEqualTo(stats.getMessages());
+        assertThat(stats.getAverageWriteLatency()).isPositive();
+        assertThat(stats.getChunkSize()).isBetween(1_000, 100_000);
+        connection.close().block();
+    }
+
+    @Test
+    void isConnectedWithoutPing() {
+        VstConnection connection = (VstConnection) createConnection(ConnectionConfig.builder().build());
+        connection.execute(request).block();
+        long messages = connection.getStats().getMessages();
+
+        assertThat(connection.isConnected().block()).isTrue();
+        assertThat(connection.getStats().getMessages()).isEqualTo(messages);
+        connection.close().block();
+        assertThat(connection.isConnected().block()).isFalse();
+    }
+
+    @Test
+    void isConnectedPingsIdleConnection() {
+        VstConnection connection = (VstConnection) createConnection(ConnectionConfig.builder()
+                .pingIdleThreshold(Duration.ZERO)
+                .build());
+        long messages = connection.getStats().getMessages();
+
+        assertThat(connection.isConnected().block()).isTrue();
+        assertThat(connection.getStats().getMessages()).isEqualTo(messages + 1);
+        connection.close().block();
+    }
+
+    @Test
+    void requestTimeout() {
+        ArangoConnection connection = createConnection(ConnectionConfig.builder()
+                .timeout(Duration.ofMillis(300))
+                .build());
+        ArangoRequest delayedRequest = ArangoRequest.builder().from(request)
+                .putHeaderParams(EchoVstServer.DELAY_HEADER, Optional.of("600"))
+                .build();
+
+        Throwable thrown = catchThrowable(() -> connection.execute(delayedRequest).block());
+        assertThat(Exceptions.unwrap(thrown)).isInstanceOf(TimeoutException.class);
+
+        // the late response is discarded and the connection can still be used
+        ArangoResponse response = connection.execute(request)
+                .delaySubscription(Duration.ofMillis(600))
+                .block();
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(request.getBody());
+        connection.close().block();
+    }
+
+}
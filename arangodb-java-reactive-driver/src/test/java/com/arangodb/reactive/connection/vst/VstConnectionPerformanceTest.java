@@ -0,0 +1,109 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.reactive.connection.vst;
+
+import com.arangodb.reactive.connection.ArangoConnection;
+import com.arangodb.reactive.connection.ArangoProtocol;
+import com.arangodb.reactive.connection.ArangoRequest;
+import com.arangodb.reactive.connection.AuthenticationMethod;
+import com.arangodb.reactive.connection.ConnectionConfig;
+import com.arangodb.reactive.connection.ConnectionFactoryImpl;
+import com.arangodb.reactive.connection.ConnectionSchedulerFactory;
+import com.arangodb.reactive.connection.HostDescription;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import utils.EchoVstServer;
+
+/**
+ * Small documents workload against {@link EchoVstServer}, reporting the throughput and the number of socket reads per
+ * request on the server side, which is a proxy for the number of write syscalls performed by the client.
+ *
+ * @author Michele Rastelli
+ */
+@Disabled
+class VstConnectionPerformanceTest {
+
+    private static final int REQUESTS = 500_000;
+    private static final int CONCURRENCY = 256;
+
+    private static EchoVstServer echoServer;
+    private static DisposableServer server;
+
+    private final HostDescription host = HostDescription.of("localhost", EchoVstServer.PORT);
+    private final AuthenticationMethod authentication = AuthenticationMethod.ofBasic("user", "password");
+    private final ArangoRequest request = ArangoRequest.builder()
+            .database("database")
+            .path("/_api/document/collection")
+            .requestType(ArangoRequest.RequestType.POST)
+            .body(new byte[100])
+            .build();
+
+    @BeforeAll
+    static void setup() {
+        echoServer = new EchoVstServer();
+        server = echoServer.start().join();
+    }
+
+    @AfterAll
+    static void shutDown() {
+        server.dispose();
+        server.onDispose().block();
+    }
+
+    @Test
+    void writeBatching() {
+        run("flush every chunk", ConnectionConfig.builder().flushThresholdChunks(1).build());
+        run("batched flush", ConnectionConfig.builder().build());
+        run("batched flush, concurrent dispatch", ConnectionConfig.builder().concurrentDispatch(true).build());
+    }
+
+    private void run(String name, ConnectionConfig config) {
+        ArangoConnection connection = new ConnectionFactoryImpl(config, ArangoProtocol.VST,
+                new ConnectionSchedulerFactory(1))
+                .create(host, authentication)
+                .block();
+
+        // warm up
+        execute(connection, REQUESTS / 10);
+
+        long reads = echoServer.getReceivedBuffers();
+        long start = System.nanoTime();
+        execute(connection, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+        reads = echoServer.getReceivedBuffers() - reads;
+
+        System.out.printf("%s: %.0f req/s, %.3f server reads per request%n",
+                name, REQUESTS * 1e9 / elapsed, (double) reads / REQUESTS);
+        connection.close().block();
+    }
+
+    private void execute(ArangoConnection connection, int requests) {
+        Flux.range(0, requests)
+                .flatMap(i -> connection.execute(request), CONCURRENCY)
+                .then()
+                .block();
+    }
+
+}
@@ -22,17 +22,32 @@ package utils;
 
 import reactor.netty.DisposableServer;
 import reactor.netty.NettyOutbound;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.server.HttpServer;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Michele Rastelli
  */
 public class EchoHttpServer {
 
+    private final int port;
+    private final HttpProtocol[] protocols;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public EchoHttpServer() {
+        this(9000, HttpProtocol.HTTP11);
+    }
+
+    public EchoHttpServer(int port, HttpProtocol... protocols) {
+        this.port = port;
+        this.protocols = protocols;
+    }
+
     private static NettyOutbound echo(HttpServerRequest request, HttpServerResponse response) {
         return response
                 .headers(request.requestHeaders())
@@ -46,7 +61,9 @@ public class EchoHttpServer {
         new Thread(() ->
                 HttpServer.create()
                         .host("0.0.0.0")
-                        .port(9000)
+                        .port(port)
+                        .protocol(protocols)
+                        .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet())
                         .route(routes -> routes
                                 .get("/**", EchoHttpServer::echo)
                                 .post("/**", EchoHttpServer::echo)
@@ -61,4 +78,11 @@ public class EchoHttpServer {
         return done;
     }
 
+    /**
+     * @return number of accepted TCP connections
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
 }
@@ -0,0 +1,206 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package utils;
+
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.tcp.TcpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * VelocyStream 1.1 server replying to every request with a response having:
+ * - the request body as body
+ * - the request database, request type, path, query params and header params as meta
+ * The responses are split in chunks of {@link #CHUNK_SIZE} bytes and written in small slices, so that chunks span
+ * across multiple received buffers. Requests having the header param {@link #DELAY_HEADER} are replied after the
+ * specified number of milliseconds, delaying the following responses as well.
+ *
+ * @author Michele Rastelli
+ */
+public class EchoVstServer {
+
+    public static final int PORT = 9001;
+    public static final int CHUNK_SIZE = 1_000;
+    public static final String DELAY_HEADER = "x-delay-millis";
+    private static final int HEADER_SIZE = 24;
+    private static final int PROTOCOL_HEADER_SIZE = "VST/1.1\r\n\r\n".length();
+    private static final int WRITE_SLICE_SIZE = 997;
+
+    private final AtomicLong receivedBuffers = new AtomicLong();
+
+    public CompletableFuture<DisposableServer> start() {
+        CompletableFuture<DisposableServer> done = new CompletableFuture<>();
+
+        new Thread(() ->
+                TcpServer.create()
+                        .host("0.0.0.0")
+                        .port(PORT)
+                        .handle((inbound, outbound) -> {
+                            Decoder decoder = new Decoder();
+                            return outbound.send(inbound.receive()
+                                    .retain()
+                                    .doOnNext(b -> receivedBuffers.incrementAndGet())
+                                    .concatMapIterable(decoder::decode)
+                                    .concatMap(Function.identity()));
+                        })
+                        .doOnBound(done::complete)
+                        .bindNow().onDispose().block()
+        ).start();
+
+        return done;
+    }
+
+    /**
+     * @return number of buffers read from the sockets so far
+     */
+    public long getReceivedBuffers() {
+        return receivedBuffers.get();
+    }
+
+    private static final class Decoder {
+        private final ByteBuf in = Unpooled.buffer();
+        private final Map<Long, ByteBuf> messages = new HashMap<>();
+        private boolean protocolHeaderReceived = false;
+
+        List<Flux<ByteBuf>> decode(ByteBuf received) {
+            in.writeBytes(received);
+            received.release();
+            List<Flux<ByteBuf>> out = new ArrayList<>();
+
+            if (!protocolHeaderReceived) {
+                if (in.readableBytes() < PROTOCOL_HEADER_SIZE) {
+                    return out;
+                }
+                in.skipBytes(PROTOCOL_HEADER_SIZE);
+                protocolHeaderReceived = true;
+            }
+
+            while (in.readableBytes() >= HEADER_SIZE && in.readableBytes() >= in.getIntLE(in.readerIndex())) {
+                int chunkLength = in.readIntLE();
+                in.readIntLE();
+                long messageId = in.readLongLE();
+                long messageLength = in.readLongLE();
+                ByteBuf message = messages.computeIfAbsent(messageId, id -> Unpooled.buffer());
+                message.writeBytes(in, chunkLength - HEADER_SIZE);
+                if (message.readableBytes() == messageLength) {
+                    messages.remove(messageId);
+                    out.add(reply(messageId, message));
+                }
+            }
+
+            in.discardReadBytes();
+            return out;
+        }
+
+        private Flux<ByteBuf> reply(long messageId, ByteBuf message) {
+            byte[] bytes = new byte[message.readableBytes()];
+            message.readBytes(bytes);
+            VPackSlice head = new VPackSlice(bytes);
+            int headSize = head.getByteSize();
+
+            VPackBuilder builder = new VPackBuilder();
+            builder.add(ValueType.ARRAY);
+            builder.add(1);
+            builder.add(2);
+            builder.add(200);
+            builder.add(ValueType.OBJECT);
+            long delay = 0;
+            if (head.get(1).getAsInt() == 1) {
+                VPackSlice delayHeader = head.get(6).get(DELAY_HEADER);
+                if (delayHeader.isString()) {
+                    delay = Long.parseLong(delayHeader.getAsString());
+                }
+                builder.add("database", head.get(2).getAsString());
+                builder.add("request-type", String.valueOf(head.get(3).getAsInt()));
+                builder.add("path", head.get(4).getAsString());
+                addAll(builder, head.get(5));
+                addAll(builder, head.get(6));
+            }
+            builder.close();
+            builder.close();
+            VPackSlice responseHead = builder.slice();
+
+            ByteBuf payload = Unpooled.buffer();
+            payload.writeBytes(responseHead.getBuffer(), 0, responseHead.getByteSize());
+            payload.writeBytes(bytes, headSize, bytes.length - headSize);
+
+            Flux<ByteBuf> reply = Flux.fromIterable(split(encode(messageId, payload)));
+            return delay > 0 ? reply.delaySubscription(Duration.ofMillis(delay)) : reply;
+        }
+
+        private static void addAll(VPackBuilder builder, VPackSlice object) {
+            Iterator<Map.Entry<String, VPackSlice>> it = object.objectIterator();
+            while (it.hasNext()) {
+                Map.Entry<String, VPackSlice> e = it.next();
+                builder.add(e.getKey(), e.getValue().getAsString());
+            }
+        }
+
+        private static ByteBuf encode(long messageId, ByteBuf payload) {
+            ByteBuf out = Unpooled.buffer();
+            int length = payload.readableBytes();
+            int numberOfChunks = Math.max(1, (length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            for (int i = 0; i < numberOfChunks; i++) {
+                int contentLength = Math.min(CHUNK_SIZE, payload.readableBytes());
+                int chunkX;
+                if (numberOfChunks == 1) {
+                    chunkX = 3;
+                } else if (i == 0) {
+                    chunkX = (numberOfChunks << 1) + 1;
+                } else {
+                    chunkX = i << 1;
+                }
+                out.writeIntLE(contentLength + HEADER_SIZE);
+                out.writeIntLE(chunkX);
+                out.writeLongLE(messageId);
+                out.writeLongLE(length);
+                out.writeBytes(payload, contentLength);
+            }
+            return out;
+        }
+
+        private static List<ByteBuf> split(ByteBuf buffer) {
+            List<ByteBuf> slices = new ArrayList<>();
+            while (buffer.isReadable()) {
+                byte[] slice = new byte[Math.min(WRITE_SLICE_SIZE, buffer.readableBytes())];
+                buffer.readBytes(slice);
+                slices.add(Unpooled.wrappedBuffer(slice));
+            }
+            return slices.isEmpty() ? Arrays.asList(Unpooled.EMPTY_BUFFER) : slices;
+        }
+    }
+
+}